@@ -1,6 +1,7 @@
 package com.sweepgoat.backend.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -12,6 +13,9 @@ import java.util.concurrent.TimeUnit;
 /**
  * Cache configuration for subdomain validation
  * Uses Caffeine for high-performance in-memory caching
+ *
+ * Each node keeps its own cache; writes are propagated by CacheInvalidationBus,
+ * so the TTL is only a safety net and can be long
  */
 @Configuration
 @EnableCaching
@@ -19,6 +23,9 @@ public class CacheConfig {
 
     public static final String SUBDOMAIN_CACHE = "subdomains";
 
+    @Value("${app.cache.subdomain.ttl-minutes:60}")
+    private long subdomainTtlMinutes;
+
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(SUBDOMAIN_CACHE);
@@ -29,7 +36,7 @@ public class CacheConfig {
     private Caffeine<Object, Object> caffeineCacheBuilder() {
         return Caffeine.newBuilder()
             .maximumSize(1000)  // Max 1000 subdomains in cache
-            .expireAfterWrite(10, TimeUnit.MINUTES)  // Cache expires after 10 minutes
+            .expireAfterWrite(subdomainTtlMinutes, TimeUnit.MINUTES)  // Safety net, invalidation bus evicts on change
             .recordStats();  // Enable cache statistics for monitoring
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.sweepgoat.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared HTTP client for the Cloudflare Images API
+ *
+ * One JDK HttpClient for the whole application, so connections (HTTP/2 where the
+ * server offers it, keep-alive HTTP/1.1 otherwise) and TLS sessions are reused across
+ * uploads instead of being set up per request. Request bodies are streamed, not
+ * buffered. Built from Boot's RestClient.Builder, so calls show up in
+ * http.client.requests.
+ */
+@Configuration
+public class CloudflareClientConfig {
+
+    @Value("${cloudflare.api.base-url:https://api.cloudflare.com/client/v4}")
+    private String baseUrl;
+
+    @Value("${cloudflare.api.token}")
+    private String apiToken;
+
+    @Value("${cloudflare.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${cloudflare.client.read-timeout-ms:15000}")
+    private long readTimeoutMs;
+
+    @Bean
+    public RestClient cloudflareRestClient(RestClient.Builder builder) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return builder
+            .baseUrl(baseUrl)
+            .requestFactory(requestFactory)
+            .defaultHeaders(headers -> headers.setBearerAuth(apiToken))
+            .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.sweepgoat.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-endpoint limit on multipart request size
+ *
+ * spring.servlet.multipart.* is one container-wide limit, sized for the CSV user import.
+ * Every other multipart endpoint (image uploads) is held to app.uploads.max-request-size:
+ * larger requests are answered 413 before the body is read, and multipart requests
+ * without a Content-Length get 411 so a chunked body cannot skip the check.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class MultipartSizeLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoints allowed up to the container-wide multipart limit
+     */
+    private static final Set<String> LARGE_UPLOAD_PATHS = Set.of("/api/host/users/import");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.uploads.max-request-size:6MB}")
+    private DataSize maxRequestSize;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String contentType = request.getContentType();
+        boolean multipart = contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+
+        if (multipart && !LARGE_UPLOAD_PATHS.contains(request.getRequestURI())) {
+            long length = request.getContentLengthLong();
+            if (length < 0) {
+                sendError(response, HttpStatus.LENGTH_REQUIRED, request.getRequestURI(),
+                    "Uploads must include a Content-Length");
+                return;
+            }
+            if (length > maxRequestSize.toBytes()) {
+                sendError(response, HttpStatus.PAYLOAD_TOO_LARGE, request.getRequestURI(),
+                    "Upload too large (max " + maxRequestSize.toMegabytes() + "MB)");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void sendError(HttpServletResponse response, HttpStatus status, String path, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", message);
+        errorResponse.put("path", path);
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
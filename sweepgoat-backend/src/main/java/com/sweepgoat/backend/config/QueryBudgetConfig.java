@@ -0,0 +1,31 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.util.QueryCounter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers a Hibernate StatementInspector that counts every SQL statement
+ * prepared on a thread with an active QueryCounter
+ *
+ * Used by QueryBudgetFilter (per request) and by tests to catch N+1 regressions; tests can
+ * also capture the statements' SQL. The inspector only touches thread-locals, so it is left
+ * on in every environment.
+ */
+@Configuration
+public class QueryBudgetConfig {
+
+    @Bean
+    public static HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", countingInspector());
+    }
+
+    private static StatementInspector countingInspector() {
+        return sql -> {
+            QueryCounter.record(sql);
+            return sql;
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.util.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts SQL statements per request and flags requests over the query budget
+ *
+ * - Runs before the security chain so subdomain/JWT lookups are included
+ * - Records http.server.sql.statements per route (URI template, never the raw path)
+ * - Logs a warning when a request exceeds app.query-budget.max-statements,
+ *   which usually means an N+1 crept into a mapper or loop
+ * - Work done on other threads (async exports, background jobs) is not counted
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.query-budget.max-statements:25}")
+    private int maxStatements;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = QueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements prepared while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+            if (statements > maxStatements) {
+                logger.warn("Query budget exceeded: {} {} ran {} SQL statements (budget {})",
+                    request.getMethod(), uri, statements, maxStatements);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.util.QueryCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds X-SQL-Statement-Count to JSON responses when app.query-budget.expose-header=true (dev only)
+ *
+ * Set just before the body is written, because the response is committed by the time
+ * QueryBudgetFilter sees it again. Statements run while serializing are not included.
+ */
+@ControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    @Value("${app.query-budget.expose-header:false}")
+    private boolean exposeHeader;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return exposeHeader;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (QueryCounter.isActive()) {
+            response.getHeaders().set(HEADER, String.valueOf(QueryCounter.current()));
+        }
+        return body;
+    }
+}
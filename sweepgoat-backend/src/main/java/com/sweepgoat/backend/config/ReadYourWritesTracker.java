@@ -0,0 +1,68 @@
+package com.sweepgoat.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Replica-lag protection: after a caller commits a write, their read-only
+ * transactions go to the primary for pin-window-ms
+ *
+ * The caller is identified from the request attributes set by JwtAuthenticationFilter
+ * (USER or HOST id), falling back to the client IP for anonymous requests such as
+ * registration. Work outside a request (schedulers) is never pinned.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> pinnedCallers;
+
+    public ReadYourWritesTracker(Duration pinWindow, long maxPinnedCallers) {
+        this.pinnedCallers = Caffeine.newBuilder()
+            .expireAfterWrite(pinWindow)
+            .maximumSize(maxPinnedCallers)
+            .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        String caller = currentCaller();
+        if (caller != null) {
+            pinnedCallers.put(caller, Boolean.TRUE);
+        }
+    }
+
+    public boolean isCurrentCallerPinned() {
+        String caller = currentCaller();
+        return caller != null && pinnedCallers.getIfPresent(caller) != null;
+    }
+
+    @Nullable
+    private static String currentCaller() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return "USER:" + userId;
+        }
+        Object hostId = request.getAttribute("hostId");
+        if (hostId != null && "HOST".equals(request.getAttribute("userType"))) {
+            return "HOST:" + hostId;
+        }
+        return "IP:" + request.getRemoteAddr();
+    }
+}
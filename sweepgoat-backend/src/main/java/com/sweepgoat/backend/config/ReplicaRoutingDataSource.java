@@ -0,0 +1,37 @@
+package com.sweepgoat.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections for read-only transactions to the replica, everything else to the primary
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks
+ * for a connection before the read-only flag is bound to the thread, the proxy
+ * defers the real lookup until the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        // The caller wrote something moments ago; the replica may not have it yet
+        if (readYourWritesTracker.isCurrentCallerPinned()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
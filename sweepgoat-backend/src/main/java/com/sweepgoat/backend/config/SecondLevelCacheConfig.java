@@ -0,0 +1,87 @@
+package com.sweepgoat.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache (JCache backed by Caffeine) for Host and Giveaway
+ *
+ * Regions are created here rather than in a Caffeine config file so size and TTL
+ * come from application properties:
+ *   app.cache.hibernate.{region}.max-size
+ *   app.cache.hibernate.{region}.ttl-seconds (0 = no expiry)
+ *
+ * Local writes update the regions through Hibernate; writes on other nodes are
+ * evicted via CacheInvalidationBus (see SecondLevelCacheSyncService).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Entity regions
+    public static final String HOST_REGION = "host";
+    public static final String GIVEAWAY_REGION = "giveaway";
+
+    // Query regions
+    public static final String HOST_BY_SUBDOMAIN_QUERY_REGION = "query.host-by-subdomain";
+
+    // Hibernate's built-in regions for queries without a region hint and for table update timestamps
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * One JCache manager per application context (integration tests start several in one JVM)
+     * Static so creating it does not require this configuration instance, which the
+     * entity manager factory would otherwise depend on
+     */
+    @Bean(destroyMethod = "close")
+    public static CacheManager hibernateJCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+
+        createRegion(cacheManager, environment, HOST_REGION, 1000, 3600);
+        createRegion(cacheManager, environment, GIVEAWAY_REGION, 10000, 3600);
+        createRegion(cacheManager, environment, HOST_BY_SUBDOMAIN_QUERY_REGION, 1000, 3600);
+        createRegion(cacheManager, environment, DEFAULT_QUERY_RESULTS_REGION, 1000, 300);
+        // Must outlive every query result it validates, so no TTL
+        createRegion(cacheManager, environment, UPDATE_TIMESTAMPS_REGION, 1000, 0);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public static HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateJCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateJCacheManager);
+            // Every region is created above; a missing one is a mapping mistake
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, Environment environment,
+                                     String region, long defaultMaxSize, long defaultTtlSeconds) {
+        String prefix = "app.cache.hibernate." + region + ".";
+        long maxSize = environment.getProperty(prefix + "max-size", Long.class, defaultMaxSize);
+        long ttlSeconds = environment.getProperty(prefix + "ttl-seconds", Long.class, defaultTtlSeconds);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.service.PublicContentVersionService;
+import com.sweepgoat.backend.service.PublicGiveawayPageCache;
+import com.sweepgoat.backend.service.SecondLevelCacheSyncService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * JPA entity listener for second-level cached entities
+ *
+ * Runs during flush, inside the writing transaction, so the NOTIFY sent by
+ * CacheInvalidationBus is only delivered to other nodes once the change commits.
+ * Instantiated by Hibernate through Spring's bean container; the service is injected
+ * lazily because it depends on the entity manager factory being built.
+ *
+ * Also moves the host's public content version forward (ETags of the public pages)
+ * and drops its cached public giveaway pages, unless the change is a Host update that
+ * leaves its public fields alone (logins, password or verification code changes).
+ */
+public class SecondLevelCacheEvictionListener {
+
+    @Autowired
+    @Lazy
+    private SecondLevelCacheSyncService secondLevelCacheSyncService;
+
+    @Autowired
+    @Lazy
+    private PublicContentVersionService publicContentVersionService;
+
+    @Autowired
+    @Lazy
+    private PublicGiveawayPageCache publicGiveawayPageCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        secondLevelCacheSyncService.publishChange(entity);
+        if (entity instanceof Host host && !host.publicStateChanged()) {
+            return;
+        }
+        publicContentVersionService.recordChange(entity);
+        publicGiveawayPageCache.publishChange(entity);
+    }
+}
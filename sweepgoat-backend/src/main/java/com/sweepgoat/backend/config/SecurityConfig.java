@@ -1,7 +1,9 @@
 package com.sweepgoat.backend.config;
 
 import com.sweepgoat.backend.security.JwtAuthenticationFilter;
+import com.sweepgoat.backend.security.LoginThrottleFilter;
 import com.sweepgoat.backend.security.SubdomainValidationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +31,9 @@ public class SecurityConfig {
     @Autowired
     private SubdomainValidationFilter subdomainValidationFilter;
 
+    @Autowired
+    private LoginThrottleFilter loginThrottleFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -44,6 +49,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                // Async dispatch that completes a streamed response (exports); the original
+                // request was already authorized and the JWT filter does not re-run
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                 // Protected endpoints (authentication required)
                 .requestMatchers("/api/host/**").hasRole("HOST")
@@ -62,6 +70,7 @@ public class SecurityConfig {
             // Add filters in order:
             // 1. Subdomain validation filter (runs BEFORE authentication)
             // 2. JWT authentication filter
+            .addFilterBefore(loginThrottleFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(subdomainValidationFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
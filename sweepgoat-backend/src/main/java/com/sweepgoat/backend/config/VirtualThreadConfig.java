@@ -0,0 +1,47 @@
+package com.sweepgoat.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true)
+ *
+ * Spring Boot already moves Tomcat request handling, the application task executor
+ * (MVC async / streamed exports) and @Scheduled jobs onto virtual threads. This adds:
+ * - a fair semaphore in front of every Hikari pool, sized to maximum-pool-size
+ * - VirtualThreadPinningMonitor, which reports pinned carrier threads from JFR
+ *
+ * BCrypt and CSV import pools stay on bounded platform threads on purpose: that work
+ * is CPU-bound and must not be multiplied by the number of virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Wrap each Hikari pool (primary, and replica when configured) after its
+     * spring.datasource.hikari properties have been bound
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    logger.info("Limiting {} to {} concurrent connection holders (wait up to {}ms)",
+                        beanName, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
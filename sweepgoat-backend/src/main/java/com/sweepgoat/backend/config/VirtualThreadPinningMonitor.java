@@ -0,0 +1,98 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.util.LogRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread
+ *
+ * A virtual thread that blocks inside a synchronized block (or native frame) keeps its
+ * carrier busy, so enough of them starve the scheduler. JFR emits jdk.VirtualThreadPinned
+ * for pins longer than app.virtual-threads.pinning-threshold-ms; each one is recorded in
+ * jvm.threads.virtual.pinned and a sample is logged with the stack that caused it.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final LogRateLimiter pinnedLog = new LogRateLimiter(10, Duration.ofMinutes(1));
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream recordingStream;
+    private Timer pinnedTimer;
+
+    @PostConstruct
+    public void start() {
+        pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads pinned to their carrier longer than the JFR threshold")
+            .register(meterRegistry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+            .withThreshold(Duration.ofMillis(thresholdMs))
+            .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+
+        logger.info("Virtual thread pinning monitor started (threshold {}ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        long suppressed = pinnedLog.tryAcquire();
+        if (suppressed >= 0) {
+            logger.warn("Virtual thread pinned for {}ms ({} similar events suppressed):\n{}",
+                event.getDuration().toMillis(), suppressed, formatStack(event.getStackTrace()));
+        }
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(LOGGED_FRAMES)
+            .map(VirtualThreadPinningMonitor::formatFrame)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static String formatFrame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + " (line " + frame.getLineNumber() + ")";
+    }
+}
@@ -8,6 +8,7 @@ import com.sweepgoat.backend.dto.ResendVerificationRequest;
 import com.sweepgoat.backend.dto.VerifyEmailRequest;
 import com.sweepgoat.backend.exception.InvalidDomainException;
 import com.sweepgoat.backend.service.HostAuthService;
+import com.sweepgoat.backend.service.LoginThrottleService;
 import com.sweepgoat.backend.util.SubdomainExtractor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -25,6 +26,9 @@ public class HostAuthController {
     @Autowired
     private SubdomainExtractor subdomainExtractor;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
     /**
      * POST /api/auth/host/register
      * Register a new host (only allowed on main domain: sweepgoat.com)
@@ -62,6 +66,9 @@ public class HostAuthController {
             @Valid @RequestBody HostLoginRequest request,
             HttpServletRequest httpRequest) {
 
+        // Host emails are global, so throttle by email alone (subdomain is caller-controlled)
+        loginThrottleService.checkAccount(LoginThrottleService.Endpoint.HOST_LOGIN, null, request.getEmail());
+
         // Extract subdomain from request (null if main domain)
         String subdomain = subdomainExtractor.extractSubdomain(httpRequest);
 
@@ -77,6 +84,8 @@ public class HostAuthController {
     public ResponseEntity<MessageResponse> verifyEmail(
             @Valid @RequestBody VerifyEmailRequest request) {
 
+        loginThrottleService.checkAccount(LoginThrottleService.Endpoint.HOST_VERIFY_EMAIL, null, request.getEmail());
+
         MessageResponse response = hostAuthService.verifyHostEmail(request);
         return ResponseEntity.ok(response);
     }
@@ -89,6 +98,8 @@ public class HostAuthController {
     public ResponseEntity<MessageResponse> resendVerification(
             @Valid @RequestBody ResendVerificationRequest request) {
 
+        loginThrottleService.checkAccount(LoginThrottleService.Endpoint.HOST_RESEND_VERIFICATION, null, request.getEmail());
+
         MessageResponse response = hostAuthService.resendHostVerificationCode(request);
         return ResponseEntity.ok(response);
     }
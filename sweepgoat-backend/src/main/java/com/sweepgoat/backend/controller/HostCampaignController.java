@@ -5,6 +5,7 @@ import com.sweepgoat.backend.dto.CampaignListResponse;
 import com.sweepgoat.backend.dto.SendCampaignRequest;
 import com.sweepgoat.backend.dto.SendCampaignResponse;
 import com.sweepgoat.backend.service.MarketingCampaignService;
+import com.sweepgoat.backend.service.OperationMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,9 @@ public class HostCampaignController {
     @Autowired
     private MarketingCampaignService marketingCampaignService;
 
+    @Autowired
+    private OperationMetrics operationMetrics;
+
     /**
      * POST /api/host/campaigns/send
      * Send marketing campaign to filtered users
@@ -56,7 +60,8 @@ public class HostCampaignController {
             throw new RuntimeException("Authentication required");
         }
 
-        SendCampaignResponse response = marketingCampaignService.sendCampaign(request, hostId);
+        SendCampaignResponse response = operationMetrics.record(
+            "campaign.sends", () -> marketingCampaignService.sendCampaign(request, hostId));
 
         return ResponseEntity.ok(response);
     }
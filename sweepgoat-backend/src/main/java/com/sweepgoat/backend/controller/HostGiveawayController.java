@@ -7,15 +7,20 @@ import com.sweepgoat.backend.dto.GiveawayListResponse;
 import com.sweepgoat.backend.dto.GiveawayStatsResponse;
 import com.sweepgoat.backend.dto.MessageResponse;
 import com.sweepgoat.backend.dto.WinnerSelectionResponse;
+import com.sweepgoat.backend.service.DataExportService;
 import com.sweepgoat.backend.service.GiveawayEntryService;
 import com.sweepgoat.backend.service.GiveawayService;
 import com.sweepgoat.backend.service.HostAuthService;
+import com.sweepgoat.backend.service.OperationMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,12 +31,18 @@ public class HostGiveawayController {
     @Autowired
     private GiveawayService giveawayService;
 
+    @Autowired
+    private OperationMetrics operationMetrics;
+
     @Autowired
     private GiveawayEntryService giveawayEntryService;
 
     @Autowired
     private HostAuthService hostAuthService;
 
+    @Autowired
+    private DataExportService dataExportService;
+
     /**
      * GET /api/host/giveaways
      * Get all giveaways created by the authenticated host
@@ -110,6 +121,40 @@ public class HostGiveawayController {
         return ResponseEntity.ok(entries);
     }
 
+    /**
+     * GET /api/host/giveaways/{id}/entries/export
+     * Download all entries for a giveaway (highest points first), streamed as it is read
+     *
+     * Query parameters:
+     * - format: csv (default) or ndjson
+     * - gzip: true to download a .gz file (default: false)
+     */
+    @GetMapping("/{id}/entries/export")
+    public ResponseEntity<StreamingResponseBody> exportGiveawayEntries(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+
+        Long hostId = (Long) request.getAttribute("hostId");
+
+        if (hostId == null) {
+            throw new RuntimeException("Authentication required");
+        }
+
+        // Validate before the response is committed, so errors still get a proper status
+        DataExportService.Format exportFormat = DataExportService.Format.fromParameter(format);
+        dataExportService.verifyGiveawayOwnership(id, hostId);
+
+        StreamingResponseBody body = out -> dataExportService.exportEntries(id, exportFormat, gzip, out);
+
+        String filename = "giveaway-" + id + "-entries." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : exportFormat.getContentType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
     /**
      * GET /api/host/giveaways/active
      * Get only active giveaways for the authenticated host
@@ -184,7 +229,8 @@ public class HostGiveawayController {
             throw new RuntimeException("Authentication required");
         }
 
-        WinnerSelectionResponse winner = giveawayService.selectWinner(id, hostId);
+        WinnerSelectionResponse winner = operationMetrics.record(
+            "giveaway.winner.draws", () -> giveawayService.selectWinner(id, hostId));
 
         return ResponseEntity.ok(winner);
     }
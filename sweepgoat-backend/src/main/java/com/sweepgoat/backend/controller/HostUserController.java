@@ -1,12 +1,21 @@
 package com.sweepgoat.backend.controller;
 
 import com.sweepgoat.backend.dto.PaginatedResponse;
+import com.sweepgoat.backend.dto.UserImportJobResponse;
 import com.sweepgoat.backend.dto.UserListResponse;
+import com.sweepgoat.backend.service.DataExportService;
 import com.sweepgoat.backend.service.UserAuthService;
+import com.sweepgoat.backend.service.UserImportService;
+import com.sweepgoat.backend.util.PageLimits;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,6 +26,12 @@ public class HostUserController {
     @Autowired
     private UserAuthService userAuthService;
 
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private UserImportService userImportService;
+
     /**
      * GET /api/host/users
      * Get all users registered on the authenticated host's subdomain with pagination
@@ -30,6 +45,9 @@ public class HostUserController {
      * - emailVerified: filter by email verification status true/false (optional)
      * - emailOptIn: filter by email opt-in status true/false (optional)
      * - smsOptIn: filter by SMS opt-in status true/false (optional)
+     * - pagination: "offset" (default) or "cursor"
+     * - cursor: nextCursor from the previous response (implies pagination=cursor)
+     * - includeTotal: also count totalItems/totalPages in cursor mode (default: false)
      *
      * Examples:
      * - /api/host/users
@@ -38,6 +56,8 @@ public class HostUserController {
      * - /api/host/users?page=0&size=25&giveawayId=5
      * - /api/host/users?emailVerified=true&emailOptIn=true
      * - /api/host/users?giveawayId=3&smsOptIn=true&sortBy=lastName
+     * - /api/host/users?pagination=cursor&size=100
+     * - /api/host/users?cursor=Y3JlYXRlZEF0OmRlc2MKNDIK...&size=100
      */
     @GetMapping("/users")
     public ResponseEntity<PaginatedResponse<UserListResponse>> getAllUsers(
@@ -49,6 +69,9 @@ public class HostUserController {
             @RequestParam(required = false) Boolean emailVerified,
             @RequestParam(required = false) Boolean emailOptIn,
             @RequestParam(required = false) Boolean smsOptIn,
+            @RequestParam(required = false, defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal,
             HttpServletRequest request) {
         // Extract hostId from JWT (set by JwtAuthenticationFilter)
         Long hostId = (Long) request.getAttribute("hostId");
@@ -57,10 +80,132 @@ public class HostUserController {
             throw new RuntimeException("Authentication required");
         }
 
-        PaginatedResponse<UserListResponse> users = userAuthService.getUsersByHostId(
-                hostId, page, size, sortBy, sortOrder, giveawayId, emailVerified, emailOptIn, smsOptIn
-        );
+        PaginatedResponse<UserListResponse> users;
+        if ("cursor".equalsIgnoreCase(pagination) || cursor != null) {
+            users = userAuthService.getUsersByHostIdAfterCursor(
+                    hostId, size, sortBy, sortOrder, giveawayId, emailVerified, emailOptIn, smsOptIn, cursor, includeTotal
+            );
+        } else {
+            PageLimits.check(page, size);
+            users = userAuthService.getUsersByHostId(
+                    hostId, page, size, sortBy, sortOrder, giveawayId, emailVerified, emailOptIn, smsOptIn
+            );
+        }
 
         return ResponseEntity.ok(users);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/host/users/search
+     * Find users on the host's subdomain by partial email, first name or last name
+     *
+     * Query parameters:
+     * - q: search term, case-insensitive substring (3 to 100 characters)
+     * - size: items per page (default: 50)
+     * - cursor: nextCursor from the previous response
+     *
+     * Results are newest first; totalItems/totalPages are not computed (-1).
+     *
+     * Examples:
+     * - /api/host/users/search?q=smith
+     * - /api/host/users/search?q=@gmail.com&size=25
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<PaginatedResponse<UserListResponse>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest request) {
+        Long hostId = (Long) request.getAttribute("hostId");
+
+        if (hostId == null) {
+            throw new RuntimeException("Authentication required");
+        }
+
+        return ResponseEntity.ok(userAuthService.searchUsers(hostId, q, size, cursor));
+    }
+
+    /**
+     * GET /api/host/users/export
+     * Download every user on the host's subdomain (newest first), streamed as it is read
+     *
+     * Query parameters:
+     * - format: csv (default) or ndjson
+     * - gzip: true to download a .gz file (default: false)
+     * - giveawayId, emailVerified, emailOptIn, smsOptIn: same filters as GET /api/host/users
+     *
+     * Examples:
+     * - /api/host/users/export
+     * - /api/host/users/export?format=ndjson&gzip=true&emailOptIn=true
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false, defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Long giveawayId,
+            @RequestParam(required = false) Boolean emailVerified,
+            @RequestParam(required = false) Boolean emailOptIn,
+            @RequestParam(required = false) Boolean smsOptIn,
+            HttpServletRequest request) {
+        Long hostId = (Long) request.getAttribute("hostId");
+
+        if (hostId == null) {
+            throw new RuntimeException("Authentication required");
+        }
+
+        // Validate before the response is committed, so errors still get a proper status
+        DataExportService.Format exportFormat = DataExportService.Format.fromParameter(format);
+        if (giveawayId != null) {
+            dataExportService.verifyGiveawayOwnership(giveawayId, hostId);
+        }
+
+        StreamingResponseBody body = out -> dataExportService.exportUsers(
+                hostId, giveawayId, emailVerified, emailOptIn, smsOptIn, exportFormat, gzip, out);
+
+        String filename = "users." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * POST /api/host/users/import
+     * Start a background import of users from a CSV file (multipart field "file")
+     *
+     * Columns (header row required): email (required), firstName, lastName, phoneNumber,
+     * password, emailOptIn, smsOptIn. Returns 202 with a job id; poll the status endpoint
+     * for progress. Existing emails and repeated rows are skipped, not updated.
+     */
+    @PostMapping("/users/import")
+    public ResponseEntity<UserImportJobResponse> importUsers(
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request) {
+        Long hostId = (Long) request.getAttribute("hostId");
+
+        if (hostId == null) {
+            throw new RuntimeException("Authentication required");
+        }
+
+        UserImportJobResponse job = userImportService.startImport(hostId, file);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * GET /api/host/users/import/{jobId}
+     * Progress of an import job started by the authenticated host
+     */
+    @GetMapping("/users/import/{jobId}")
+    public ResponseEntity<UserImportJobResponse> getImportJob(
+            @PathVariable String jobId,
+            HttpServletRequest request) {
+        Long hostId = (Long) request.getAttribute("hostId");
+
+        if (hostId == null) {
+            throw new RuntimeException("Authentication required");
+        }
+
+        return ResponseEntity.ok(userImportService.getJob(jobId, hostId));
+    }
+}
@@ -1,6 +1,8 @@
 package com.sweepgoat.backend.controller;
 
 import com.sweepgoat.backend.dto.ImageUploadResponse;
+import com.sweepgoat.backend.exception.BadRequestException;
+import com.sweepgoat.backend.service.ImageProcessingService.ImageType;
 import com.sweepgoat.backend.service.ImageUploadService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,10 @@ public class ImageUploadController {
      * Request:
      * - Content-Type: multipart/form-data
      * - image: File (max 5MB, types: image/jpeg, image/png, image/webp)
+     * - type: "giveaway" (default; cropped to the giveaway aspect ratio, max 1600x900)
+     *         or "logo" (not cropped, max 512x512)
+     *
+     * Uploading the same file again for the same type returns the earlier URL.
      *
      * Response (success):
      * {
@@ -37,15 +43,24 @@ public class ImageUploadController {
     @PostMapping("/upload-image")
     public ResponseEntity<ImageUploadResponse> uploadImage(
             @RequestParam("image") MultipartFile file,
+            @RequestParam(value = "type", defaultValue = "giveaway") String type,
             HttpServletRequest request) {
 
         // Extract hostId from JWT (set by JwtAuthenticationFilter)
         Long hostId = (Long) request.getAttribute("hostId");
 
         // Upload image to Cloudflare
-        String imageUrl = imageUploadService.uploadImage(file);
+        String imageUrl = imageUploadService.uploadImage(file, parseImageType(type), hostId);
 
         // Return response
         return ResponseEntity.ok(new ImageUploadResponse(imageUrl));
     }
-}
\ No newline at end of file
+
+    private static ImageType parseImageType(String type) {
+        try {
+            return ImageType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid image type. Must be 'giveaway' or 'logo'");
+        }
+    }
+}
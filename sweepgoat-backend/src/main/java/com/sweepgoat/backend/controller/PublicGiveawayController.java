@@ -3,14 +3,25 @@ package com.sweepgoat.backend.controller;
 import com.sweepgoat.backend.dto.GiveawayDetailsResponse;
 import com.sweepgoat.backend.dto.GiveawayListResponse;
 import com.sweepgoat.backend.dto.PaginatedResponse;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import com.sweepgoat.backend.service.GiveawayLiveUpdateService;
 import com.sweepgoat.backend.service.GiveawayService;
+import com.sweepgoat.backend.service.PublicContentVersionService;
+import com.sweepgoat.backend.service.PublicGiveawayPageCache;
+import com.sweepgoat.backend.service.SubdomainValidationService;
+import com.sweepgoat.backend.util.PageLimits;
+import com.sweepgoat.backend.util.PublicCacheHeaders;
 import com.sweepgoat.backend.util.SubdomainExtractor;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -24,6 +35,21 @@ public class PublicGiveawayController {
     @Autowired
     private SubdomainExtractor subdomainExtractor;
 
+    @Autowired
+    private SubdomainValidationService subdomainValidationService;
+
+    @Autowired
+    private PublicContentVersionService publicContentVersionService;
+
+    @Autowired
+    private PublicCacheHeaders publicCacheHeaders;
+
+    @Autowired
+    private PublicGiveawayPageCache publicGiveawayPageCache;
+
+    @Autowired
+    private GiveawayLiveUpdateService giveawayLiveUpdateService;
+
     /**
      * GET /api/public/giveaways
      * List giveaways on the subdomain with pagination and optional status filter (no auth required)
@@ -32,40 +58,130 @@ public class PublicGiveawayController {
      * - page: Page number (default: 0)
      * - size: Items per page (default: 5)
      * - status: Filter by status - "ACTIVE", "ENDED", "CANCELLED" (optional, omit for all)
+     * - pagination: "offset" (default) or "cursor" (newest first, no COUNT query)
+     * - cursor: nextCursor from the previous response (implies pagination=cursor)
+     * - includeTotal: also count totalItems/totalPages in cursor mode (default: false)
      *
      * Examples:
      * - GET /api/public/giveaways?page=0&size=5 (first page, all giveaways)
      * - GET /api/public/giveaways?page=1&size=5&status=ENDED (second page, ended giveaways only)
+     * - GET /api/public/giveaways?pagination=cursor&size=5&status=ENDED (first page, cursor mode)
+     *
+     * Sends ETag/Last-Modified from the host's public content version; a matching
+     * If-None-Match returns 304 before any giveaway is loaded. Caching headers are only
+     * added once the page was built. Offset pages are served from PublicGiveawayPageCache
+     * as pre-serialized JSON, with the ETag of the version the cached page was loaded at
      */
     @GetMapping
-    public ResponseEntity<PaginatedResponse<GiveawayListResponse>> getAllGiveaways(
+    public ResponseEntity<?> getAllGiveaways(
             HttpServletRequest request,
+            HttpServletResponse response,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
         String subdomain = subdomainExtractor.extractSubdomain(request);
-        Pageable pageable = PageRequest.of(page, size);
+        Host host = subdomainValidationService.validateSubdomain(subdomain);
+        CacheControl cacheControl = publicCacheHeaders.giveaways();
 
-        PaginatedResponse<GiveawayListResponse> giveaways =
-            giveawayService.getGiveawaysBySubdomain(subdomain, status, pageable);
+        long version = currentVersion(host);
+        if (notModified(host, version, request, response, cacheControl)) {
+            return null;
+        }
 
+        PaginatedResponse<GiveawayListResponse> giveaways;
+        if ("cursor".equalsIgnoreCase(pagination) || cursor != null) {
+            giveaways = giveawayService.getGiveawaysBySubdomainAfterCursor(subdomain, status, size, cursor, includeTotal);
+        } else if (host != null && publicGiveawayPageCache.isEnabled()) {
+            PublicGiveawayPageCache.CachedPage cached =
+                publicGiveawayPageCache.get(host.getId(), subdomain, status, page, size, version);
+            addValidators(host, cached.version(), response, cacheControl);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cached.json());
+        } else {
+            Pageable pageable = PageLimits.pageRequest(page, size);
+            giveaways = giveawayService.getGiveawaysBySubdomain(subdomain, status, pageable);
+        }
+
+        addValidators(host, version, response, cacheControl);
         return ResponseEntity.ok(giveaways);
     }
 
     /**
      * GET /api/public/giveaways/{id}
      * Get details for a specific giveaway (no auth required)
+     * Validated with the same host-wide version as the list
      */
     @GetMapping("/{id}")
     public ResponseEntity<GiveawayDetailsResponse> getGiveawayById(
             @PathVariable Long id,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
         String subdomain = subdomainExtractor.extractSubdomain(request);
+        Host host = subdomainValidationService.validateSubdomain(subdomain);
+        CacheControl cacheControl = publicCacheHeaders.giveawayDetails();
+
+        long version = currentVersion(host);
+        if (notModified(host, version, request, response, cacheControl)) {
+            return null;
+        }
 
         GiveawayDetailsResponse giveaway = giveawayService.getGiveawayById(id, subdomain);
 
+        addValidators(host, version, response, cacheControl);
         return ResponseEntity.ok(giveaway);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/public/giveaways/{id}/live
+     * Server-Sent Events stream of the entry count and top leaderboard (no auth required)
+     *
+     * Sends an "entries" event with the current state on connect and whenever it
+     * changes (at most once per app.live.tick-ms):
+     * event: entries
+     * data: {"giveawayId": 1, "totalEntries": 532, "leaders": [{"rank": 1, "displayName": "Jane D.", "points": 40}]}
+     *
+     * Returns 503 when the node's live connection limit is reached
+     */
+    @GetMapping(path = "/{id}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGiveaway(@PathVariable Long id, HttpServletRequest request) {
+        String subdomain = subdomainExtractor.extractSubdomain(request);
+        Host host = subdomainValidationService.validateSubdomain(subdomain);
+        if (host == null) {
+            throw new ResourceNotFoundException("Subdomain not found: " + subdomain);
+        }
+
+        return giveawayLiveUpdateService.subscribe(id, host.getId());
+    }
+
+    /**
+     * The host's public content version, read before the body is built so the ETag is
+     * never newer than the content (0 for unknown or unverified subdomains)
+     */
+    private long currentVersion(Host host) {
+        return host != null ? publicContentVersionService.getVersion(host.getId()) : 0L;
+    }
+
+    /**
+     * Conditional GET against the host's public content version
+     * Unknown or unverified subdomains are left to the service (which returns the error)
+     */
+    private boolean notModified(Host host, long version, HttpServletRequest request, HttpServletResponse response,
+                                CacheControl cacheControl) {
+        if (host == null) {
+            return false;
+        }
+
+        return publicCacheHeaders.checkNotModified(
+            request, response, PublicCacheHeaders.etag(host.getId(), version), version, cacheControl);
+    }
+
+    private void addValidators(Host host, long version, HttpServletResponse response, CacheControl cacheControl) {
+        if (host != null) {
+            publicCacheHeaders.addValidators(response, PublicCacheHeaders.etag(host.getId(), version), version, cacheControl);
+        }
+    }
+}
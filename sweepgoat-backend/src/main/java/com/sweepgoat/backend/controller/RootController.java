@@ -37,6 +37,7 @@ public class RootController {
         publicEndpoints.put("Get Subdomain Branding", "GET /api/public/subdomain/branding");
         publicEndpoints.put("List Giveaways (Paginated)", "GET /api/public/giveaways?page={page}&size={size}&status={status}");
         publicEndpoints.put("Get Giveaway Details", "GET /api/public/giveaways/{id}");
+        publicEndpoints.put("Live Entry Count and Leaderboard (SSE)", "GET /api/public/giveaways/{id}/live");
         endpoints.put("public", publicEndpoints);
 
         // User endpoints (USER auth required)
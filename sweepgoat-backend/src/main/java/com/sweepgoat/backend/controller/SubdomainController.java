@@ -3,12 +3,16 @@ package com.sweepgoat.backend.controller;
 import com.sweepgoat.backend.dto.BrandingResponse;
 import com.sweepgoat.backend.repository.HostRepository;
 import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.util.PublicCacheHeaders;
 import com.sweepgoat.backend.util.SubdomainExtractor;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,6 +28,9 @@ public class SubdomainController {
     @Autowired
     private HostRepository hostRepository;
 
+    @Autowired
+    private PublicCacheHeaders publicCacheHeaders;
+
     /**
      * GET /api/public/subdomain/validate
      * Check if the current subdomain exists and is valid
@@ -45,9 +52,11 @@ public class SubdomainController {
      *   "exists": false,
      *   "subdomain": "wilson"
      * }
+     *
+     * Verified subdomains send ETag/Last-Modified from the host's updatedAt (304 when unchanged)
      */
     @GetMapping("/validate")
-    public ResponseEntity<Map<String, Object>> validateSubdomain(HttpServletRequest request) {
+    public ResponseEntity<Map<String, Object>> validateSubdomain(HttpServletRequest request, HttpServletResponse httpResponse) {
         String subdomain = subdomainExtractor.extractSubdomain(request);
 
         Map<String, Object> response = new HashMap<>();
@@ -78,6 +87,11 @@ public class SubdomainController {
             return ResponseEntity.status(404).body(response);
         }
 
+        long version = version(host);
+        if (notModified(host, version, request, httpResponse)) {
+            return null;
+        }
+
         // Subdomain exists AND email is verified - return info including branding
         response.put("exists", true);
         response.put("subdomain", host.getSubdomain());
@@ -89,6 +103,7 @@ public class SubdomainController {
         branding.put("primaryColor", host.getPrimaryColor() != null ? host.getPrimaryColor() : DEFAULT_PRIMARY_COLOR);
         response.put("branding", branding);
 
+        addValidators(host, version, httpResponse);
         return ResponseEntity.ok(response);
     }
 
@@ -110,7 +125,7 @@ public class SubdomainController {
      * }
      */
     @GetMapping("/branding")
-    public ResponseEntity<BrandingResponse> getBranding(HttpServletRequest request) {
+    public ResponseEntity<BrandingResponse> getBranding(HttpServletRequest request, HttpServletResponse httpResponse) {
         String subdomain = subdomainExtractor.extractSubdomain(request);
 
         // Return default branding if no subdomain
@@ -126,11 +141,41 @@ public class SubdomainController {
             return ResponseEntity.status(404).body(new BrandingResponse(null, DEFAULT_PRIMARY_COLOR));
         }
 
+        long version = version(host);
+        if (notModified(host, version, request, httpResponse)) {
+            return null;
+        }
+
         BrandingResponse branding = new BrandingResponse(
             host.getLogoUrl(),
             host.getPrimaryColor() != null ? host.getPrimaryColor() : DEFAULT_PRIMARY_COLOR
         );
 
+        addValidators(host, version, httpResponse);
         return ResponseEntity.ok(branding);
     }
-}
\ No newline at end of file
+
+    /**
+     * Version of the host row (branding, name and subdomain all live on it)
+     */
+    private static long version(Host host) {
+        LocalDateTime changedAt = host.getUpdatedAt() != null ? host.getUpdatedAt() : host.getCreatedAt();
+        return changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Conditional GET against the host row version
+     */
+    private boolean notModified(Host host, long version, HttpServletRequest request, HttpServletResponse response) {
+        return publicCacheHeaders.checkNotModified(
+            request, response, PublicCacheHeaders.etag(host.getId(), version), version, publicCacheHeaders.subdomain());
+    }
+
+    /**
+     * Validators for a 200 response, so the client can revalidate with If-None-Match
+     */
+    private void addValidators(Host host, long version, HttpServletResponse response) {
+        publicCacheHeaders.addValidators(
+            response, PublicCacheHeaders.etag(host.getId(), version), version, publicCacheHeaders.subdomain());
+    }
+}
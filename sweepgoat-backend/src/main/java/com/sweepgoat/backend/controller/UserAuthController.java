@@ -2,6 +2,7 @@ package com.sweepgoat.backend.controller;
 
 import com.sweepgoat.backend.dto.*;
 import com.sweepgoat.backend.exception.InvalidDomainException;
+import com.sweepgoat.backend.service.LoginThrottleService;
 import com.sweepgoat.backend.service.UserAuthService;
 import com.sweepgoat.backend.util.SubdomainExtractor;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,9 @@ public class UserAuthController {
     @Autowired
     private SubdomainExtractor subdomainExtractor;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
     /**
      * POST /api/auth/user/register
      * Register a new user (only allowed on subdomain: host1.sweepgoat.com)
@@ -62,6 +66,9 @@ public class UserAuthController {
         // Extract subdomain
         String subdomain = subdomainExtractor.extractSubdomain(httpRequest);
 
+        // Reject before any DB or BCrypt work
+        loginThrottleService.checkAccount(LoginThrottleService.Endpoint.USER_LOGIN, subdomain, request.getEmail());
+
         // If email not verified, EmailNotVerifiedException will be thrown
         // and caught by GlobalExceptionHandler, which returns LoginResponseUnverified
         UserLoginResponse response = userAuthService.authenticateUser(request, subdomain);
@@ -85,6 +92,9 @@ public class UserAuthController {
         // Extract subdomain
         String subdomain = subdomainExtractor.extractSubdomain(httpRequest);
 
+        // Reject before any DB or BCrypt work
+        loginThrottleService.checkAccount(LoginThrottleService.Endpoint.USER_VERIFY_EMAIL, subdomain, request.getEmail());
+
         MessageResponse response = userAuthService.verifyEmail(request, subdomain);
         return ResponseEntity.ok(response);
     }
@@ -106,6 +116,9 @@ public class UserAuthController {
         // Extract subdomain
         String subdomain = subdomainExtractor.extractSubdomain(httpRequest);
 
+        // Reject before any DB or BCrypt work
+        loginThrottleService.checkAccount(LoginThrottleService.Endpoint.USER_RESEND_VERIFICATION, subdomain, request.getEmail());
+
         MessageResponse response = userAuthService.resendVerificationCode(request, subdomain);
         return ResponseEntity.ok(response);
     }
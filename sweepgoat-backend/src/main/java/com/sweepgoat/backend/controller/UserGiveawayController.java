@@ -8,11 +8,12 @@ import com.sweepgoat.backend.dto.PaginatedResponse;
 import com.sweepgoat.backend.dto.UserEntryResponse;
 import com.sweepgoat.backend.dto.UserGiveawayEntryResponse;
 import com.sweepgoat.backend.service.GiveawayEntryService;
+import com.sweepgoat.backend.service.OperationMetrics;
 import com.sweepgoat.backend.service.UserAuthService;
+import com.sweepgoat.backend.util.PageLimits;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +27,9 @@ public class UserGiveawayController {
     @Autowired
     private GiveawayEntryService giveawayEntryService;
 
+    @Autowired
+    private OperationMetrics operationMetrics;
+
     @Autowired
     private UserAuthService userAuthService;
 
@@ -50,7 +54,8 @@ public class UserGiveawayController {
             throw new RuntimeException("Authentication required");
         }
 
-        GiveawayEntryResponse response = giveawayEntryService.claimFreeEntry(id, userId);
+        GiveawayEntryResponse response = operationMetrics.record("giveaway.entry.claims",
+            () -> giveawayEntryService.claimFreeEntry(id, userId), "type", "free");
 
         return ResponseEntity.ok(response);
     }
@@ -81,7 +86,8 @@ public class UserGiveawayController {
 
         // TODO: Implement regular entry logic
         // This is a placeholder for future payment/points system integration
-        GiveawayEntryResponse response = giveawayEntryService.addRegularEntries(id, userId, request.getPointsToAdd());
+        GiveawayEntryResponse response = operationMetrics.record("giveaway.entry.claims",
+            () -> giveawayEntryService.addRegularEntries(id, userId, request.getPointsToAdd()), "type", "regular");
 
         return ResponseEntity.ok(response);
     }
@@ -114,11 +120,17 @@ public class UserGiveawayController {
      * Query Parameters:
      * - page: Page number (0-indexed, default: 0)
      * - size: Page size (default: 5)
+     * - pagination: "offset" (default) or "cursor"
+     * - cursor: nextCursor from the previous response (implies pagination=cursor)
+     * - includeTotal: also count totalItems/totalPages in cursor mode (default: false)
      */
     @GetMapping("/my-giveaway-entries")
     public ResponseEntity<PaginatedResponse<UserGiveawayEntryResponse>> getMyGiveawayEntries(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             HttpServletRequest request) {
 
         // Extract userId from JWT (set by JwtAuthenticationFilter)
@@ -128,8 +140,13 @@ public class UserGiveawayController {
             throw new RuntimeException("Authentication required");
         }
 
+        if ("cursor".equalsIgnoreCase(pagination) || cursor != null) {
+            return ResponseEntity.ok(
+                giveawayEntryService.getUserGiveawayEntriesAfterCursor(userId, size, cursor, includeTotal));
+        }
+
         // Create pageable object
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageLimits.pageRequest(page, size);
 
         // Get paginated entries
         PaginatedResponse<UserGiveawayEntryResponse> response =
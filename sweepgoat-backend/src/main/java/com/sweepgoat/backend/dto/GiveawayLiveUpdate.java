@@ -0,0 +1,30 @@
+package com.sweepgoat.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload of the "entries" event on GET /api/public/giveaways/{id}/live
+ * Public, so leaders are shown by first name and last initial only (no email or user id)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GiveawayLiveUpdate {
+
+    private Long giveawayId;
+    private Long totalEntries;
+    private List<Leader> leaders; // Top N by points
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Leader {
+        private Integer rank;
+        private String displayName; // e.g. "Jane D."
+        private Integer points;
+    }
+}
@@ -13,6 +13,12 @@ import java.util.List;
  * Example usage:
  *   PaginatedResponse<UserListResponse> users = ...
  *   PaginatedResponse<GiveawayListResponse> giveaways = ...
+ *
+ * Two modes:
+ * - offset (default): page number + totals, nextCursor is null
+ * - cursor: pass nextCursor back as ?cursor= to get the following page.
+ *   currentPage is always 0, and totalPages/totalItems are -1 unless the
+ *   caller asked for them (includeTotal=true), which costs a COUNT query
  */
 @Data
 @NoArgsConstructor
@@ -59,4 +65,33 @@ public class PaginatedResponse<T> {
      * Useful for "Previous" buttons
      */
     private boolean hasPrevious;
+
+    /**
+     * Opaque cursor for the next page (cursor mode only, null on the last page)
+     */
+    private String nextCursor;
+
+    /**
+     * Offset-mode response (no cursor)
+     */
+    public PaginatedResponse(List<T> data, int currentPage, int totalPages, long totalItems,
+                             int pageSize, boolean hasNext, boolean hasPrevious) {
+        this(data, currentPage, totalPages, totalItems, pageSize, hasNext, hasPrevious, null);
+    }
+
+    /**
+     * Cursor-mode response
+     * totalItems is null when the count was skipped; totals are then reported as -1
+     */
+    public static <T> PaginatedResponse<T> ofCursor(List<T> data, int pageSize, boolean hasPrevious,
+                                                    String nextCursor, Long totalItems) {
+        int totalPages = -1;
+        long total = -1;
+        if (totalItems != null) {
+            total = totalItems;
+            totalPages = pageSize > 0 ? (int) ((totalItems + pageSize - 1) / pageSize) : 0;
+        }
+        return new PaginatedResponse<>(data, 0, totalPages, total, pageSize,
+            nextCursor != null, hasPrevious, nextCursor);
+    }
 }
\ No newline at end of file
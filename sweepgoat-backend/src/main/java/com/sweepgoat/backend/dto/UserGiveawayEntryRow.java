@@ -0,0 +1,20 @@
+package com.sweepgoat.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raw columns for a user's entry history, projected by GiveawayEntryRepository
+ * The service derives the user-facing status (ACTIVE / WON / ENDED) from these
+ */
+public record UserGiveawayEntryRow(
+    Long entryId,
+    Long giveawayId,
+    String giveawayTitle,
+    String giveawayImageUrl,
+    LocalDateTime giveawayEndDate,
+    String giveawayStatus,
+    Long winnerId,
+    Integer points,
+    Boolean freeEntryClaimed
+) {
+}
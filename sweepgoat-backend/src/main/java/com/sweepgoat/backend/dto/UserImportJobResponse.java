@@ -0,0 +1,30 @@
+package com.sweepgoat.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a bulk user import job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJobResponse {
+
+    private String jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private String fileName;
+    private long rowsRead;
+    private long imported;
+    private long skippedExisting; // email already registered on this subdomain
+    private long skippedDuplicate; // email repeated earlier in the same file
+    private long invalid;
+    private List<String> errors; // first few row errors, with line numbers
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
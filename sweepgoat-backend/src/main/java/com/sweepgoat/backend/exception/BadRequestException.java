@@ -0,0 +1,11 @@
+package com.sweepgoat.backend.exception;
+
+/**
+ * Exception thrown for an invalid request parameter.
+ * Mapped to 400.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
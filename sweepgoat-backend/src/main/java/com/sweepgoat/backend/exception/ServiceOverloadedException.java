@@ -0,0 +1,19 @@
+package com.sweepgoat.backend.exception;
+
+/**
+ * Exception thrown when a bounded resource (e.g. the password hashing pool)
+ * cannot serve a request in time. Mapped to 503 with a Retry-After header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sweepgoat.backend.exception;
+
+/**
+ * Exception thrown when a client exceeds a throttling limit.
+ * Mapped to 429 with a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Campaign {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "campaigns_seq")
+    @SequenceGenerator(name = "campaigns_seq", sequenceName = "campaigns_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class CampaignLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "campaign_logs_seq")
+    @SequenceGenerator(name = "campaign_logs_seq", sequenceName = "campaign_logs_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
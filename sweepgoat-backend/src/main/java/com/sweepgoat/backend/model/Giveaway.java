@@ -1,17 +1,24 @@
 package com.sweepgoat.backend.model;
 
+import com.sweepgoat.backend.config.SecondLevelCacheConfig;
+import com.sweepgoat.backend.config.SecondLevelCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.GIVEAWAY_REGION)
+@EntityListeners(SecondLevelCacheEvictionListener.class)
 @Table(name = "giveaways")
 @Data
 @NoArgsConstructor
@@ -19,7 +26,8 @@ import java.time.LocalDateTime;
 public class Giveaway {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "giveaways_seq")
+    @SequenceGenerator(name = "giveaways_seq", sequenceName = "giveaways_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -23,7 +23,8 @@ import java.time.LocalDateTime;
 public class GiveawayEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "giveaway_entries_seq")
+    @SequenceGenerator(name = "giveaway_entries_seq", sequenceName = "giveaway_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,17 +1,29 @@
 package com.sweepgoat.backend.model;
 
+import com.sweepgoat.backend.config.SecondLevelCacheConfig;
+import com.sweepgoat.backend.config.SecondLevelCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.HOST_REGION)
+@EntityListeners(SecondLevelCacheEvictionListener.class)
 @Table(name = "hosts")
 @Data
 @NoArgsConstructor
@@ -68,4 +80,32 @@ public class Host {
 
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
+
+    // Fields that decide what the public giveaway pages show, as last loaded or written
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedPublicState;
+
+    /**
+     * Whether subdomain, emailVerified or isActive differ from what was loaded
+     * Entity listeners run before this class's own callbacks, so in @PostUpdate they
+     * still compare against the state before the update
+     */
+    public boolean publicStateChanged() {
+        return !publicState().equals(loadedPublicState);
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPublicState() {
+        loadedPublicState = publicState();
+    }
+
+    private String publicState() {
+        return subdomain + "|" + emailVerified + "|" + isActive;
+    }
 }
@@ -0,0 +1,50 @@
+package com.sweepgoat.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An image a host has uploaded to Cloudflare, keyed by the SHA-256 of the uploaded bytes
+ *
+ * The hash is of the original file, before normalization, so a re-upload is recognized
+ * without decoding it. imageType is part of the key because the same file is cropped
+ * differently as a giveaway image and as a logo.
+ */
+@Entity
+@Table(name = "image_uploads", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_image_uploads_host_type_hash", columnNames = {"host_id", "image_type", "content_hash"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_uploads_seq")
+    @SequenceGenerator(name = "image_uploads_seq", sequenceName = "image_uploads_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "host_id", nullable = false)
+    private Long hostId;
+
+    @Column(name = "image_type", nullable = false, length = 16)
+    private String imageType; // giveaway, logo
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // Lower-case hex SHA-256
+
+    @Column(name = "image_url", nullable = false, length = 512)
+    private String imageUrl;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
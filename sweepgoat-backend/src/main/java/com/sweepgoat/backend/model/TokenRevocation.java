@@ -0,0 +1,43 @@
+package com.sweepgoat.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revocation of every JWT issued to a subject before revokedAfter
+ *
+ * Subject keys:
+ * - USER:{userId}   - one user's tokens (account deleted, password changed)
+ * - HOST:{hostId}   - one host's tokens
+ * - TENANT:{hostId} - every user token issued for a host (host deleted)
+ *
+ * The id doubles as a change sequence: replicas poll for rows they have not seen yet.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+    @Index(name = "idx_token_revocations_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subject_key", nullable = false, length = 64)
+    private String subjectKey;
+
+    @Column(name = "revoked_after", nullable = false)
+    private LocalDateTime revokedAfter; // Tokens issued before or in the same second are rejected
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
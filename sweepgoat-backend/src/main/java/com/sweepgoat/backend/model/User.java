@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id // Primary ID
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auti inc
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY) // many users belong to one host
@@ -1,6 +1,7 @@
 package com.sweepgoat.backend.repository;
 
 import com.sweepgoat.backend.model.CampaignLog;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +13,8 @@ import java.util.Optional;
 @Repository
 public interface CampaignLogRepository extends JpaRepository<CampaignLog, Long> {
 
+    // Recipients are always rendered with their user, so fetch it in the same query
+    @EntityGraph(attributePaths = "user")
     List<CampaignLog> findByCampaignId(Long campaignId);
 
     List<CampaignLog> findByUserId(Long userId);
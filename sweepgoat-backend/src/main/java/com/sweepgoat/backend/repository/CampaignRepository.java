@@ -1,5 +1,6 @@
 package com.sweepgoat.backend.repository;
 
+import com.sweepgoat.backend.dto.CampaignListResponse;
 import com.sweepgoat.backend.model.Campaign;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -30,4 +31,11 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
 
     // Count campaigns by host
     Long countByHostId(Long hostId);
-}
\ No newline at end of file
+
+    // Campaign history list: summary columns only (message and filters TEXT columns are never read)
+    @Query("SELECT new com.sweepgoat.backend.dto.CampaignListResponse(" +
+           "c.id, c.name, c.type, c.subject, c.status, c.totalRecipients, c.totalSent, c.totalFailed, c.sentAt, c.createdAt) " +
+           "FROM Campaign c WHERE c.host.id = :hostId " +
+           "ORDER BY c.sentAt DESC NULLS LAST")
+    List<CampaignListResponse> findListByHostId(@Param("hostId") Long hostId);
+}
@@ -1,15 +1,24 @@
 package com.sweepgoat.backend.repository;
 
+import com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse;
+import com.sweepgoat.backend.dto.UserEntryResponse;
+import com.sweepgoat.backend.dto.UserGiveawayEntryRow;
 import com.sweepgoat.backend.model.GiveawayEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GiveawayEntryRepository extends JpaRepository<GiveawayEntry, Long> {
@@ -24,15 +33,66 @@ public interface GiveawayEntryRepository extends JpaRepository<GiveawayEntry, Lo
 
     void deleteByGiveawayId(Long giveawayId);
 
-    @Query("SELECT ge FROM GiveawayEntry ge WHERE ge.giveaway.id = :giveawayId ORDER BY ge.points DESC")
-    List<GiveawayEntry> findByGiveawayIdOrderByPointsDesc(@Param("giveawayId") Long giveawayId);
-
     @Query("SELECT COUNT(ge) FROM GiveawayEntry ge WHERE ge.giveaway.id = :giveawayId")
     Long countEntriesByGiveawayId(@Param("giveawayId") Long giveawayId);
 
-    @Query("SELECT ge FROM GiveawayEntry ge " +
-           "JOIN FETCH ge.giveaway g " +
-           "WHERE ge.user.id = :userId " +
-           "ORDER BY g.endDate DESC")
-    Page<GiveawayEntry> findByUserIdOrderByGiveawayEndDateDesc(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+    // Read-only projections for list endpoints
+
+    @Query("SELECT new com.sweepgoat.backend.dto.UserEntryResponse(" +
+           "ge.id, ge.points, ge.freeEntryClaimed, ge.createdAt, " +
+           "g.id, g.title, g.imageUrl, g.endDate, g.status) " +
+           "FROM GiveawayEntry ge JOIN ge.giveaway g " +
+           "WHERE ge.user.id = :userId")
+    List<UserEntryResponse> findUserEntryResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse(" +
+           "ge.id, ge.points, ge.freeEntryClaimed, ge.createdAt, " +
+           "u.id, u.email, u.firstName, u.lastName) " +
+           "FROM GiveawayEntry ge JOIN ge.user u " +
+           "WHERE ge.giveaway.id = :giveawayId " +
+           "ORDER BY ge.points DESC")
+    List<GiveawayEntryLeaderboardResponse> findLeaderboardByGiveawayId(@Param("giveawayId") Long giveawayId);
+
+    // Top of the leaderboard for the live stream (entry id breaks ties so ranks are stable)
+    @Query("SELECT new com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse(" +
+           "ge.id, ge.points, ge.freeEntryClaimed, ge.createdAt, " +
+           "u.id, u.email, u.firstName, u.lastName) " +
+           "FROM GiveawayEntry ge JOIN ge.user u " +
+           "WHERE ge.giveaway.id = :giveawayId " +
+           "ORDER BY ge.points DESC, ge.id")
+    List<GiveawayEntryLeaderboardResponse> findTopLeaderboardByGiveawayId(@Param("giveawayId") Long giveawayId, Limit limit);
+
+    // Export: same rows as the leaderboard, read through a server-side cursor
+    // (consume and close inside a read-only transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse(" +
+           "ge.id, ge.points, ge.freeEntryClaimed, ge.createdAt, " +
+           "u.id, u.email, u.firstName, u.lastName) " +
+           "FROM GiveawayEntry ge JOIN ge.user u " +
+           "WHERE ge.giveaway.id = :giveawayId " +
+           "ORDER BY ge.points DESC, ge.id")
+    Stream<GiveawayEntryLeaderboardResponse> streamLeaderboardByGiveawayId(@Param("giveawayId") Long giveawayId);
+
+    // Entry history, most recent giveaway first (entry id breaks ties so offset and cursor pages agree)
+    String USER_GIVEAWAY_ENTRY_ROW = "SELECT new com.sweepgoat.backend.dto.UserGiveawayEntryRow(" +
+           "ge.id, g.id, g.title, g.imageUrl, g.endDate, g.status, g.winnerId, ge.points, ge.freeEntryClaimed) " +
+           "FROM GiveawayEntry ge JOIN ge.giveaway g " +
+           "WHERE ge.user.id = :userId ";
+
+    @Query(value = USER_GIVEAWAY_ENTRY_ROW + "ORDER BY g.endDate DESC, ge.id DESC",
+           countQuery = "SELECT COUNT(ge) FROM GiveawayEntry ge WHERE ge.user.id = :userId")
+    Page<UserGiveawayEntryRow> findUserGiveawayEntryRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset (cursor) pages over the same ordering
+    @Query(USER_GIVEAWAY_ENTRY_ROW + "ORDER BY g.endDate DESC, ge.id DESC")
+    List<UserGiveawayEntryRow> findUserGiveawayEntryRowsKeyset(@Param("userId") Long userId, Limit limit);
+
+    @Query(USER_GIVEAWAY_ENTRY_ROW + "AND (g.endDate, ge.id) < (:afterEndDate, :afterId) " +
+           "ORDER BY g.endDate DESC, ge.id DESC")
+    List<UserGiveawayEntryRow> findUserGiveawayEntryRowsKeysetAfter(@Param("userId") Long userId,
+                                                                   @Param("afterEndDate") LocalDateTime afterEndDate,
+                                                                   @Param("afterId") Long afterId,
+                                                                   Limit limit);
+
+    long countByUserId(Long userId);
+}
@@ -1,9 +1,13 @@
 package com.sweepgoat.backend.repository;
 
+import com.sweepgoat.backend.dto.GiveawayListResponse;
 import com.sweepgoat.backend.model.Giveaway;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -13,6 +17,12 @@ import java.util.Optional;
 @Repository
 public interface GiveawayRepository extends JpaRepository<Giveaway, Long> {
 
+    // List view projection: entry count comes from a correlated subquery instead of one query per giveaway
+    String LIST_PROJECTION = "SELECT new com.sweepgoat.backend.dto.GiveawayListResponse(" +
+        "g.id, g.title, g.description, g.imageUrl, g.startDate, g.endDate, g.status, " +
+        "(SELECT COUNT(ge) FROM GiveawayEntry ge WHERE ge.giveaway.id = g.id)) " +
+        "FROM Giveaway g ";
+
     List<Giveaway> findByHostId(Long hostId);
 
     Optional<Giveaway> findByIdAndHostId(Long id, Long hostId);
@@ -33,4 +43,52 @@ public interface GiveawayRepository extends JpaRepository<Giveaway, Long> {
     Page<Giveaway> findByHostId(Long hostId, Pageable pageable);
 
     Page<Giveaway> findByHostIdAndStatus(Long hostId, String status, Pageable pageable);
-}
\ No newline at end of file
+
+    // List view projections (read-only listings)
+    @Query(LIST_PROJECTION + "WHERE g.host.id = :hostId")
+    List<GiveawayListResponse> findListByHostId(@Param("hostId") Long hostId);
+
+    @Query(LIST_PROJECTION + "WHERE g.host.id = :hostId AND g.status = :status")
+    List<GiveawayListResponse> findListByHostIdAndStatus(@Param("hostId") Long hostId, @Param("status") String status);
+
+    @Query(value = LIST_PROJECTION + "WHERE g.host.id = :hostId",
+           countQuery = "SELECT COUNT(g) FROM Giveaway g WHERE g.host.id = :hostId")
+    Page<GiveawayListResponse> findListByHostId(@Param("hostId") Long hostId, Pageable pageable);
+
+    @Query(value = LIST_PROJECTION + "WHERE g.host.id = :hostId AND g.status = :status",
+           countQuery = "SELECT COUNT(g) FROM Giveaway g WHERE g.host.id = :hostId AND g.status = :status")
+    Page<GiveawayListResponse> findListByHostIdAndStatus(@Param("hostId") Long hostId, @Param("status") String status,
+                                                         Pageable pageable);
+
+    // Keyset (cursor) pages, newest first: ORDER BY (startDate, id) DESC
+    // With and without status as separate queries so each matches its index (V7 migration)
+    @Query(LIST_PROJECTION + "WHERE g.host.id = :hostId ORDER BY g.startDate DESC, g.id DESC")
+    List<GiveawayListResponse> findListKeysetByHostId(@Param("hostId") Long hostId, Limit limit);
+
+    @Query(LIST_PROJECTION + "WHERE g.host.id = :hostId " +
+           "AND (g.startDate, g.id) < (:afterStartDate, :afterId) " +
+           "ORDER BY g.startDate DESC, g.id DESC")
+    List<GiveawayListResponse> findListKeysetByHostIdAfter(@Param("hostId") Long hostId,
+                                                           @Param("afterStartDate") LocalDateTime afterStartDate,
+                                                           @Param("afterId") Long afterId,
+                                                           Limit limit);
+
+    @Query(LIST_PROJECTION + "WHERE g.host.id = :hostId AND g.status = :status " +
+           "ORDER BY g.startDate DESC, g.id DESC")
+    List<GiveawayListResponse> findListKeysetByHostIdAndStatus(@Param("hostId") Long hostId,
+                                                               @Param("status") String status,
+                                                               Limit limit);
+
+    @Query(LIST_PROJECTION + "WHERE g.host.id = :hostId AND g.status = :status " +
+           "AND (g.startDate, g.id) < (:afterStartDate, :afterId) " +
+           "ORDER BY g.startDate DESC, g.id DESC")
+    List<GiveawayListResponse> findListKeysetByHostIdAndStatusAfter(@Param("hostId") Long hostId,
+                                                                    @Param("status") String status,
+                                                                    @Param("afterStartDate") LocalDateTime afterStartDate,
+                                                                    @Param("afterId") Long afterId,
+                                                                    Limit limit);
+
+    long countByHostId(Long hostId);
+
+    long countByHostIdAndStatus(Long hostId, String status);
+}
@@ -1,7 +1,11 @@
 package com.sweepgoat.backend.repository;
 
+import com.sweepgoat.backend.config.SecondLevelCacheConfig;
 import com.sweepgoat.backend.model.Host;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +13,11 @@ import java.util.Optional;
 @Repository
 public interface HostRepository extends JpaRepository<Host, Long> {
 
+    // Served from the second-level query cache (evicted on any Host change)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.HOST_BY_SUBDOMAIN_QUERY_REGION)
+    })
     Optional<Host> findBySubdomain(String subdomain);
 
     boolean existsBySubdomain(String subdomain);
@@ -0,0 +1,14 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.model.ImageUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImageUploadRepository extends JpaRepository<ImageUpload, Long> {
+
+    // Earlier upload of the same content (uk_image_uploads_host_type_hash)
+    Optional<ImageUpload> findByHostIdAndImageTypeAndContentHash(Long hostId, String imageType, String contentHash);
+}
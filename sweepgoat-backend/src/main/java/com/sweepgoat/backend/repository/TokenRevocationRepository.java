@@ -0,0 +1,29 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // Revocations that can still affect unexpired tokens (startup load)
+    List<TokenRevocation> findByCreatedAtAfterOrderByIdAsc(LocalDateTime since);
+
+    // New revocations since the last poll; the createdAt overlap catches rows whose
+    // id was allocated before lastSeenId but committed after the previous poll
+    @Query("SELECT r FROM TokenRevocation r WHERE r.id > :lastSeenId OR r.createdAt > :overlapSince ORDER BY r.id ASC")
+    List<TokenRevocation> findChangesSince(@Param("lastSeenId") Long lastSeenId,
+                                           @Param("overlapSince") LocalDateTime overlapSince);
+
+    // Revocations older than the JWT lifetime can no longer match a valid token
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.createdAt < :cutoff")
+    int deleteByCreatedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
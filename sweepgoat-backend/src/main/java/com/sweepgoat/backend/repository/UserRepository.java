@@ -1,14 +1,13 @@
 package com.sweepgoat.backend.repository;
 
 import com.sweepgoat.backend.model.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,7 +32,7 @@ import java.util.Optional;
  */
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     List<User> findByHostId(Long hostId);
 
@@ -41,21 +40,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmailAndHostId(String email, Long hostId);
 
-    boolean existsByEmailAndHostId(String email, Long hostId);
-
-    @Query("SELECT DISTINCT u FROM User u " +
-            "LEFT JOIN GiveawayEntry ge ON ge.user.id = u.id " +
-            "WHERE u.host.id = :hostId " +
-            "AND (:giveawayId IS NULL OR ge.giveaway.id = :giveawayId) " +
-            "AND (:emailVerified IS NULL OR u.emailVerified = :emailVerified) " +
-            "AND (:emailOptIn IS NULL OR u.emailOptIn = :emailOptIn) " +
-            "AND (:smsOptIn IS NULL OR u.smsOptIn = :smsOptIn)")
-    Page<User> findByHostIdWithFilters(
-            @Param("hostId") Long hostId,
-            @Param("giveawayId") Long giveawayId,
-            @Param("emailVerified") Boolean emailVerified,
-            @Param("emailOptIn") Boolean emailOptIn,
-            @Param("smsOptIn") Boolean smsOptIn,
-            Pageable pageable
-    );
+    // Case-insensitive, on the (host_id, lower(email)) unique index (derived IgnoreCase would use UPPER)
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.host.id = :hostId AND LOWER(u.email) = LOWER(:email)")
+    boolean existsByEmailIgnoreCaseAndHostId(@Param("email") String email, @Param("hostId") Long hostId);
+
+    // Bulk import: which of these lower-cased emails are already registered on the host,
+    // returned lower-cased (one query per chunk, on the (host_id, lower(email)) index)
+    @Query("SELECT LOWER(u.email) FROM User u WHERE u.host.id = :hostId AND LOWER(u.email) IN :emails")
+    List<String> findExistingEmails(@Param("hostId") Long hostId, @Param("emails") Collection<String> emails);
 }
\ No newline at end of file
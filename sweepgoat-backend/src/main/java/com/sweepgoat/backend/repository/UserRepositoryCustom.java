@@ -0,0 +1,87 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.dto.UserListResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CRM user list queries, projected straight into UserListResponse
+ * Filters and sort columns vary per request, so the queries are built in UserRepositoryImpl
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Offset page of users with only the given (non-null) filters applied
+     * giveawayId limits the list to users who entered that giveaway
+     */
+    Page<UserListResponse> findUserListByHostIdWithFilters(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            Pageable pageable
+    );
+
+    /**
+     * All users matching the filters as a lazily fetched stream (server-side cursor)
+     * Must be consumed and closed inside a transaction
+     */
+    Stream<UserListResponse> streamUserListByHostIdWithFilters(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            Sort sort
+    );
+
+    /**
+     * Number of users matching the same filters
+     */
+    long countUserListByHostIdWithFilters(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn
+    );
+
+    /**
+     * Fetch up to limit users ordered by (sortField, id), starting after (afterKey, afterId)
+     * afterKey/afterId are null for the first page
+     *
+     * sortField is one of UserRepositoryImpl.KEYSET_SORT_FIELDS; afterKey must be a
+     * LocalDateTime for date fields and a String otherwise, and is null after a row
+     * whose sort column is NULL (NULL sorts lowest)
+     */
+    List<UserListResponse> findUserListKeyset(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            String sortField,
+            boolean ascending,
+            Object afterKey,
+            Long afterId,
+            int limit
+    );
+
+    /**
+     * Users whose email, first name or last name contains the (lower-cased, LIKE-escaped)
+     * search term, newest first, starting after (afterCreatedAt, afterId) when given
+     */
+    List<UserListResponse> searchUserListKeyset(
+            Long hostId,
+            String term,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit
+    );
+}
@@ -0,0 +1,338 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.dto.UserListResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * CRM user list queries for UserRepositoryCustom
+ *
+ * The JPQL is assembled at runtime so only the active filters reach the database:
+ * - no "(:param IS NULL OR ...)" predicates, so Postgres plans each filter combination
+ *   with real selectivity instead of a generic plan
+ * - the giveaway filter is an EXISTS semi-join, so rows are never multiplied per entry
+ *   and no DISTINCT/de-duplication step is needed (also in the count query)
+ * - sort fields come from a whitelist, always followed by u.id as a tie-breaker
+ *
+ * Keyset pages sort on the plain column so the (host_id, column, id) indexes (V4, V7)
+ * serve them. NULL sorts lowest: NULLS FIRST ascending, NULLS LAST descending. A row
+ * comparison never matches NULL, so a page on a nullable column is read as up to two
+ * index ranges, the NULL rows by id and the non-NULL rows by (column, id).
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    /**
+     * Rows per round trip when streaming exports (the Postgres driver only uses a
+     * server-side cursor when a fetch size is set and autocommit is off)
+     */
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Allowed sort fields for offset pages
+     */
+    private static final Map<String, String> SORT_FIELDS = Map.of(
+        "createdAt", "u.createdAt",
+        "lastLoginAt", "u.lastLoginAt",
+        "email", "u.email",
+        "firstName", "u.firstName",
+        "lastName", "u.lastName"
+    );
+
+    /**
+     * Allowed sort fields for keyset pages (same as offset pages)
+     */
+    public static final Map<String, String> KEYSET_SORT_FIELDS = SORT_FIELDS;
+
+    /**
+     * Sort fields whose column can be NULL
+     */
+    private static final Set<String> NULLABLE_KEYSET_FIELDS = Set.of("lastLoginAt", "firstName", "lastName");
+
+    private static final String SELECT_LIST_RESPONSE =
+        "SELECT new com.sweepgoat.backend.dto.UserListResponse(" +
+        "u.id, u.email, u.firstName, u.lastName, u.phoneNumber, u.emailVerified, u.isActive, u.createdAt, u.lastLoginAt) ";
+
+    /**
+     * Must match the expression of idx_users_host_search_trgm (V9 migration) character for character
+     */
+    private static final String SEARCH_TEXT =
+        "lower(u.email || ' ' || coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, ''))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserListResponse> findUserListByHostIdWithFilters(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            Pageable pageable) {
+
+        StringBuilder jpql = new StringBuilder(SELECT_LIST_RESPONSE);
+        appendFrom(jpql, giveawayId, emailVerified, emailOptIn, smsOptIn);
+        appendOrderBy(jpql, pageable.getSort());
+
+        TypedQuery<UserListResponse> query = entityManager.createQuery(jpql.toString(), UserListResponse.class);
+        bindFilters(query, hostId, giveawayId, emailVerified, emailOptIn, smsOptIn);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        // Skips the count query when the first page is already the last one
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+            () -> countUserListByHostIdWithFilters(hostId, giveawayId, emailVerified, emailOptIn, smsOptIn));
+    }
+
+    @Override
+    public Stream<UserListResponse> streamUserListByHostIdWithFilters(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            Sort sort) {
+
+        StringBuilder jpql = new StringBuilder(SELECT_LIST_RESPONSE);
+        appendFrom(jpql, giveawayId, emailVerified, emailOptIn, smsOptIn);
+        appendOrderBy(jpql, sort);
+
+        TypedQuery<UserListResponse> query = entityManager.createQuery(jpql.toString(), UserListResponse.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE);
+        bindFilters(query, hostId, giveawayId, emailVerified, emailOptIn, smsOptIn);
+        return query.getResultStream();
+    }
+
+    @Override
+    public long countUserListByHostIdWithFilters(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn) {
+
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(u) ");
+        appendFrom(jpql, giveawayId, emailVerified, emailOptIn, smsOptIn);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        bindFilters(query, hostId, giveawayId, emailVerified, emailOptIn, smsOptIn);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public List<UserListResponse> findUserListKeyset(
+            Long hostId,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            String sortField,
+            boolean ascending,
+            Object afterKey,
+            Long afterId,
+            int limit) {
+
+        String column = KEYSET_SORT_FIELDS.get(sortField);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported keyset sort field: " + sortField);
+        }
+        String direction = ascending ? "ASC" : "DESC";
+        String comparison = ascending ? ">" : "<";
+        String afterRow = "(" + column + ", u.id) " + comparison + " (:afterKey, :afterId)";
+        String valueOrder = column + " " + direction + ", u.id " + direction;
+        KeysetFilters filters = new KeysetFilters(hostId, giveawayId, emailVerified, emailOptIn, smsOptIn);
+
+        if (!NULLABLE_KEYSET_FIELDS.contains(sortField)) {
+            return findKeysetRange(filters, afterId != null ? afterRow : null, valueOrder, afterKey, afterId, limit);
+        }
+
+        String nullRows = column + " IS NULL";
+        String nullOrder = "u.id " + direction;
+        String nullRowsAfterId = nullRows + " AND u.id " + comparison + " :afterId";
+        boolean afterNullRow = afterId != null && afterKey == null;
+
+        // Ascending: NULL rows, then values. Descending: values, then NULL rows
+        List<UserListResponse> rows = new ArrayList<>();
+        if (ascending) {
+            if (afterId == null || afterNullRow) {
+                rows.addAll(findKeysetRange(filters, afterNullRow ? nullRowsAfterId : nullRows, nullOrder,
+                    null, afterId, limit));
+                if (rows.size() < limit) {
+                    rows.addAll(findKeysetRange(filters, column + " IS NOT NULL", valueOrder,
+                        null, null, limit - rows.size()));
+                }
+            } else {
+                rows.addAll(findKeysetRange(filters, afterRow, valueOrder, afterKey, afterId, limit));
+            }
+        } else if (afterNullRow) {
+            rows.addAll(findKeysetRange(filters, nullRowsAfterId, nullOrder, null, afterId, limit));
+        } else {
+            rows.addAll(findKeysetRange(filters, afterId != null ? afterRow : column + " IS NOT NULL", valueOrder,
+                afterKey, afterId, limit));
+            if (rows.size() < limit) {
+                rows.addAll(findKeysetRange(filters, nullRows, nullOrder, null, null, limit - rows.size()));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Filters of a keyset page, passed through to each range query
+     */
+    private record KeysetFilters(Long hostId, Long giveawayId, Boolean emailVerified,
+                                 Boolean emailOptIn, Boolean smsOptIn) {
+    }
+
+    /**
+     * One index range of a keyset page: the filters plus an optional range condition
+     * (binding :afterKey / :afterId if it uses them), in the given order
+     */
+    private List<UserListResponse> findKeysetRange(KeysetFilters filters, String range, String orderBy,
+                                                   Object afterKey, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_LIST_RESPONSE);
+        appendFrom(jpql, filters.giveawayId(), filters.emailVerified(), filters.emailOptIn(), filters.smsOptIn());
+        if (range != null) {
+            jpql.append(" AND ").append(range);
+        }
+        jpql.append(" ORDER BY ").append(orderBy);
+
+        TypedQuery<UserListResponse> query = entityManager.createQuery(jpql.toString(), UserListResponse.class)
+            .setMaxResults(limit);
+        bindFilters(query, filters.hostId(), filters.giveawayId(), filters.emailVerified(),
+            filters.emailOptIn(), filters.smsOptIn());
+        if (range != null && range.contains(":afterKey")) {
+            query.setParameter("afterKey", afterKey);
+        }
+        if (range != null && range.contains(":afterId")) {
+            query.setParameter("afterId", afterId);
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UserListResponse> searchUserListKeyset(
+            Long hostId,
+            String term,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit) {
+
+        // Native SQL: the WHERE expression has to match the trigram index expression exactly
+        StringBuilder sql = new StringBuilder(
+            "SELECT u.id, u.email, u.first_name, u.last_name, u.phone_number, u.email_verified, u.is_active, " +
+            "u.created_at, u.last_login_at FROM users u " +
+            "WHERE u.host_id = :hostId AND " + SEARCH_TEXT + " LIKE :pattern ESCAPE '\\'");
+        if (afterId != null) {
+            sql.append(" AND (u.created_at, u.id) < (:afterCreatedAt, :afterId)");
+        }
+        sql.append(" ORDER BY u.created_at DESC, u.id DESC LIMIT :limit");
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+            .unwrap(NativeQuery.class)
+            .addScalar("id", Long.class)
+            .addScalar("email", String.class)
+            .addScalar("first_name", String.class)
+            .addScalar("last_name", String.class)
+            .addScalar("phone_number", String.class)
+            .addScalar("email_verified", Boolean.class)
+            .addScalar("is_active", Boolean.class)
+            .addScalar("created_at", LocalDateTime.class)
+            .addScalar("last_login_at", LocalDateTime.class);
+
+        query.setParameter("hostId", hostId);
+        query.setParameter("pattern", "%" + term + "%");
+        query.setParameter("limit", limit);
+        if (afterId != null) {
+            query.setParameter("afterCreatedAt", afterCreatedAt);
+            query.setParameter("afterId", afterId);
+        }
+
+        List<UserListResponse> users = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            users.add(new UserListResponse(
+                (Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                (Boolean) row[5], (Boolean) row[6], (LocalDateTime) row[7], (LocalDateTime) row[8]));
+        }
+        return users;
+    }
+
+    /**
+     * FROM/WHERE clause with only the active filters
+     */
+    private void appendFrom(StringBuilder jpql, Long giveawayId, Boolean emailVerified,
+                            Boolean emailOptIn, Boolean smsOptIn) {
+        jpql.append("FROM User u WHERE u.host.id = :hostId");
+        if (giveawayId != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM GiveawayEntry ge WHERE ge.user.id = u.id AND ge.giveaway.id = :giveawayId)");
+        }
+        if (emailVerified != null) {
+            jpql.append(" AND u.emailVerified = :emailVerified");
+        }
+        if (emailOptIn != null) {
+            jpql.append(" AND u.emailOptIn = :emailOptIn");
+        }
+        if (smsOptIn != null) {
+            jpql.append(" AND u.smsOptIn = :smsOptIn");
+        }
+    }
+
+    /**
+     * Bind the parameters appendFrom emitted
+     */
+    private void bindFilters(TypedQuery<?> query, Long hostId, Long giveawayId, Boolean emailVerified,
+                             Boolean emailOptIn, Boolean smsOptIn) {
+        query.setParameter("hostId", hostId);
+        if (giveawayId != null) {
+            query.setParameter("giveawayId", giveawayId);
+        }
+        if (emailVerified != null) {
+            query.setParameter("emailVerified", emailVerified);
+        }
+        if (emailOptIn != null) {
+            query.setParameter("emailOptIn", emailOptIn);
+        }
+        if (smsOptIn != null) {
+            query.setParameter("smsOptIn", smsOptIn);
+        }
+    }
+
+    /**
+     * ORDER BY from whitelisted sort fields, with u.id appended so pages are stable
+     * NULLs sort lowest, as in keyset pages (ASC NULLS FIRST / DESC NULLS LAST, the V7 indexes)
+     */
+    private void appendOrderBy(StringBuilder jpql, Sort sort) {
+        String separator = " ORDER BY ";
+        Sort.Direction lastDirection = Sort.Direction.DESC;
+        for (Sort.Order order : sort) {
+            String expression = SORT_FIELDS.get(order.getProperty());
+            if (expression == null) {
+                throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            }
+            jpql.append(separator).append(expression).append(' ').append(order.getDirection().name());
+            if (NULLABLE_KEYSET_FIELDS.contains(order.getProperty())) {
+                jpql.append(order.isAscending() ? " NULLS FIRST" : " NULLS LAST");
+            }
+            separator = ", ";
+            lastDirection = order.getDirection();
+        }
+        jpql.append(separator).append("u.id ").append(lastDirection.name());
+    }
+}
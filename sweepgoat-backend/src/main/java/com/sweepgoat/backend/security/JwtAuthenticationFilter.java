@@ -2,9 +2,13 @@ package com.sweepgoat.backend.security;
 
 import com.sweepgoat.backend.model.Host;
 import com.sweepgoat.backend.repository.HostRepository;
+import com.sweepgoat.backend.service.OperationMetrics;
+import com.sweepgoat.backend.service.TokenRevocationService;
 import com.sweepgoat.backend.util.JwtUtil;
+import com.sweepgoat.backend.util.LogRateLimiter;
 import com.sweepgoat.backend.util.SubdomainExtractor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,14 +22,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Malformed/expired tokens arrive on every request from a stale client; log a sample
+    private static final LogRateLimiter invalidTokenLog = new LogRateLimiter(20, Duration.ofMinutes(1));
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -35,6 +45,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private HostRepository hostRepository;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -43,16 +59,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract Authorization header
         final String authHeader = request.getHeader("Authorization");
         String jwt = null;
+        Claims claims = null;
         String username = null;
+        long verifyStart = System.nanoTime();
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7); // Remove "Bearer " prefix
 
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Parsed once: signature and expiry are verified here, every claim below comes from it
+                claims = jwtUtil.parseClaims(jwt);
+                username = claims.getSubject();
             } catch (Exception e) {
-                logger.error("Error extracting username from JWT: " + e.getMessage());
+                long suppressed = invalidTokenLog.tryAcquire();
+                if (suppressed >= 0) {
+                    logger.warn("Error extracting username from JWT: " + e.getMessage()
+                        + " (" + suppressed + " similar messages suppressed)");
+                }
+            }
+
+            if (username == null) {
+                recordVerification(verifyStart, "invalid");
             }
         }
 
@@ -60,12 +88,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             // Validate the token
-            if (jwtUtil.validateToken(jwt)) {
+            if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+                recordVerification(verifyStart, "invalid");
+            } else {
 
                 // Extract additional info from token
-                Long userId = jwtUtil.extractUserId(jwt); // Only present for USER tokens
-                Long hostId = jwtUtil.extractHostId(jwt);
-                String userType = jwtUtil.extractUserType(jwt);
+                Long userId = claims.get("userId", Long.class); // Only present for USER tokens
+                Long hostId = claims.get("hostId", Long.class);
+                String userType = claims.get("userType", String.class);
+
+                // Reject revoked tokens (deleted account, changed password) - in-memory check
+                if (tokenRevocationService.isRevoked(userType, userId, hostId, claims.getIssuedAt())) {
+                    recordVerification(verifyStart, "revoked");
+                    sendUnauthorizedResponse(response, "Token revoked",
+                        "This session is no longer valid. Please log in again.");
+                    logger.debug("Rejected revoked JWT for user: " + username);
+                    return;
+                }
+
+                recordVerification(verifyStart, "valid");
 
                 // Extract subdomain from request
                 String subdomain = subdomainExtractor.extractSubdomain(request);
@@ -120,7 +161,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (requestURI.startsWith("/api/auth/") ||
             requestURI.startsWith("/api/public/") ||
             requestURI.equals("/") ||
-            requestURI.equals("/health")) {
+            requestURI.equals("/health") ||
+            requestURI.startsWith("/actuator/")) {
             return true;
         }
 
@@ -156,6 +198,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return true;
     }
 
+    /**
+     * Record how long signature/expiry/revocation checks took, tagged by result
+     */
+    private void recordVerification(long startNanos, String outcome) {
+        operationMetrics.timer("auth.jwt.verification", outcome)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Send a 401 Unauthorized response with JSON error message
+     */
+    private void sendUnauthorizedResponse(HttpServletResponse response, String error, String message)
+                                           throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+
+        Map<String, String> errorBody = new HashMap<>();
+        errorBody.put("error", error);
+        errorBody.put("message", message);
+
+        ObjectMapper mapper = new ObjectMapper();
+        response.getWriter().write(mapper.writeValueAsString(errorBody));
+    }
+
     /**
      * Send a 403 Forbidden response with JSON error message
      */
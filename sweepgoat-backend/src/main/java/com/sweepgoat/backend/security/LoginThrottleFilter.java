@@ -0,0 +1,77 @@
+package com.sweepgoat.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgoat.backend.exception.TooManyRequestsException;
+import com.sweepgoat.backend.service.LoginThrottleService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-IP throttling for login and verification endpoints
+ *
+ * - Runs first in the security chain, before subdomain validation touches the DB
+ * - Only POSTs to the endpoints listed in LoginThrottleService.Endpoint are counted
+ * - Uses the socket address; set server.forward-headers-strategy when running
+ *   behind a trusted proxy so the real client IP is used
+ */
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        LoginThrottleService.Endpoint endpoint = "POST".equals(request.getMethod())
+            ? LoginThrottleService.Endpoint.forPath(request.getRequestURI())
+            : null;
+
+        if (endpoint != null) {
+            try {
+                loginThrottleService.checkIp(endpoint, request.getRemoteAddr());
+            } catch (TooManyRequestsException e) {
+                sendTooManyRequestsResponse(response, request.getRequestURI(), e);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Send 429 Too Many Requests response with Retry-After
+     */
+    private void sendTooManyRequestsResponse(HttpServletResponse response, String path, TooManyRequestsException e)
+            throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", 429);
+        errorResponse.put("error", "Too Many Requests");
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("path", path);
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
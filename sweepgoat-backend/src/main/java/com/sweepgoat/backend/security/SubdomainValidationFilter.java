@@ -2,7 +2,9 @@ package com.sweepgoat.backend.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.service.OperationMetrics;
 import com.sweepgoat.backend.service.SubdomainValidationService;
+import com.sweepgoat.backend.util.LogRateLimiter;
 import com.sweepgoat.backend.util.SubdomainExtractor;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,11 +19,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filter that validates subdomains before processing any request.
@@ -31,13 +35,16 @@ import java.util.Map;
  * - Returns 404 for invalid/unverified subdomains
  * - Whitelists certain endpoints (host auth, subdomain validation)
  * - Runs early in the filter chain, before authentication
- * - Uses caching for performance (10-minute cache)
+ * - Uses caching for performance (invalidated across nodes on change)
  */
 @Component
 public class SubdomainValidationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(SubdomainValidationFilter.class);
 
+    // Logged per request; a crawler probing random subdomains would otherwise flood the log
+    private static final LogRateLimiter invalidSubdomainLog = new LogRateLimiter(20, Duration.ofMinutes(1));
+
     @Autowired
     private SubdomainExtractor subdomainExtractor;
 
@@ -47,6 +54,9 @@ public class SubdomainValidationFilter extends OncePerRequestFilter {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private OperationMetrics operationMetrics;
+
     /**
      * Endpoints that should SKIP subdomain validation
      * These are accessible even with invalid/missing subdomains
@@ -59,6 +69,7 @@ public class SubdomainValidationFilter extends OncePerRequestFilter {
         "/api/public/subdomain/validate",
         "/api/public/subdomain/branding",
         "/health",
+        "/actuator/",
         "/"
     );
 
@@ -84,12 +95,20 @@ public class SubdomainValidationFilter extends OncePerRequestFilter {
         }
 
         // Validate subdomain (with caching)
+        long resolveStart = System.nanoTime();
+        boolean resolved = false;
         try {
             Host host = subdomainValidationService.validateSubdomain(subdomain);
+            resolved = true;
+            recordResolution(resolveStart, host != null ? "found" : "not_found");
 
             // Check if subdomain is valid (exists and email verified)
             if (host == null) {
-                logger.info("Subdomain validation failed - subdomain='{}' does not exist or host email not verified", subdomain);
+                long suppressed = invalidSubdomainLog.tryAcquire();
+                if (suppressed >= 0) {
+                    logger.info("Subdomain validation failed - subdomain='{}' does not exist or host email not verified ({} similar messages suppressed)",
+                        subdomain, suppressed);
+                }
                 sendNotFoundResponse(response, requestPath, "This site cannot be reached");
                 return;
             }
@@ -103,6 +122,9 @@ public class SubdomainValidationFilter extends OncePerRequestFilter {
 
         } catch (Exception e) {
             // Database error or other unexpected error
+            if (!resolved) {
+                recordResolution(resolveStart, OperationMetrics.OUTCOME_ERROR);
+            }
             logger.error("Error validating subdomain '{}': {}", subdomain, e.getMessage(), e);
             sendServiceUnavailableResponse(response, requestPath, "Service temporarily unavailable");
         }
@@ -115,6 +137,14 @@ public class SubdomainValidationFilter extends OncePerRequestFilter {
         return WHITELISTED_PATHS.stream().anyMatch(path::startsWith);
     }
 
+    /**
+     * Record subdomain lookup latency (cache hit or DB), tagged by result
+     */
+    private void recordResolution(long startNanos, String outcome) {
+        operationMetrics.timer("subdomain.resolution", outcome)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Send 404 Not Found response for invalid subdomains
      */
@@ -0,0 +1,228 @@
+package com.sweepgoat.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY
+ *
+ * - Writers call publishEvict/publishClear; the NOTIFY is sent on the caller's
+ *   connection, so inside a transaction it is only delivered after commit
+ * - Every node (including the sender) holds one dedicated LISTEN connection
+ *   outside the Hikari pool and evicts its local keys when a message arrives
+ * - After a reconnect all local caches are cleared, because notifications sent
+ *   while disconnected are lost
+ *
+ * Payload format: "nodeId|topic|key" where key "*" means clear the whole topic.
+ * Topics default to Spring cache names; other in-memory caches can register
+ * their own handler with subscribe().
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String CLEAR_ALL_KEY = "*";
+    private static final long RECONNECT_BACKOFF_MS = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.poll-timeout-ms:1000}")
+    private int pollTimeoutMs;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username:}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password:}")
+    private String datasourcePassword;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    /**
+     * Evict a single key on every node
+     */
+    public void publishEvict(String topic, String key) {
+        publish(topic, key);
+    }
+
+    /**
+     * Clear a whole cache on every node
+     */
+    public void publishClear(String topic) {
+        publish(topic, CLEAR_ALL_KEY);
+    }
+
+    /**
+     * Register a custom eviction handler for a topic that is not a Spring cache
+     * The handler receives the key, or null when the whole topic must be cleared
+     */
+    public void subscribe(String topic, Consumer<String> handler) {
+        handlers.put(topic, handler);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(String topic, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+
+        String payload = nodeId + "|" + topic + "|" + key;
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Cache invalidation bus disabled - local caches rely on TTL only");
+            return;
+        }
+
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid cache invalidation channel name: " + channel);
+        }
+
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Keep one LISTEN connection open, reconnecting with a fixed backoff
+     */
+    private void listenLoop() {
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(datasourceUrl, datasourceUsername, datasourcePassword)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+
+                if (connectedBefore) {
+                    // Anything published while we were disconnected is gone
+                    logger.warn("Cache invalidation listener reconnected - clearing all local caches");
+                    clearAllLocal();
+                }
+                connectedBefore = true;
+                logger.info("Cache invalidation listener started on channel '{}' (node {})", channel, nodeId);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.error("Cache invalidation listener error: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply one invalidation message to the local caches
+     * Own messages are applied too: the sender's synchronous eviction happens
+     * before commit, so a concurrent read may have re-cached the old value
+     */
+    void handle(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3) {
+            logger.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+
+        String topic = parts[1];
+        String key = CLEAR_ALL_KEY.equals(parts[2]) ? null : parts[2];
+
+        Consumer<String> handler = handlers.get(topic);
+        if (handler != null) {
+            handler.accept(key);
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(topic);
+        if (cache == null) {
+            logger.debug("No local cache for invalidation topic '{}'", topic);
+            return;
+        }
+
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private void clearAllLocal() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        handlers.values().forEach(handler -> handler.accept(null));
+    }
+}
@@ -0,0 +1,210 @@
+package com.sweepgoat.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse;
+import com.sweepgoat.backend.dto.UserListResponse;
+import com.sweepgoat.backend.exception.BadRequestException;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import com.sweepgoat.backend.repository.GiveawayEntryRepository;
+import com.sweepgoat.backend.repository.GiveawayRepository;
+import com.sweepgoat.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming CSV / NDJSON exports of the CRM user list and giveaway leaderboards
+ *
+ * Rows are read through a server-side cursor (Stream + fetch size inside a read-only
+ * transaction) and written straight to the response as they arrive, so heap use is
+ * one fetch batch plus the write buffer no matter how many rows are exported.
+ * Rows are DTO projections, so nothing accumulates in the persistence context.
+ *
+ * Export methods are meant to be called from a StreamingResponseBody; ownership
+ * checks (verifyGiveawayOwnership) must run before the response is committed.
+ */
+@Service
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    // Phone numbers and other plain numbers ("+15551234567", "-5", "(555) 123-4567") are not formulas
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("^[+-]?[0-9 ()./-]+$");
+
+    private static final String[] USER_COLUMNS = {
+        "id", "email", "firstName", "lastName", "phoneNumber", "emailVerified", "isActive", "createdAt", "lastLoginAt"
+    };
+
+    private static final String[] ENTRY_COLUMNS = {
+        "entryId", "points", "freeEntryClaimed", "enteredAt", "userId", "email", "firstName", "lastName"
+    };
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parse the format request parameter ("csv" or "ndjson")
+         */
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + value + " (use csv or ndjson)");
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GiveawayRepository giveawayRepository;
+
+    @Autowired
+    private GiveawayEntryRepository giveawayEntryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Throw 404 unless the giveaway belongs to the host
+     */
+    @Transactional(readOnly = true)
+    public void verifyGiveawayOwnership(Long giveawayId, Long hostId) {
+        if (giveawayRepository.findByIdAndHostId(giveawayId, hostId).isEmpty()) {
+            throw new ResourceNotFoundException("Giveaway not found");
+        }
+    }
+
+    /**
+     * Write every user of the host matching the filters, newest first
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(Long hostId, Long giveawayId, Boolean emailVerified, Boolean emailOptIn,
+                            Boolean smsOptIn, Format format, boolean gzip, OutputStream out) throws IOException {
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+        try (Stream<UserListResponse> users = userRepository.streamUserListByHostIdWithFilters(
+                hostId, giveawayId, emailVerified, emailOptIn, smsOptIn, sort)) {
+            long rows = write(users, format, gzip, out, USER_COLUMNS, user -> new Object[] {
+                user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getPhoneNumber(),
+                user.getEmailVerified(), user.getIsActive(), user.getCreatedAt(), user.getLastLoginAt()
+            });
+            logger.info("Exported {} users for host {} as {}", rows, hostId, format);
+        }
+    }
+
+    /**
+     * Write every entry of a giveaway, highest points first
+     */
+    @Transactional(readOnly = true)
+    public void exportEntries(Long giveawayId, Format format, boolean gzip, OutputStream out) throws IOException {
+        try (Stream<GiveawayEntryLeaderboardResponse> entries =
+                 giveawayEntryRepository.streamLeaderboardByGiveawayId(giveawayId)) {
+            long rows = write(entries, format, gzip, out, ENTRY_COLUMNS, entry -> new Object[] {
+                entry.getEntryId(), entry.getPoints(), entry.getFreeEntryClaimed(), entry.getEnteredAt(),
+                entry.getUserId(), entry.getEmail(), entry.getFirstName(), entry.getLastName()
+            });
+            logger.info("Exported {} entries for giveaway {} as {}", rows, giveawayId, format);
+        }
+    }
+
+    /**
+     * Write rows one at a time; returns the number of rows written
+     * The response stream itself is left open for the container to close
+     */
+    private <T> long write(Stream<T> rows, Format format, boolean gzip, OutputStream out,
+                           String[] header, Function<T, Object[]> columns) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, WRITE_BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(gzipStream != null ? gzipStream : out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+
+        if (format == Format.CSV) {
+            writeCsvLine(writer, header);
+        }
+
+        long count = 0;
+        for (T row : (Iterable<T>) rows::iterator) {
+            if (format == Format.CSV) {
+                writeCsvLine(writer, columns.apply(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            count++;
+        }
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting, plus a leading apostrophe on values a spreadsheet would
+     * evaluate as a formula (names and emails are user-supplied); plain numbers such
+     * as phone numbers are left as they are
+     */
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)
+                && !PLAIN_NUMBER.matcher(text).matches()) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -5,6 +5,7 @@ import com.sweepgoat.backend.dto.GiveawayEntryResponse;
 import com.sweepgoat.backend.dto.PaginatedResponse;
 import com.sweepgoat.backend.dto.UserEntryResponse;
 import com.sweepgoat.backend.dto.UserGiveawayEntryResponse;
+import com.sweepgoat.backend.dto.UserGiveawayEntryRow;
 import com.sweepgoat.backend.exception.GiveawayEntryException;
 import com.sweepgoat.backend.exception.ResourceNotFoundException;
 import com.sweepgoat.backend.model.Giveaway;
@@ -13,7 +14,10 @@ import com.sweepgoat.backend.model.User;
 import com.sweepgoat.backend.repository.GiveawayEntryRepository;
 import com.sweepgoat.backend.repository.GiveawayRepository;
 import com.sweepgoat.backend.repository.UserRepository;
+import com.sweepgoat.backend.util.CursorCodec;
+import com.sweepgoat.backend.util.PageLimits;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,6 +30,8 @@ import java.util.stream.Collectors;
 @Service
 public class GiveawayEntryService {
 
+    private static final String USER_ENTRIES_CURSOR_SORT = "endDate:desc";
+
     @Autowired
     private GiveawayEntryRepository giveawayEntryRepository;
 
@@ -35,6 +41,12 @@ public class GiveawayEntryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PublicContentVersionService publicContentVersionService;
+
+    @Autowired
+    private GiveawayLiveUpdateService giveawayLiveUpdateService;
+
     /**
      * Claim one-time free entry (1 point)
      *
@@ -88,6 +100,7 @@ public class GiveawayEntryService {
             existingEntry.setPoints(existingEntry.getPoints() + 1);
             existingEntry.setFreeEntryClaimed(true);
             existingEntry = giveawayEntryRepository.save(existingEntry);
+            giveawayLiveUpdateService.recordEntryChange(giveawayId);
 
             // Build response
             GiveawayEntryResponse.EntryDetails details = new GiveawayEntryResponse.EntryDetails(
@@ -114,6 +127,8 @@ public class GiveawayEntryService {
         entry.setFreeEntryClaimed(true); // Mark that user has claimed their one-time free entry
 
         entry = giveawayEntryRepository.save(entry);
+        publicContentVersionService.recordEntryAdded(hostId);
+        giveawayLiveUpdateService.recordEntryChange(giveawayId);
 
         // Build response
         GiveawayEntryResponse.EntryDetails details = new GiveawayEntryResponse.EntryDetails(
@@ -183,6 +198,7 @@ public class GiveawayEntryService {
             // User already has an entry - add points to it
             existingEntry.setPoints(existingEntry.getPoints() + pointsToAdd);
             existingEntry = giveawayEntryRepository.save(existingEntry);
+            giveawayLiveUpdateService.recordEntryChange(giveawayId);
 
             // Build response
             GiveawayEntryResponse.EntryDetails details = new GiveawayEntryResponse.EntryDetails(
@@ -209,6 +225,8 @@ public class GiveawayEntryService {
         entry.setFreeEntryClaimed(false); // This is NOT a free entry
 
         entry = giveawayEntryRepository.save(entry);
+        publicContentVersionService.recordEntryAdded(hostId);
+        giveawayLiveUpdateService.recordEntryChange(giveawayId);
 
         // Build response
         GiveawayEntryResponse.EntryDetails details = new GiveawayEntryResponse.EntryDetails(
@@ -230,23 +248,22 @@ public class GiveawayEntryService {
     /**
      * Get all entries for a user (USER auth required)
      */
+    @Transactional(readOnly = true)
     public List<UserEntryResponse> getUserEntries(Long userId) {
-        // Verify user exists
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Get all entries for this user
-        List<GiveawayEntry> entries = giveawayEntryRepository.findByUserId(userId);
+        // Verify user exists (without loading the entity)
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
-        return entries.stream()
-            .map(this::mapToUserEntryResponse)
-            .collect(Collectors.toList());
+        // Get all entries for this user, projected with their giveaway columns
+        return giveawayEntryRepository.findUserEntryResponsesByUserId(userId);
     }
 
     /**
      * Get all entries for a giveaway (HOST auth required)
      * Returns leaderboard sorted by points descending
      */
+    @Transactional(readOnly = true)
     public List<GiveawayEntryLeaderboardResponse> getEntriesForGiveaway(Long giveawayId, Long hostId) {
         // Find giveaway
         Giveaway giveaway = giveawayRepository.findById(giveawayId)
@@ -257,31 +274,8 @@ public class GiveawayEntryService {
             throw new ResourceNotFoundException("Giveaway not found");
         }
 
-        // Get all entries sorted by points descending
-        List<GiveawayEntry> entries = giveawayEntryRepository.findByGiveawayIdOrderByPointsDesc(giveawayId);
-
-        return entries.stream()
-            .map(this::mapToLeaderboardResponse)
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Map GiveawayEntry to UserEntryResponse
-     */
-    private UserEntryResponse mapToUserEntryResponse(GiveawayEntry entry) {
-        Giveaway giveaway = entry.getGiveaway();
-
-        return new UserEntryResponse(
-            entry.getId(),
-            entry.getPoints(),
-            entry.getFreeEntryClaimed(),
-            entry.getCreatedAt(),
-            giveaway.getId(),
-            giveaway.getTitle(),
-            giveaway.getImageUrl(),
-            giveaway.getEndDate(),
-            giveaway.getStatus()
-        );
+        // Get all entries sorted by points descending, projected with their user columns
+        return giveawayEntryRepository.findLeaderboardByGiveawayId(giveawayId);
     }
 
     /**
@@ -289,18 +283,20 @@ public class GiveawayEntryService {
      * Returns all giveaways the user has entered (current and past)
      * Sorted by giveaway end date descending (most recent first)
      */
+    @Transactional(readOnly = true)
     public PaginatedResponse<UserGiveawayEntryResponse> getUserGiveawayEntries(Long userId, Pageable pageable) {
-        // Verify user exists
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // Verify user exists (without loading the entity)
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
         // Get paginated entries sorted by giveaway end date desc
-        Page<GiveawayEntry> entriesPage = giveawayEntryRepository
-            .findByUserIdOrderByGiveawayEndDateDesc(userId, pageable);
+        Page<UserGiveawayEntryRow> entriesPage = giveawayEntryRepository
+            .findUserGiveawayEntryRowsByUserId(userId, pageable);
 
         // Map to response DTOs
         List<UserGiveawayEntryResponse> data = entriesPage.getContent().stream()
-            .map(this::mapToUserGiveawayEntryResponse)
+            .map(row -> mapToUserGiveawayEntryResponse(row, userId))
             .collect(Collectors.toList());
 
         // Build paginated response
@@ -316,20 +312,57 @@ public class GiveawayEntryService {
     }
 
     /**
-     * Map GiveawayEntry to UserGiveawayEntryResponse
+     * Cursor-mode variant of getUserGiveawayEntries (USER auth required)
+     * Same ordering (giveaway end date desc, then entry id); COUNT only when includeTotal is true
+     */
+    @Transactional(readOnly = true)
+    public PaginatedResponse<UserGiveawayEntryResponse> getUserGiveawayEntriesAfterCursor(
+            Long userId, int size, String cursor, boolean includeTotal) {
+        PageLimits.checkSize(size);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<UserGiveawayEntryRow> rows;
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorCodec.Cursor after = CursorCodec.decode(cursor, USER_ENTRIES_CURSOR_SORT);
+            rows = giveawayEntryRepository.findUserGiveawayEntryRowsKeysetAfter(
+                userId, after.keyAsDateTime(), after.id(), Limit.of(size + 1));
+        } else {
+            rows = giveawayEntryRepository.findUserGiveawayEntryRowsKeyset(userId, Limit.of(size + 1));
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            UserGiveawayEntryRow last = rows.get(size - 1);
+            nextCursor = CursorCodec.encode(USER_ENTRIES_CURSOR_SORT, last.giveawayEndDate(), last.entryId());
+        }
+
+        List<UserGiveawayEntryResponse> data = rows.stream()
+            .map(row -> mapToUserGiveawayEntryResponse(row, userId))
+            .collect(Collectors.toList());
+
+        Long totalItems = includeTotal ? giveawayEntryRepository.countByUserId(userId) : null;
+
+        return PaginatedResponse.ofCursor(data, size, cursor != null && !cursor.isEmpty(), nextCursor, totalItems);
+    }
+
+    /**
+     * Map an entry history row to UserGiveawayEntryResponse
      * Determines status based on giveaway state and winner
      */
-    private UserGiveawayEntryResponse mapToUserGiveawayEntryResponse(GiveawayEntry entry) {
-        Giveaway giveaway = entry.getGiveaway();
+    private UserGiveawayEntryResponse mapToUserGiveawayEntryResponse(UserGiveawayEntryRow row, Long userId) {
         String status;
-        Long winnerId = giveaway.getWinnerId();
+        Long winnerId = row.winnerId();
 
         // Determine status
-        if ("ACTIVE".equals(giveaway.getStatus())) {
+        if ("ACTIVE".equals(row.giveawayStatus())) {
             status = "ACTIVE";
-        } else if ("ENDED".equals(giveaway.getStatus()) || "COMPLETED".equals(giveaway.getStatus()) || "CANCELLED".equals(giveaway.getStatus())) {
+        } else if ("ENDED".equals(row.giveawayStatus()) || "COMPLETED".equals(row.giveawayStatus()) || "CANCELLED".equals(row.giveawayStatus())) {
             // Check if user won this giveaway
-            if (winnerId != null && winnerId.equals(entry.getUser().getId())) {
+            if (winnerId != null && winnerId.equals(userId)) {
                 status = "WON";
             } else {
                 status = "ENDED";
@@ -339,31 +372,13 @@ public class GiveawayEntryService {
         }
 
         return new UserGiveawayEntryResponse(
-            giveaway.getId(),
-            giveaway.getTitle(),
-            giveaway.getImageUrl(),
-            giveaway.getEndDate(),
-            entry.getPoints(),
+            row.giveawayId(),
+            row.giveawayTitle(),
+            row.giveawayImageUrl(),
+            row.giveawayEndDate(),
+            row.points(),
             status,
-            entry.getFreeEntryClaimed()
-        );
-    }
-
-    /**
-     * Map GiveawayEntry to LeaderboardResponse
-     */
-    private GiveawayEntryLeaderboardResponse mapToLeaderboardResponse(GiveawayEntry entry) {
-        User user = entry.getUser();
-
-        return new GiveawayEntryLeaderboardResponse(
-            entry.getId(),
-            entry.getPoints(),
-            entry.getFreeEntryClaimed(),
-            entry.getCreatedAt(),
-            user.getId(),
-            user.getEmail(),
-            user.getFirstName(),
-            user.getLastName()
+            row.freeEntryClaimed()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,380 @@
+package com.sweepgoat.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse;
+import com.sweepgoat.backend.dto.GiveawayLiveUpdate;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import com.sweepgoat.backend.model.Giveaway;
+import com.sweepgoat.backend.repository.GiveawayEntryRepository;
+import com.sweepgoat.backend.repository.GiveawayRepository;
+import com.sweepgoat.backend.util.LogRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live entry count and top-N leaderboard per giveaway, pushed over Server-Sent Events
+ *
+ * - Entry writes only mark the giveaway dirty after commit; nothing is queried or sent
+ *   per write. Each tick publishes one CacheInvalidationBus message per giveaway that
+ *   changed on this node, so other nodes mark it dirty too
+ * - Every tick-ms, each dirty giveaway that has listeners is reloaded once (count plus
+ *   top-N query), serialized once and the same event is handed to every connection
+ * - Each connection has a buffer of buffer-size events drained by its own virtual
+ *   thread; a connection whose buffer is full is a slow consumer and is closed
+ *   (EventSource reconnects and starts again from the latest snapshot)
+ * - A comment is sent every heartbeat-seconds so proxies keep idle streams open and
+ *   dead connections are noticed
+ *
+ * Metrics: giveaway.live.connections, giveaway.live.evictions{reason}
+ */
+@Service
+public class GiveawayLiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GiveawayLiveUpdateService.class);
+
+    static final String TOPIC = "giveaway-live";
+    private static final String EVENT_NAME = "entries";
+
+    private final LogRateLimiter refreshLog = new LogRateLimiter(5, Duration.ofMinutes(1));
+
+    @Autowired
+    private GiveawayRepository giveawayRepository;
+
+    @Autowired
+    private GiveawayEntryRepository giveawayEntryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.live.top-n:10}")
+    private int topN;
+
+    @Value("${app.live.buffer-size:8}")
+    private int bufferSize;
+
+    @Value("${app.live.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.live.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.live.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    // Giveaways with entries committed on this node since the last tick, for other nodes
+    private final Set<Long> changedLocally = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private ExecutorService senders;
+    private Counter slowConsumerEvictions;
+    private Counter sendFailures;
+    private volatile long lastHeartbeatNanos = System.nanoTime();
+
+    /**
+     * One giveaway: its listeners and the last event sent to them
+     */
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean dirty = new AtomicBoolean(true);
+        private volatile String latestJson;
+        private volatile Set<DataWithMediaType> latestEvent;
+    }
+
+    /**
+     * One SSE connection with its bounded send buffer
+     */
+    private static final class Subscriber {
+        private final Long giveawayId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long giveawayId, SseEmitter emitter, int bufferSize) {
+            this.giveawayId = giveawayId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("giveaway-live-", 0).factory());
+
+        Gauge.builder("giveaway.live.connections", connections, AtomicInteger::get)
+            .description("Open Server-Sent Events connections for live giveaway updates")
+            .register(meterRegistry);
+        slowConsumerEvictions = Counter.builder("giveaway.live.evictions")
+            .tag("reason", "slow_consumer")
+            .register(meterRegistry);
+        sendFailures = Counter.builder("giveaway.live.evictions")
+            .tag("reason", "send_failed")
+            .register(meterRegistry);
+
+        cacheInvalidationBus.subscribe(TOPIC, this::onMessage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(this::close));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Open a live stream for a giveaway of the given host
+     * The latest snapshot (if any) is sent right away, otherwise on the next tick
+     */
+    public SseEmitter subscribe(Long giveawayId, Long hostId) {
+        Giveaway giveaway = giveawayRepository.findById(giveawayId)
+            .orElseThrow(() -> new ResourceNotFoundException("Giveaway not found"));
+        if (!giveaway.getHost().getId().equals(hostId)) {
+            throw new ResourceNotFoundException("Giveaway not found on this subdomain");
+        }
+
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceOverloadedException("Too many live connections, please retry shortly", 30);
+        }
+
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(timeoutMinutes).toMillis());
+        Subscriber subscriber = new Subscriber(giveawayId, emitter, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        Channel channel = channels.compute(giveawayId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel();
+            target.subscribers.add(subscriber);
+            return target;
+        });
+
+        Set<DataWithMediaType> latest = channel.latestEvent;
+        if (latest != null) {
+            enqueue(subscriber, latest);
+        }
+        return emitter;
+    }
+
+    /**
+     * Called after an entry of the giveaway is created or changes
+     */
+    public void recordEntryChange(Long giveawayId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markChanged(giveawayId);
+                }
+            });
+        } else {
+            markChanged(giveawayId);
+        }
+    }
+
+    /**
+     * Coalesce pending changes: publish each locally changed giveaway once, then reload
+     * and broadcast each dirty giveaway once per tick
+     */
+    @Scheduled(fixedDelayString = "${app.live.tick-ms:1000}")
+    public void tick() {
+        publishLocalChanges();
+
+        channels.forEach((giveawayId, channel) -> {
+            if (channel.dirty.getAndSet(false)) {
+                refresh(giveawayId, channel);
+            }
+        });
+
+        if (System.nanoTime() - lastHeartbeatNanos >= Duration.ofSeconds(heartbeatSeconds).toNanos()) {
+            lastHeartbeatNanos = System.nanoTime();
+            Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keepalive").build();
+            channels.values().forEach(channel -> channel.subscribers.forEach(s -> enqueue(s, heartbeat)));
+        }
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    void onMessage(String giveawayId) {
+        if (giveawayId == null) {
+            channels.values().forEach(channel -> channel.dirty.set(true));
+        } else {
+            markDirty(Long.valueOf(giveawayId));
+        }
+    }
+
+    private void markChanged(Long giveawayId) {
+        changedLocally.add(giveawayId);
+        markDirty(giveawayId);
+    }
+
+    private void publishLocalChanges() {
+        for (Long giveawayId : List.copyOf(changedLocally)) {
+            changedLocally.remove(giveawayId);
+            try {
+                cacheInvalidationBus.publishEvict(TOPIC, giveawayId.toString());
+            } catch (RuntimeException e) {
+                // Keep it for the next tick
+                changedLocally.add(giveawayId);
+                long suppressed = refreshLog.tryAcquire();
+                if (suppressed >= 0) {
+                    logger.warn("Publishing live update for giveaway {} failed ({} similar suppressed): {}",
+                        giveawayId, suppressed, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void markDirty(Long giveawayId) {
+        Channel channel = channels.get(giveawayId);
+        if (channel != null) {
+            channel.dirty.set(true);
+        }
+    }
+
+    private void refresh(Long giveawayId, Channel channel) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(loadSnapshot(giveawayId));
+        } catch (JsonProcessingException | RuntimeException e) {
+            channel.dirty.set(true);
+            long suppressed = refreshLog.tryAcquire();
+            if (suppressed >= 0) {
+                logger.warn("Live update for giveaway {} failed ({} similar suppressed): {}",
+                    giveawayId, suppressed, e.getMessage());
+            }
+            return;
+        }
+
+        if (json.equals(channel.latestJson)) {
+            return;
+        }
+
+        Set<DataWithMediaType> event = SseEmitter.event()
+            .name(EVENT_NAME)
+            .data(json, MediaType.APPLICATION_JSON)
+            .build();
+        channel.latestJson = json;
+        channel.latestEvent = event;
+        channel.subscribers.forEach(subscriber -> enqueue(subscriber, event));
+    }
+
+    private GiveawayLiveUpdate loadSnapshot(Long giveawayId) {
+        Long totalEntries = giveawayEntryRepository.countEntriesByGiveawayId(giveawayId);
+        List<GiveawayEntryLeaderboardResponse> rows =
+            giveawayEntryRepository.findTopLeaderboardByGiveawayId(giveawayId, Limit.of(topN));
+
+        List<GiveawayLiveUpdate.Leader> leaders = new ArrayList<>(rows.size());
+        for (GiveawayEntryLeaderboardResponse row : rows) {
+            leaders.add(new GiveawayLiveUpdate.Leader(
+                leaders.size() + 1, displayName(row.getFirstName(), row.getLastName()), row.getPoints()));
+        }
+        return new GiveawayLiveUpdate(giveawayId, totalEntries, leaders);
+    }
+
+    static String displayName(String firstName, String lastName) {
+        String first = firstName != null ? firstName.trim() : "";
+        if (lastName == null || lastName.isBlank()) {
+            return first;
+        }
+        return (first + " " + lastName.trim().charAt(0) + ".").trim();
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            slowConsumerEvictions.increment();
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> event;
+            while (!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (Exception e) {
+            sendFailures.increment();
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // An event may have been queued after the last poll but before draining was cleared
+        if (!subscriber.closed.get() && !subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (unsubscribe(subscriber)) {
+            try {
+                subscriber.emitter.complete();
+            } catch (RuntimeException e) {
+                // Connection already gone
+            }
+        }
+    }
+
+    /**
+     * Remove a connection once; the giveaway's channel is dropped with its last listener
+     */
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriber.buffer.clear();
+        connections.decrementAndGet();
+        channels.computeIfPresent(subscriber.giveawayId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+        return true;
+    }
+}
@@ -16,9 +16,12 @@ import com.sweepgoat.backend.model.User;
 import com.sweepgoat.backend.repository.GiveawayEntryRepository;
 import com.sweepgoat.backend.repository.GiveawayRepository;
 import com.sweepgoat.backend.repository.HostRepository;
+import com.sweepgoat.backend.util.CursorCodec;
+import com.sweepgoat.backend.util.PageLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,13 +30,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class GiveawayService {
 
     private static final Logger logger = LoggerFactory.getLogger(GiveawayService.class);
 
+    private static final String SUBDOMAIN_LIST_CURSOR_SORT = "startDate:desc";
+
     @Autowired
     private GiveawayRepository giveawayRepository;
 
@@ -47,6 +51,7 @@ public class GiveawayService {
      * Get all active giveaways for a subdomain (PUBLIC - no auth required)
      * Status is kept accurate by the scheduled GiveawayStatusScheduler
      */
+    @Transactional(readOnly = true)
     public List<GiveawayListResponse> getAllActiveGiveawaysBySubdomain(String subdomain) {
         // Find host by subdomain
         Host host = hostRepository.findBySubdomain(subdomain)
@@ -54,16 +59,13 @@ public class GiveawayService {
 
         // Get all active giveaways for this host
         // No need to filter by endDate - scheduler keeps status accurate
-        List<Giveaway> giveaways = giveawayRepository.findByHostIdAndStatus(host.getId(), "ACTIVE");
-
-        return giveaways.stream()
-            .map(this::mapToListResponse)
-            .collect(Collectors.toList());
+        return giveawayRepository.findListByHostIdAndStatus(host.getId(), "ACTIVE");
     }
 
     /**
      * Get single giveaway details (PUBLIC - no auth required)
      */
+    @Transactional(readOnly = true)
     public GiveawayDetailsResponse getGiveawayById(Long giveawayId, String subdomain) {
         // Find host by subdomain
         Host host = hostRepository.findBySubdomain(subdomain)
@@ -84,17 +86,15 @@ public class GiveawayService {
     /**
      * Get all giveaways for a host (HOST auth required)
      */
+    @Transactional(readOnly = true)
     public List<GiveawayListResponse> getGiveawaysByHostId(Long hostId) {
-        List<Giveaway> giveaways = giveawayRepository.findByHostId(hostId);
-
-        return giveaways.stream()
-            .map(this::mapToListResponse)
-            .collect(Collectors.toList());
+        return giveawayRepository.findListByHostId(hostId);
     }
 
     /**
      * Get single giveaway with details for host (HOST auth required)
      */
+    @Transactional(readOnly = true)
     public GiveawayDetailsResponse getHostGiveawayById(Long giveawayId, Long hostId) {
         Giveaway giveaway = giveawayRepository.findById(giveawayId)
             .orElseThrow(() -> new ResourceNotFoundException("Giveaway not found"));
@@ -110,6 +110,7 @@ public class GiveawayService {
     /**
      * Get statistics for a giveaway (HOST auth required)
      */
+    @Transactional(readOnly = true)
     public GiveawayStatsResponse getGiveawayStats(Long giveawayId, Long hostId) {
         Giveaway giveaway = giveawayRepository.findById(giveawayId)
             .orElseThrow(() -> new ResourceNotFoundException("Giveaway not found"));
@@ -138,25 +139,6 @@ public class GiveawayService {
         );
     }
 
-    /**
-     * Map Giveaway entity to ListResponse DTO
-     */
-    private GiveawayListResponse mapToListResponse(Giveaway giveaway) {
-        // Count entries for this giveaway
-        Long totalEntries = giveawayEntryRepository.countEntriesByGiveawayId(giveaway.getId());
-
-        return new GiveawayListResponse(
-            giveaway.getId(),
-            giveaway.getTitle(),
-            giveaway.getDescription(),
-            giveaway.getImageUrl(),
-            giveaway.getStartDate(),
-            giveaway.getEndDate(),
-            giveaway.getStatus(),
-            totalEntries
-        );
-    }
-
     /**
      * Create a new giveaway (HOST auth required)
      * Only one active giveaway is allowed per host at a time
@@ -191,12 +173,9 @@ public class GiveawayService {
     /**
      * Get only active giveaways for a host (HOST auth required)
      */
+    @Transactional(readOnly = true)
     public List<GiveawayListResponse> getActiveGiveawaysByHostId(Long hostId) {
-        List<Giveaway> giveaways = giveawayRepository.findByHostIdAndStatus(hostId, "ACTIVE");
-
-        return giveaways.stream()
-            .map(this::mapToListResponse)
-            .collect(Collectors.toList());
+        return giveawayRepository.findListByHostIdAndStatus(hostId, "ACTIVE");
     }
 
     /**
@@ -290,6 +269,7 @@ public class GiveawayService {
      * Get giveaways by subdomain with pagination and optional status filter (PUBLIC - no auth required)
      * Used for displaying giveaways on the tenant frontend with pagination
      */
+    @Transactional(readOnly = true)
     public PaginatedResponse<GiveawayListResponse> getGiveawaysBySubdomain(
         String subdomain,
         String status,  // "ENDED", "ACTIVE", "CANCELLED", or null for all
@@ -300,21 +280,16 @@ public class GiveawayService {
             .orElseThrow(() -> new ResourceNotFoundException("Subdomain not found: " + subdomain));
 
         // Get paginated giveaways - with or without status filter
-        Page<Giveaway> giveawaysPage;
+        Page<GiveawayListResponse> giveawaysPage;
         if (status != null && !status.isEmpty()) {
-            giveawaysPage = giveawayRepository.findByHostIdAndStatus(host.getId(), status, pageable);
+            giveawaysPage = giveawayRepository.findListByHostIdAndStatus(host.getId(), status, pageable);
         } else {
-            giveawaysPage = giveawayRepository.findByHostId(host.getId(), pageable);
+            giveawaysPage = giveawayRepository.findListByHostId(host.getId(), pageable);
         }
 
-        // Map to response DTOs
-        List<GiveawayListResponse> data = giveawaysPage.getContent().stream()
-            .map(this::mapToListResponse)
-            .collect(Collectors.toList());
-
         // Build paginated response
         return new PaginatedResponse<>(
-            data,
+            giveawaysPage.getContent(),
             giveawaysPage.getNumber(),
             giveawaysPage.getTotalPages(),
             giveawaysPage.getTotalElements(),
@@ -324,6 +299,57 @@ public class GiveawayService {
         );
     }
 
+    /**
+     * Cursor-mode variant of getGiveawaysBySubdomain (PUBLIC - no auth required)
+     * Newest first by start date; the COUNT query only runs when includeTotal is true
+     */
+    @Transactional(readOnly = true)
+    public PaginatedResponse<GiveawayListResponse> getGiveawaysBySubdomainAfterCursor(
+        String subdomain,
+        String status,
+        int size,
+        String cursor,
+        boolean includeTotal
+    ) {
+        PageLimits.checkSize(size);
+        Host host = hostRepository.findBySubdomain(subdomain)
+            .orElseThrow(() -> new ResourceNotFoundException("Subdomain not found: " + subdomain));
+
+        String statusFilter = status != null && !status.isEmpty() ? status : null;
+
+        // Fetch one extra row to know whether another page exists. Separate queries with and
+        // without the status filter, so each is a plain range scan on its own index
+        Limit limit = Limit.of(size + 1);
+        List<GiveawayListResponse> rows;
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorCodec.Cursor after = CursorCodec.decode(cursor, SUBDOMAIN_LIST_CURSOR_SORT);
+            rows = statusFilter != null
+                ? giveawayRepository.findListKeysetByHostIdAndStatusAfter(
+                    host.getId(), statusFilter, after.keyAsDateTime(), after.id(), limit)
+                : giveawayRepository.findListKeysetByHostIdAfter(host.getId(), after.keyAsDateTime(), after.id(), limit);
+        } else {
+            rows = statusFilter != null
+                ? giveawayRepository.findListKeysetByHostIdAndStatus(host.getId(), statusFilter, limit)
+                : giveawayRepository.findListKeysetByHostId(host.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            GiveawayListResponse last = rows.get(size - 1);
+            nextCursor = CursorCodec.encode(SUBDOMAIN_LIST_CURSOR_SORT, last.getStartDate(), last.getId());
+        }
+
+        Long totalItems = null;
+        if (includeTotal) {
+            totalItems = statusFilter != null
+                ? giveawayRepository.countByHostIdAndStatus(host.getId(), statusFilter)
+                : giveawayRepository.countByHostId(host.getId());
+        }
+
+        return PaginatedResponse.ofCursor(rows, size, cursor != null && !cursor.isEmpty(), nextCursor, totalItems);
+    }
+
     /**
      * Map Giveaway entity to DetailsResponse DTO
      */
@@ -20,7 +20,6 @@ import com.sweepgoat.backend.util.JwtUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,7 +41,7 @@ public class HostAuthService {
     private HostRepository hostRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -53,6 +52,9 @@ public class HostAuthService {
     @Autowired
     private SubdomainValidationService subdomainValidationService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Register a new host (can only be done on main domain: sweepgoat.com)
      * Domain validation should be handled in controller
@@ -81,7 +83,7 @@ public class HostAuthService {
         host.setSubdomain(subdomainLowercase);
         host.setCompanyName(request.getCompanyName());
         host.setEmail(emailLowercase);
-        host.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        host.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         host.setIsActive(true);
 
         // Generate 6-digit verification code
@@ -117,7 +119,7 @@ public class HostAuthService {
             .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), host.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), host.getPasswordHash())) {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
@@ -262,6 +264,13 @@ public class HostAuthService {
             .orElseThrow(() -> new ResourceNotFoundException("Host not found"));
 
         hostRepository.delete(host);
+
+        // Drop the cached host so the subdomain stops resolving on every node
+        subdomainValidationService.invalidateSubdomainCache(host.getSubdomain());
+
+        // The host's tokens and every user token for this tenant stop working immediately
+        tokenRevocationService.revoke(TokenRevocationService.HOST, hostId);
+        tokenRevocationService.revoke(TokenRevocationService.TENANT, hostId);
     }
 
     /**
@@ -274,7 +283,7 @@ public class HostAuthService {
             .orElseThrow(() -> new ResourceNotFoundException("Host not found"));
 
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), host.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getCurrentPassword(), host.getPasswordHash())) {
             throw new InvalidCredentialsException("Current password is incorrect");
         }
 
@@ -284,9 +293,12 @@ public class HostAuthService {
         }
 
         // Update password
-        host.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        host.setPasswordHash(passwordHashingService.encode(request.getNewPassword()));
         hostRepository.save(host);
 
+        // Log out every session that used the old password
+        tokenRevocationService.revoke(TokenRevocationService.HOST, hostId);
+
         return new MessageResponse("Password changed successfully!");
     }
 
@@ -322,6 +334,9 @@ public class HostAuthService {
         // Save updated host
         host = hostRepository.save(host);
 
+        // Cached host carries branding - evict it on every node
+        subdomainValidationService.invalidateSubdomainCache(host.getSubdomain());
+
         // Return updated branding
         return new BrandingResponse(
             host.getLogoUrl(),
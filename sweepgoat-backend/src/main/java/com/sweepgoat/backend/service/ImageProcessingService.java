@@ -0,0 +1,549 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.FileUploadException;
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import com.sweepgoat.backend.util.ExifOrientation;
+import com.sweepgoat.backend.util.ImageMetadataStripper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Normalizes uploaded images before they are sent to Cloudflare
+ *
+ * Decode, apply EXIF orientation, center-crop (giveaway images), downscale to the
+ * configured maximum size and re-encode without any metadata (progressive JPEG, or
+ * PNG when the image has transparency). Images are never upscaled.
+ *
+ * Decoding runs on a small bounded pool. Before a task is queued, the image header is
+ * read and the pixel memory it will need is reserved from memory-budget-mb; large
+ * photos are decoded with source subsampling, so a 12 MP photo going to 1600x900
+ * needs a fraction of its full-size bitmap. Uploads that cannot get memory or a pool
+ * slot in time get a 503 instead of risking an OutOfMemoryError.
+ *
+ * Formats ImageIO cannot decode (WebP, CMYK JPEG) are not re-encoded; they are
+ * uploaded with their EXIF/XMP/IPTC metadata removed by ImageMetadataStripper, and
+ * rejected when their container is malformed.
+ *
+ * Metrics: image.processing.duration{type, outcome}, image.processing.bytes{stage},
+ * image.processing.bytes.saved, image.processing.rejected{reason}
+ */
+@Service
+public class ImageProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+
+    /**
+     * What the image is used for (selects size and crop)
+     */
+    public enum ImageType {
+        GIVEAWAY,
+        LOGO
+    }
+
+    /**
+     * Image to upload: either the re-encoded bytes or the original file
+     */
+    public record ProcessedImage(Resource resource, long originalBytes, long outputBytes, boolean transformed) {
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.images.processing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.processing.threads:2}")
+    private int threads;
+
+    @Value("${app.images.processing.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${app.images.processing.memory-budget-mb:256}")
+    private int memoryBudgetMb;
+
+    @Value("${app.images.processing.timeout-ms:10000}")
+    private long timeoutMs;
+
+    @Value("${app.images.processing.max-pixels:50000000}")
+    private long maxPixels;
+
+    @Value("${app.images.processing.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    @Value("${app.images.giveaway.max-width:1600}")
+    private int giveawayMaxWidth;
+
+    @Value("${app.images.giveaway.max-height:900}")
+    private int giveawayMaxHeight;
+
+    @Value("${app.images.giveaway.crop-aspect-ratio:16:9}")
+    private String giveawayCropAspectRatio;
+
+    @Value("${app.images.logo.max-width:512}")
+    private int logoMaxWidth;
+
+    @Value("${app.images.logo.max-height:512}")
+    private int logoMaxHeight;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore memoryPermits;
+    private DistributionSummary originalBytesSummary;
+    private DistributionSummary outputBytesSummary;
+    private Counter bytesSavedCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-processing-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // One permit per KiB of decoded pixel memory
+        memoryPermits = new Semaphore(memoryBudgetMb * 1024, true);
+
+        originalBytesSummary = DistributionSummary.builder("image.processing.bytes")
+            .baseUnit("bytes")
+            .tag("stage", "original")
+            .register(meterRegistry);
+        outputBytesSummary = DistributionSummary.builder("image.processing.bytes")
+            .baseUnit("bytes")
+            .tag("stage", "output")
+            .register(meterRegistry);
+        bytesSavedCounter = Counter.builder("image.processing.bytes.saved")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+
+        logger.info("Image processing pool started: {} threads, queue capacity {}, memory budget {} MB",
+            threads, queueCapacity, memoryBudgetMb);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Normalize a validated upload
+     *
+     * @throws FileUploadException if the image is too large to decode within the memory budget
+     * @throws ServiceOverloadedException if no memory or worker became available in time
+     */
+    public ProcessedImage process(MultipartFile file, ImageType type) {
+        if (!enabled) {
+            return passThrough(file);
+        }
+
+        long start = System.nanoTime();
+        Plan plan = readPlan(file, type);
+        if (plan == null) {
+            return record(type, "passthrough", start, passThrough(file));
+        }
+
+        try {
+            ProcessedImage processed = runAdmitted(plan.memoryKib(), () -> decodeAndEncode(file, plan));
+            return record(type, "processed", start, processed);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not decode {} ({}), uploading it unchanged", file.getOriginalFilename(), e.getMessage());
+            return record(type, "passthrough", start, passThrough(file));
+        }
+    }
+
+    /**
+     * Header-only read on the request thread; null when ImageIO cannot read the format
+     */
+    private Plan readPlan(MultipartFile file, ImageType type) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.getInputStream())) {
+            ImageReader reader = input != null ? firstReader(input) : null;
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(input, true, false);
+                return plan(reader, type);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Could not read image header of {} ({})", file.getOriginalFilename(), e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded image", e);
+        }
+    }
+
+    /**
+     * Everything decided from the header, before any pixels are decoded
+     */
+    private record Plan(Rectangle sourceRegion, int subsampling, int orientation,
+                        int outputWidth, int outputHeight, boolean png, long memoryKib) {
+    }
+
+    private Plan plan(ImageReader reader, ImageType type) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxPixels) {
+            throw new FileUploadException("Image dimensions too large (max " + maxPixels / 1_000_000 + " megapixels)");
+        }
+
+        boolean jpeg = "jpeg".equalsIgnoreCase(reader.getFormatName());
+        int orientation = jpeg ? readOrientation(reader.getImageMetadata(0)) : ExifOrientation.NORMAL;
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+
+        // Crop and fit in display orientation; a centered crop is the same region in stored orientation
+        int displayWidth = swap ? height : width;
+        int displayHeight = swap ? width : height;
+        int cropWidth = displayWidth;
+        int cropHeight = displayHeight;
+        double aspectRatio = type == ImageType.GIVEAWAY ? parseAspectRatio(giveawayCropAspectRatio) : 0;
+        if (aspectRatio > 0) {
+            if ((double) displayWidth / displayHeight > aspectRatio) {
+                cropWidth = Math.max(1, (int) Math.round(displayHeight * aspectRatio));
+            } else {
+                cropHeight = Math.max(1, (int) Math.round(displayWidth / aspectRatio));
+            }
+        }
+
+        int maxWidth = type == ImageType.GIVEAWAY ? giveawayMaxWidth : logoMaxWidth;
+        int maxHeight = type == ImageType.GIVEAWAY ? giveawayMaxHeight : logoMaxHeight;
+        double scale = Math.min(1.0, Math.min((double) maxWidth / cropWidth, (double) maxHeight / cropHeight));
+        int outputWidth = Math.max(1, (int) Math.round(cropWidth * scale));
+        int outputHeight = Math.max(1, (int) Math.round(cropHeight * scale));
+
+        int sourceWidth = swap ? cropHeight : cropWidth;
+        int sourceHeight = swap ? cropWidth : cropHeight;
+        Rectangle region = new Rectangle((width - sourceWidth) / 2, (height - sourceHeight) / 2, sourceWidth, sourceHeight);
+
+        // Subsample while decoding but keep at least twice the output size for the final bicubic pass
+        int subsampling = Math.max(1, (int) Math.floor(1.0 / scale / 2));
+
+        boolean png = "png".equalsIgnoreCase(reader.getFormatName());
+        long decodedPixels = (long) ceilDiv(sourceWidth, subsampling) * ceilDiv(sourceHeight, subsampling);
+        long outputPixels = (long) outputWidth * outputHeight;
+        // Decoded bitmap, resized copy and oriented copy at 4 bytes per pixel
+        long memoryKib = (decodedPixels + 2 * outputPixels) * 4 / 1024 + 1;
+
+        return new Plan(region, subsampling, orientation, outputWidth, outputHeight, png, memoryKib);
+    }
+
+    /**
+     * Runs on the pool with its own reader, so a request that timed out never disposes a reader still in use
+     */
+    private ProcessedImage decodeAndEncode(MultipartFile file, Plan plan) throws IOException {
+        BufferedImage decoded;
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.getInputStream())) {
+            ImageReader reader = input != null ? firstReader(input) : null;
+            if (reader == null) {
+                throw new IOException("No image reader available");
+            }
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(plan.sourceRegion());
+                param.setSourceSubsampling(plan.subsampling(), plan.subsampling(), 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        boolean alpha = plan.png() && decoded.getColorModel().hasAlpha();
+        boolean swap = ExifOrientation.swapsDimensions(plan.orientation());
+        BufferedImage resized = resize(decoded,
+            swap ? plan.outputHeight() : plan.outputWidth(),
+            swap ? plan.outputWidth() : plan.outputHeight(),
+            alpha);
+        BufferedImage oriented = ExifOrientation.apply(resized, plan.orientation());
+
+        byte[] bytes = alpha ? write(oriented, "png", null) : write(oriented, "jpeg", jpegQuality);
+        String filename = baseName(file.getOriginalFilename()) + (alpha ? ".png" : ".jpg");
+
+        ByteArrayResource resource = new ByteArrayResource(bytes) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+        return new ProcessedImage(resource, file.getSize(), bytes.length, true);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Encode without metadata (a null IIOMetadata writes none)
+     */
+    private static byte[] write(BufferedImage image, String format, Float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (quality != null) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface ImageTask {
+        ProcessedImage run() throws IOException;
+    }
+
+    /**
+     * Reserve memory, then run on the pool; whoever ends up owning the reservation releases it
+     */
+    private ProcessedImage runAdmitted(long memoryKib, ImageTask task) throws IOException {
+        if (memoryKib > (long) memoryBudgetMb * 1024) {
+            reject("memory");
+            throw new FileUploadException("Image too large to process");
+        }
+
+        int permits = (int) memoryKib;
+        try {
+            if (!memoryPermits.tryAcquire(permits, timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw overloaded("memory");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Image processing was interrupted", RETRY_AFTER_SECONDS);
+        }
+
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<ProcessedImage> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null; // Caller already gave up and released the memory
+                }
+                try {
+                    return task.run();
+                } finally {
+                    memoryPermits.release(permits);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            memoryPermits.release(permits);
+            throw overloaded("queue_full");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                memoryPermits.release(permits);
+            }
+            throw overloaded("timeout");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                memoryPermits.release(permits);
+            }
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Image processing was interrupted", RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Image processing failed", cause);
+        }
+    }
+
+    private ServiceOverloadedException overloaded(String reason) {
+        reject(reason);
+        return new ServiceOverloadedException(
+            "Too many image uploads are being processed right now. Please try again shortly.", RETRY_AFTER_SECONDS);
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("image.processing.rejected", "reason", reason).increment();
+    }
+
+    private ProcessedImage record(ImageType type, String outcome, long startNanos, ProcessedImage image) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        Timer.builder("image.processing.duration")
+            .tag("type", type.name().toLowerCase(Locale.ROOT))
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        originalBytesSummary.record(image.originalBytes());
+        outputBytesSummary.record(image.outputBytes());
+        if (image.outputBytes() < image.originalBytes()) {
+            bytesSavedCounter.increment(image.originalBytes() - image.outputBytes());
+        }
+
+        if (image.transformed()) {
+            logger.info("Processed {} image: {} -> {} bytes in {}ms",
+                type.name().toLowerCase(Locale.ROOT), image.originalBytes(), image.outputBytes(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+        return image;
+    }
+
+    /**
+     * The original encoding with its metadata removed
+     */
+    private static ProcessedImage passThrough(MultipartFile file) {
+        byte[] original;
+        try {
+            original = file.getBytes();
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded image", e);
+        }
+
+        byte[] stripped;
+        try {
+            stripped = ImageMetadataStripper.strip(original);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejecting {}: {}", file.getOriginalFilename(), e.getMessage());
+            throw new FileUploadException("Invalid or corrupted image file");
+        }
+        if (stripped == original) {
+            return new ProcessedImage(file.getResource(), file.getSize(), file.getSize(), false);
+        }
+
+        String filename = file.getOriginalFilename();
+        ByteArrayResource resource = new ByteArrayResource(stripped) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+        return new ProcessedImage(resource, file.getSize(), stripped.length, false);
+    }
+
+    private static ImageReader firstReader(ImageInputStream input) {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    /**
+     * Orientation from the EXIF APP1 segment in the JPEG native metadata tree
+     */
+    private static int readOrientation(IIOMetadata metadata) {
+        if (metadata == null) {
+            return ExifOrientation.NORMAL;
+        }
+        Node root = metadata.getAsTree(JPEG_METADATA_FORMAT);
+        for (Node section = root.getFirstChild(); section != null; section = section.getNextSibling()) {
+            if (!"markerSequence".equals(section.getNodeName())) {
+                continue;
+            }
+            for (Node marker = section.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                NamedNodeMap attributes = marker.getAttributes();
+                Node tag = attributes != null ? attributes.getNamedItem("MarkerTag") : null;
+                if ("unknown".equals(marker.getNodeName()) && tag != null
+                        && Integer.parseInt(tag.getNodeValue()) == APP1_MARKER
+                        && marker instanceof IIOMetadataNode node
+                        && node.getUserObject() instanceof byte[] data) {
+                    int orientation = ExifOrientation.parse(data);
+                    if (orientation != ExifOrientation.NORMAL) {
+                        return orientation;
+                    }
+                }
+            }
+        }
+        return ExifOrientation.NORMAL;
+    }
+
+    static double parseAspectRatio(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        String[] parts = value.trim().split(":");
+        if (parts.length != 2) {
+            throw new IllegalStateException("Invalid crop aspect ratio: " + value);
+        }
+        return Double.parseDouble(parts[0]) / Double.parseDouble(parts[1]);
+    }
+
+    private static String baseName(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "image";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
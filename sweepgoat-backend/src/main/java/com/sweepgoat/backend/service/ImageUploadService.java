@@ -1,19 +1,44 @@
 package com.sweepgoat.backend.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sweepgoat.backend.exception.FileUploadException;
+import com.sweepgoat.backend.model.ImageUpload;
+import com.sweepgoat.backend.repository.ImageUploadRepository;
+import com.sweepgoat.backend.service.ImageProcessingService.ImageType;
+import com.sweepgoat.backend.service.ImageProcessingService.ProcessedImage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class ImageUploadService {
@@ -28,102 +53,262 @@ public class ImageUploadService {
         "image/webp"
     );
 
+    private static final String UPLOAD_PATH = "/accounts/{accountId}/images/v1";
+
+    /**
+     * Cloudflare Images API envelope (only the fields we read)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CloudflareResponse(boolean success, CloudflareImage result, List<CloudflareMessage> errors) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CloudflareImage(String id, List<String> variants) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CloudflareMessage(Integer code, String message) {
+    }
+
+    /**
+     * Same host, same image type, same uploaded bytes
+     */
+    private record ContentKey(Long hostId, String imageType, String contentHash) {
+    }
+
+    /**
+     * Failure where Cloudflare did not create the image - safe to send the POST again
+     */
+    private static class RetryableUploadException extends RuntimeException {
+        RetryableUploadException(String message) {
+            super(message);
+        }
+
+        RetryableUploadException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    @Autowired
+    private RestClient cloudflareRestClient;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private ImageUploadRepository imageUploadRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${cloudflare.account.id}")
     private String cloudflareAccountId;
 
-    @Value("${cloudflare.api.token}")
-    private String cloudflareApiToken;
+    @Value("${cloudflare.client.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${cloudflare.client.initial-backoff-ms:200}")
+    private long initialBackoffMs;
+
+    @Value("${app.images.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${app.images.dedup.cache-size:10000}")
+    private long dedupCacheSize;
+
+    private Cache<ContentKey, String> uploadedImages;
+
+    @PostConstruct
+    public void init() {
+        uploadedImages = Caffeine.newBuilder()
+            .maximumSize(dedupCacheSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, uploadedImages, "image.uploads");
+    }
 
     /**
      * Upload image to Cloudflare Images
      *
+     * If the host already uploaded the same bytes for the same type, the stored URL is
+     * returned without processing or calling Cloudflare (SHA-256 of the file, looked up
+     * in a local cache and then the image_uploads table).
+     *
+     * Otherwise the image is normalized by ImageProcessingService (orientation, crop,
+     * downscale, metadata stripped). The multipart body is streamed on the shared pooled
+     * client. The upload POST is not idempotent, so it is only retried (up to max-attempts,
+     * exponential backoff with jitter, body re-read from the start) when Cloudflare cannot
+     * have created the image: the connection was never established, or the API answered
+     * 429/503. Read timeouts and other 5xx fail right away, since retrying them could
+     * store the same image twice.
+     *
      * @param file The image file to upload
+     * @param type What the image is used for (selects size and crop)
+     * @param hostId The uploading host
      * @return The public URL of the uploaded image
      * @throws FileUploadException if validation fails or upload fails
      */
-    public String uploadImage(MultipartFile file) {
-        // Validate file
-        validateFile(file);
+    public String uploadImage(MultipartFile file, ImageType type, Long hostId) {
+        // Validate file and hash its content in the same pass
+        String contentHash = validateFile(file);
+
+        ContentKey key = new ContentKey(hostId, type.name().toLowerCase(Locale.ROOT), contentHash);
+        String existingUrl = findUploaded(key);
+        if (existingUrl != null) {
+            logger.info("Image content already uploaded by host {}, reusing {}", hostId, existingUrl);
+            return existingUrl;
+        }
+
+        ProcessedImage image = imageProcessingService.process(file, type);
+        CloudflareResponse response = sendWithRetry(image.resource());
+
+        if (response.success() && response.result() != null
+                && response.result().variants() != null && !response.result().variants().isEmpty()) {
+            // Find the "public" variant, or fall back to the first one
+            List<String> variants = response.result().variants();
+            String imageUrl = variants.stream()
+                .filter(url -> url.endsWith("/public"))
+                .findFirst()
+                .orElse(variants.get(0));
+
+            logger.info("Successfully uploaded image to Cloudflare: {}", imageUrl);
+            rememberUpload(key, imageUrl, file.getSize());
+            return imageUrl;
+        }
+
+        String errorMessage = response.errors() != null && !response.errors().isEmpty()
+            ? response.errors().get(0).message()
+            : "Unknown error";
+
+        logger.error("Cloudflare API error: {}", errorMessage);
+        throw new FileUploadException("Failed to upload image: " + errorMessage);
+    }
+
+    private String findUploaded(ContentKey key) {
+        if (!dedupEnabled || key.hostId() == null) {
+            return null;
+        }
+
+        String cached = uploadedImages.getIfPresent(key);
+        if (cached != null) {
+            meterRegistry.counter("image.upload.deduplicated", "source", "cache").increment();
+            return cached;
+        }
+
+        String stored = imageUploadRepository
+            .findByHostIdAndImageTypeAndContentHash(key.hostId(), key.imageType(), key.contentHash())
+            .map(ImageUpload::getImageUrl)
+            .orElse(null);
+        if (stored != null) {
+            uploadedImages.put(key, stored);
+            meterRegistry.counter("image.upload.deduplicated", "source", "database").increment();
+        }
+        return stored;
+    }
+
+    private void rememberUpload(ContentKey key, String imageUrl, long sizeBytes) {
+        if (!dedupEnabled || key.hostId() == null) {
+            return;
+        }
 
         try {
-            // Prepare Cloudflare Images API request
-            String uploadUrl = String.format(
-                "https://api.cloudflare.com/client/v4/accounts/%s/images/v1",
-                cloudflareAccountId
-            );
-
-            // Create multipart request
-            RestTemplate restTemplate = new RestTemplate();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            headers.setBearerAuth(cloudflareApiToken);
-
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", file.getResource());
-
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            // Send request to Cloudflare
-            ResponseEntity<Map> response = restTemplate.exchange(
-                uploadUrl,
-                HttpMethod.POST,
-                requestEntity,
-                Map.class
-            );
-
-            // Parse response
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-
-                // Check if upload was successful
-                Boolean success = (Boolean) responseBody.get("success");
-                if (Boolean.TRUE.equals(success)) {
-                    // Extract image URL from response
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> result = (Map<String, Object>) responseBody.get("result");
-
-                    // Cloudflare returns variants as an array of URLs
-                    @SuppressWarnings("unchecked")
-                    List<String> variants = (List<String>) result.get("variants");
-
-                    // Find the "public" variant, or fall back to the first one
-                    if (variants != null && !variants.isEmpty()) {
-                        String imageUrl = variants.stream()
-                            .filter(url -> url.endsWith("/public"))
-                            .findFirst()
-                            .orElse(variants.get(0));
-
-                        logger.info("Successfully uploaded image to Cloudflare: {}", imageUrl);
-                        return imageUrl;
-                    }
-                }
+            imageUploadRepository.save(new ImageUpload(null, key.hostId(), key.imageType(),
+                key.contentHash(), imageUrl, sizeBytes, null));
+            uploadedImages.put(key, imageUrl);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload of the same content got there first; both URLs work
+            logger.debug("Image content {} already recorded for host {}", key.contentHash(), key.hostId());
+        }
+    }
 
-                // If we get here, the upload failed
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> errors = (List<Map<String, Object>>) responseBody.get("errors");
-                String errorMessage = errors != null && !errors.isEmpty()
-                    ? (String) errors.get(0).get("message")
-                    : "Unknown error";
+    private CloudflareResponse sendWithRetry(Resource image) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return send(image);
+            } catch (RetryableUploadException e) {
+                if (attempt >= maxAttempts) {
+                    logger.error("Error uploading image to Cloudflare after {} attempts: {}", attempt, e.getMessage());
+                    throw new FileUploadException("Failed to upload image: " + e.getMessage(), e);
+                }
 
-                logger.error("Cloudflare API error: {}", errorMessage);
-                throw new FileUploadException("Failed to upload image: " + errorMessage);
+                long backoffMs = backoff(attempt);
+                logger.warn("Cloudflare upload attempt {} failed ({}), retrying in {}ms", attempt, e.getMessage(), backoffMs);
+                sleep(backoffMs);
             }
+        }
+    }
+
+    private CloudflareResponse send(Resource image) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", image);
 
-            throw new FileUploadException("Failed to upload image to Cloudflare");
+        try {
+            return cloudflareRestClient.post()
+                .uri(UPLOAD_PATH, cloudflareAccountId)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(body)
+                .exchange((request, response) -> {
+                    HttpStatusCode status = response.getStatusCode();
+                    if (status.value() == 429 || status.value() == 503) {
+                        throw new RetryableUploadException("Cloudflare returned " + status.value());
+                    }
 
-        } catch (FileUploadException e) {
-            throw e;
-        } catch (Exception e) {
+                    CloudflareResponse parsed = response.bodyTo(CloudflareResponse.class);
+                    if (parsed == null) {
+                        throw new FileUploadException("Failed to upload image to Cloudflare (HTTP " + status.value() + ")");
+                    }
+                    return parsed;
+                });
+        } catch (ResourceAccessException e) {
+            if (isConnectFailure(e)) {
+                throw new RetryableUploadException(e.getMessage(), e);
+            }
+            logger.error("Error uploading image to Cloudflare: {}", e.getMessage(), e);
+            throw new FileUploadException("Failed to upload image: " + e.getMessage(), e);
+        } catch (RestClientException e) {
             logger.error("Error uploading image to Cloudflare: {}", e.getMessage(), e);
             throw new FileUploadException("Failed to upload image: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * The request never reached Cloudflare (refused, unresolvable host, connect timeout)
+     */
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException
+                    || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * initial-backoff-ms doubled per attempt, with +/-50% jitter so retries from
+     * concurrent uploads do not arrive together
+     */
+    private long backoff(int attempt) {
+        long base = initialBackoffMs << (attempt - 1);
+        return base / 2 + ThreadLocalRandom.current().nextLong(base + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileUploadException("Image upload interrupted", e);
+        }
+    }
+
     /**
      * Validate uploaded file
-     * Checks file size and content type
+     * Checks file size and content type, then reads it once to compute its SHA-256
+     *
+     * @return Lower-case hex SHA-256 of the file content
      */
-    private void validateFile(MultipartFile file) {
+    private String validateFile(MultipartFile file) {
         // Check if file is empty
         if (file == null || file.isEmpty()) {
             throw new FileUploadException("No file provided");
@@ -140,7 +325,25 @@ public class ImageUploadService {
             throw new FileUploadException("Invalid file type. Only JPEG, PNG, and WebP images are allowed");
         }
 
+        String contentHash = sha256(file);
+
         logger.info("File validation passed: {} ({} bytes, {})",
             file.getOriginalFilename(), file.getSize(), contentType);
+        return contentHash;
+    }
+
+    private static String sha256(MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded file", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
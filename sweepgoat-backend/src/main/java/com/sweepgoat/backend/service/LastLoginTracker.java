@@ -0,0 +1,105 @@
+package com.sweepgoat.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind tracker for users.last_login_at
+ *
+ * Logins only record the timestamp in memory; a scheduled flush writes all pending
+ * timestamps in one UPDATE ... FROM (VALUES ...) per batch. Repeated logins by the
+ * same user between flushes collapse into a single row update.
+ *
+ * last_login_at is at most flush-interval-ms stale (plus any timestamps lost if the
+ * process is killed without a graceful shutdown).
+ */
+@Service
+public class LastLoginTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginTracker.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.last-login.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record a login; only the latest timestamp per user is kept
+     */
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (existing, incoming) -> incoming.isAfter(existing) ? incoming : existing);
+    }
+
+    /**
+     * Flush pending timestamps to the database
+     * Runs every app.last-login.flush-interval-ms (default 5 seconds)
+     */
+    @Scheduled(fixedDelayString = "${app.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Take a snapshot; remove(key, value) keeps any newer login recorded meanwhile
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        for (int start = 0; start < drained.size(); start += batchSize) {
+            List<Map.Entry<Long, LocalDateTime>> batch = drained.subList(start, Math.min(start + batchSize, drained.size()));
+            try {
+                writeBatch(batch);
+            } catch (Exception e) {
+                // Put the batch back so the next flush retries it
+                logger.error("Failed to flush {} last-login timestamps, will retry: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> recordLogin(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        logger.debug("Flushed {} last-login timestamps", drained.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<Map.Entry<Long, LocalDateTime>> batch) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET last_login_at = v.ts FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?::bigint, ?::timestamp)");
+            args[i * 2] = batch.get(i).getKey();
+            args[i * 2 + 1] = Timestamp.valueOf(batch.get(i).getValue());
+        }
+
+        // Never move last_login_at backwards (another node may have flushed a newer login)
+        sql.append(") AS v(id, ts) WHERE users.id = v.id")
+            .append(" AND (users.last_login_at IS NULL OR users.last_login_at < v.ts)");
+
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
@@ -0,0 +1,244 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.TooManyRequestsException;
+import com.sweepgoat.backend.util.LogRateLimiter;
+import com.sweepgoat.backend.util.SlidingWindowSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory throttling for login and email verification endpoints
+ *
+ * Two independent limits per endpoint, both checked before any DB or BCrypt work:
+ * - per client IP (checked by LoginThrottleFilter before the request body is read)
+ * - per account, keyed by (subdomain, email) (checked by the auth controllers)
+ *
+ * Counters live in fixed-size SlidingWindowSketch instances, so memory stays bounded
+ * no matter how many distinct IPs or emails an attacker cycles through. Retry-After
+ * is the time until the counter has decayed enough for the next attempt to pass.
+ * Emails are never logged; throttled accounts are logged as subdomain plus a short
+ * SHA-256 fingerprint of the account key.
+ *
+ * Limits are configured per endpoint:
+ *   app.throttle.{endpoint}.window-seconds
+ *   app.throttle.{endpoint}.per-ip
+ *   app.throttle.{endpoint}.per-account
+ *
+ * Metrics: auth.throttle.requests{endpoint, dimension, outcome}
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    // Every rejected attempt would otherwise log a line; during an attack that is the attack's rate
+    private static final LogRateLimiter throttledLog = new LogRateLimiter(20, Duration.ofMinutes(1));
+
+    /**
+     * Throttled endpoints with their default limits
+     */
+    public enum Endpoint {
+        USER_LOGIN("user-login", "/api/auth/user/login", 300, 100, 10),
+        USER_VERIFY_EMAIL("user-verify-email", "/api/auth/user/verify-email", 600, 50, 10),
+        USER_RESEND_VERIFICATION("user-resend-verification", "/api/auth/user/resend-verification", 3600, 20, 5),
+        HOST_LOGIN("host-login", "/api/auth/host/login", 300, 100, 10),
+        HOST_VERIFY_EMAIL("host-verify-email", "/api/auth/host/verify-email", 600, 50, 10),
+        HOST_RESEND_VERIFICATION("host-resend-verification", "/api/auth/host/resend-verification", 3600, 20, 5);
+
+        private final String propertyKey;
+        private final String path;
+        private final int defaultWindowSeconds;
+        private final int defaultPerIp;
+        private final int defaultPerAccount;
+
+        Endpoint(String propertyKey, String path, int defaultWindowSeconds, int defaultPerIp, int defaultPerAccount) {
+            this.propertyKey = propertyKey;
+            this.path = path;
+            this.defaultWindowSeconds = defaultWindowSeconds;
+            this.defaultPerIp = defaultPerIp;
+            this.defaultPerAccount = defaultPerAccount;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Find the throttled endpoint for a request path, or null if not throttled
+         */
+        public static Endpoint forPath(String path) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.path.equals(path)) {
+                    return endpoint;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Limits and counters for one endpoint
+     */
+    private static class Limiter {
+        private final SlidingWindowSketch ipSketch;
+        private final SlidingWindowSketch accountSketch;
+        private final int perIp;
+        private final int perAccount;
+        private final Counter ipAllowed;
+        private final Counter ipRejected;
+        private final Counter accountAllowed;
+        private final Counter accountRejected;
+
+        private Limiter(SlidingWindowSketch ipSketch, SlidingWindowSketch accountSketch,
+                        int perIp, int perAccount,
+                        Counter ipAllowed, Counter ipRejected,
+                        Counter accountAllowed, Counter accountRejected) {
+            this.ipSketch = ipSketch;
+            this.accountSketch = accountSketch;
+            this.perIp = perIp;
+            this.perAccount = perAccount;
+            this.ipAllowed = ipAllowed;
+            this.ipRejected = ipRejected;
+            this.accountAllowed = accountAllowed;
+            this.accountRejected = accountRejected;
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.throttle.sketch.depth:3}")
+    private int sketchDepth;
+
+    @Value("${app.throttle.sketch.width:4096}")
+    private int sketchWidth;
+
+    private final Map<Endpoint, Limiter> limiters = new EnumMap<>(Endpoint.class);
+
+    @PostConstruct
+    public void init() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            String prefix = "app.throttle." + endpoint.propertyKey + ".";
+            int windowSeconds = environment.getProperty(prefix + "window-seconds", Integer.class, endpoint.defaultWindowSeconds);
+            int perIp = environment.getProperty(prefix + "per-ip", Integer.class, endpoint.defaultPerIp);
+            int perAccount = environment.getProperty(prefix + "per-account", Integer.class, endpoint.defaultPerAccount);
+            long windowMillis = windowSeconds * 1000L;
+
+            limiters.put(endpoint, new Limiter(
+                new SlidingWindowSketch(sketchDepth, sketchWidth, windowMillis),
+                new SlidingWindowSketch(sketchDepth, sketchWidth, windowMillis),
+                perIp,
+                perAccount,
+                counter(endpoint, "ip", "allowed"),
+                counter(endpoint, "ip", "rejected"),
+                counter(endpoint, "account", "allowed"),
+                counter(endpoint, "account", "rejected")
+            ));
+
+            logger.info("Throttle {}: {} per IP, {} per account every {}s",
+                endpoint.propertyKey, perIp, perAccount, windowSeconds);
+        }
+    }
+
+    /**
+     * Count a request from a client IP, throwing if the IP is over its limit
+     */
+    public void checkIp(Endpoint endpoint, String clientIp) {
+        if (!enabled || clientIp == null) {
+            return;
+        }
+
+        Limiter limiter = limiters.get(endpoint);
+        long now = System.currentTimeMillis();
+        double hits = limiter.ipSketch.incrementAndEstimate(clientIp, now);
+
+        if (hits > limiter.perIp) {
+            limiter.ipRejected.increment();
+            long suppressed = throttledLog.tryAcquire();
+            if (suppressed >= 0) {
+                logger.warn("Throttled {} from IP {} (~{} requests in window, {} similar messages suppressed)",
+                    endpoint.propertyKey, clientIp, (long) hits, suppressed);
+            }
+            throw new TooManyRequestsException("Too many requests. Please try again later.",
+                retryAfterSeconds(limiter.ipSketch, clientIp, limiter.perIp, now));
+        }
+        limiter.ipAllowed.increment();
+    }
+
+    /**
+     * Count a request for an account, throwing if the account is over its limit
+     * Subdomain may be null for host endpoints used from the main domain
+     */
+    public void checkAccount(Endpoint endpoint, String subdomain, String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+
+        Limiter limiter = limiters.get(endpoint);
+        String key = (subdomain != null ? subdomain.toLowerCase(Locale.ROOT) : "") + "|" + email.trim().toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        double hits = limiter.accountSketch.incrementAndEstimate(key, now);
+
+        if (hits > limiter.perAccount) {
+            limiter.accountRejected.increment();
+            long suppressed = throttledLog.tryAcquire();
+            if (suppressed >= 0) {
+                logger.warn("Throttled {} for account {} on subdomain {} (~{} requests in window, {} similar messages suppressed)",
+                    endpoint.propertyKey, fingerprint(key), subdomain, (long) hits, suppressed);
+            }
+            throw new TooManyRequestsException("Too many attempts for this account. Please try again later.",
+                retryAfterSeconds(limiter.accountSketch, key, limiter.perAccount, now));
+        }
+        limiter.accountAllowed.increment();
+    }
+
+    /**
+     * Seconds until one more request would be under the limit (the rejected ones count too)
+     */
+    static long retryAfterSeconds(SlidingWindowSketch sketch, String key, int limit, long now) {
+        long millis = sketch.millisUntilAtMost(key, limit - 1, now);
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Short, stable identifier for an account key that does not put the email in the logs
+     */
+    static String fingerprint(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Counter counter(Endpoint endpoint, String dimension, String outcome) {
+        return Counter.builder("auth.throttle.requests")
+            .tag("endpoint", endpoint.propertyKey)
+            .tag("dimension", dimension)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -16,13 +16,16 @@ import com.sweepgoat.backend.repository.CampaignLogRepository;
 import com.sweepgoat.backend.repository.CampaignRepository;
 import com.sweepgoat.backend.repository.HostRepository;
 import com.sweepgoat.backend.repository.UserRepository;
+import com.sweepgoat.backend.util.LogRateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +36,9 @@ public class MarketingCampaignService {
 
     private static final Logger logger = LoggerFactory.getLogger(MarketingCampaignService.class);
 
+    // A bad template or provider outage fails every recipient; log a sample, not one line each
+    private static final LogRateLimiter sendFailureLog = new LogRateLimiter(10, Duration.ofMinutes(1));
+
     @Autowired
     private CampaignRepository campaignRepository;
 
@@ -102,12 +108,22 @@ public class MarketingCampaignService {
         int successCount = 0;
         int failCount = 0;
 
+        // Full user entities for every recipient in one query instead of one findById each
+        Map<Long, User> usersById = userRepository.findAllById(
+                userListResponses.stream().map(UserListResponse::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(User::getId, user -> user));
+
+        // Logs are saved together so Hibernate can send them as JDBC batches
+        List<CampaignLog> logs = new ArrayList<>(userListResponses.size());
+
         // Send to each user
         for (UserListResponse userResponse : userListResponses) {
             try {
-                // Get full user entity for campaign log
-                User user = userRepository.findById(userResponse.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+                User user = usersById.get(userResponse.getId());
+                if (user == null) {
+                    throw new ResourceNotFoundException("User not found");
+                }
 
                 // Replace template variables in subject and message
                 String personalizedSubject = replaceVariables(request.getSubject(), user, host);
@@ -123,16 +139,23 @@ public class MarketingCampaignService {
                 log.setType("EMAIL");
                 log.setStatus("SENT");
                 log.setSentAt(LocalDateTime.now());
-                campaignLogRepository.save(log);
+                logs.add(log);
 
                 successCount++;
 
             } catch (Exception e) {
-                logger.error("Failed to send campaign to user {}: {}", userResponse.getEmail(), e.getMessage());
+                long suppressed = sendFailureLog.tryAcquire();
+                if (suppressed >= 0) {
+                    logger.error("Failed to send campaign {} to user {}: {} ({} similar failures suppressed)",
+                        campaign.getId(), userResponse.getId(), e.getMessage(), suppressed);
+                }
                 failCount++;
             }
         }
 
+        campaignLogRepository.saveAll(logs);
+        logger.info("Campaign {} for host {} sent: {} succeeded, {} failed", campaign.getId(), hostId, successCount, failCount);
+
         // Update campaign with final stats
         campaign.setTotalSent(successCount);
         campaign.setTotalFailed(failCount);
@@ -175,11 +198,9 @@ public class MarketingCampaignService {
      * Easy to swap with SendGrid/AWS SES later
      */
     private void sendEmail(String to, String subject, String body) {
-        logger.info("=== MARKETING EMAIL ===");
-        logger.info("To: {}", to);
-        logger.info("Subject: {}", subject);
-        logger.info("Body: {}", body);
-        logger.info("=======================");
+        // One DEBUG event per recipient; sendCampaign logs a single INFO summary
+        logger.debug("Marketing email to {} - subject: {}", to, subject);
+        logger.trace("Marketing email body for {}:\n{}", to, body);
     }
 
     /**
@@ -221,27 +242,16 @@ public class MarketingCampaignService {
      * Get all campaigns for a host (HOST auth required)
      * Returns campaigns sorted by sentAt desc (most recent first)
      */
+    @Transactional(readOnly = true)
     public List<CampaignListResponse> getAllCampaigns(Long hostId) {
-        // Get all campaigns for this host
-        List<Campaign> campaigns = campaignRepository.findByHostId(hostId);
-
-        // Map to response DTOs and sort by sentAt desc
-        return campaigns.stream()
-            .map(this::mapToListResponse)
-            .sorted((c1, c2) -> {
-                // Sort by sentAt descending (most recent first)
-                // Handle null sentAt (drafts)
-                if (c1.getSentAt() == null && c2.getSentAt() == null) return 0;
-                if (c1.getSentAt() == null) return 1; // nulls last
-                if (c2.getSentAt() == null) return -1; // nulls last
-                return c2.getSentAt().compareTo(c1.getSentAt()); // desc
-            })
-            .collect(Collectors.toList());
+        // Projected and sorted in the query (sentAt desc, drafts last)
+        return campaignRepository.findListByHostId(hostId);
     }
 
     /**
      * Get campaign details with recipients (HOST auth required)
      */
+    @Transactional(readOnly = true)
     public CampaignDetailResponse getCampaignDetails(Long campaignId, Long hostId) {
         // Get campaign and verify it belongs to this host
         Campaign campaign = campaignRepository.findByIdAndHostId(campaignId, hostId)
@@ -273,24 +283,6 @@ public class MarketingCampaignService {
         );
     }
 
-    /**
-     * Map Campaign entity to CampaignListResponse DTO
-     */
-    private CampaignListResponse mapToListResponse(Campaign campaign) {
-        return new CampaignListResponse(
-            campaign.getId(),
-            campaign.getName(),
-            campaign.getType(),
-            campaign.getSubject(),
-            campaign.getStatus(),
-            campaign.getTotalRecipients(),
-            campaign.getTotalSent(),
-            campaign.getTotalFailed(),
-            campaign.getSentAt(),
-            campaign.getCreatedAt()
-        );
-    }
-
     /**
      * Map CampaignLog entity to CampaignRecipientResponse DTO
      */
@@ -0,0 +1,86 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.BadRequestException;
+import com.sweepgoat.backend.exception.DuplicateResourceException;
+import com.sweepgoat.backend.exception.GiveawayEntryException;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import com.sweepgoat.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Outcome-tagged timers for hot business operations (entry claims, winner draws, campaign sends)
+ *
+ * - Every call is recorded under the given name with an "outcome" tag:
+ *   success, not_found, rejected (business rule / validation), throttled or error
+ * - Exceptions are recorded and rethrown unchanged
+ * - Timers publish a percentile histogram so p95/p99 can be computed in Prometheus
+ */
+@Component
+public class OperationMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_NOT_FOUND = "not_found";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_THROTTLED = "throttled";
+    public static final String OUTCOME_ERROR = "error";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Run an operation and record its duration and outcome
+     *
+     * @param name Meter name, e.g. "giveaway.entry.claims"
+     * @param operation The work to time
+     * @param tags Extra tag key/value pairs
+     */
+    public <T> T record(String name, Supplier<T> operation, String... tags) {
+        long start = System.nanoTime();
+        try {
+            T result = operation.get();
+            timer(name, OUTCOME_SUCCESS, tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            timer(name, outcomeOf(e), tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Get (or register) the timer for a name/outcome pair
+     * Used directly by filters that decide the outcome themselves
+     */
+    public Timer timer(String name, String outcome, String... tags) {
+        return Timer.builder(name)
+            .tags(Tags.of(tags).and("outcome", outcome))
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * Map an exception to a low-cardinality outcome tag
+     */
+    static String outcomeOf(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return OUTCOME_NOT_FOUND;
+        }
+        if (e instanceof GiveawayEntryException
+                || e instanceof BadRequestException
+                || e instanceof DuplicateResourceException
+                || e instanceof IllegalArgumentException) {
+            return OUTCOME_REJECTED;
+        }
+        if (e instanceof ServiceOverloadedException || e instanceof TooManyRequestsException) {
+            return OUTCOME_THROTTLED;
+        }
+        return OUTCOME_ERROR;
+    }
+}
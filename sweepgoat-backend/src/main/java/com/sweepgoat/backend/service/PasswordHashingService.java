@@ -0,0 +1,164 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a dedicated, bounded pool instead of Tomcat request threads
+ *
+ * - A login storm can only occupy this pool, so other endpoints keep their threads
+ * - The queue is bounded: when it is full the request is rejected immediately (503)
+ * - Callers wait at most timeout-ms; a task still queued at that point is cancelled
+ *   so no CPU is spent on a hash nobody is waiting for
+ *
+ * Metrics: auth.password.hashing.queue.depth, .active, .wait, .duration, .rejected
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.password-hashing.threads:0}")
+    private int threads; // 0 = number of available processors
+
+    @Value("${app.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.password-hashing.timeout-ms:2000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Timer waitTimer;
+    private Counter queueFullCounter;
+    private Counter timeoutCounter;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        encodeTimer = Timer.builder("auth.password.hashing.duration")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+        matchesTimer = Timer.builder("auth.password.hashing.duration")
+            .tag("operation", "matches")
+            .register(meterRegistry);
+        waitTimer = Timer.builder("auth.password.hashing.wait")
+            .description("Time spent queued before a hashing thread picked the task up")
+            .register(meterRegistry);
+        queueFullCounter = Counter.builder("auth.password.hashing.rejected")
+            .tag("reason", "queue_full")
+            .register(meterRegistry);
+        timeoutCounter = Counter.builder("auth.password.hashing.rejected")
+            .tag("reason", "timeout")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+            .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .register(meterRegistry);
+
+        logger.info("Password hashing pool started: {} threads, queue capacity {}, timeout {}ms",
+            poolSize, queueCapacity, timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hash a raw password on the hashing pool
+     */
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    /**
+     * Check a raw password against a stored hash on the hashing pool
+     */
+    public boolean matches(String rawPassword, String passwordHash) {
+        return execute(() -> passwordEncoder.matches(rawPassword, passwordHash), matchesTimer);
+    }
+
+    private <T> T execute(Callable<T> task, Timer durationTimer) {
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            throw new ServiceOverloadedException(
+                "Too many authentication requests right now. Please try again shortly.", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Cancelled tasks still in the queue are skipped when dequeued
+            future.cancel(true);
+            timeoutCounter.increment();
+            throw new ServiceOverloadedException(
+                "Authentication is taking too long right now. Please try again shortly.", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Authentication was interrupted", RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.sweepgoat.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweepgoat.backend.model.Giveaway;
+import com.sweepgoat.backend.model.Host;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host version of the public giveaway pages, used as ETag/Last-Modified
+ *
+ * - The version is an epoch-millis timestamp kept in public_content_versions (V10
+ *   migration); it only moves forward when something on the public pages changes, so
+ *   an unchanged version means the public list and detail responses are unchanged
+ * - Host and Giveaway writers call recordChange inside their transaction: the row is
+ *   upserted there and every node merges the new version after commit (locally via a
+ *   transaction callback, remotely via CacheInvalidationBus), so a 304 is never served
+ *   for content that was rolled back
+ * - New entries only move the entry counts. They are marked locally and published once
+ *   per host every entry-flush-ms, so a busy giveaway does not send a NOTIFY or change
+ *   the ETag on every entry
+ *
+ * ttl-seconds is a safety net for deployments without the invalidation bus.
+ */
+@Service
+public class PublicContentVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicContentVersionService.class);
+
+    static final String TOPIC = "public-content";
+
+    private static final String VERSION_QUERY = "SELECT version FROM public_content_versions WHERE host_id = ?";
+
+    // Inserts nothing once the host is gone (deleted in the same transaction)
+    private static final String UPSERT_VERSION =
+        "INSERT INTO public_content_versions (host_id, version) SELECT id, ? FROM hosts WHERE id = ? " +
+        "ON CONFLICT (host_id) DO UPDATE SET version = GREATEST(public_content_versions.version, EXCLUDED.version)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.http-cache.versions.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.http-cache.versions.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Long, Long> versions;
+
+    // Hosts with entries committed since the last flush
+    private final Set<Long> hostsWithNewEntries = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        versions = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .build();
+
+        cacheInvalidationBus.subscribe(TOPIC, this::onMessage);
+    }
+
+    /**
+     * Current version of a host's public giveaway content
+     */
+    public long getVersion(Long hostId) {
+        return versions.get(hostId, this::loadVersion);
+    }
+
+    /**
+     * Called by the entity listener after a Host or Giveaway row changes
+     * (Host updates only when publicStateChanged)
+     */
+    public void recordChange(Object entity) {
+        if (entity instanceof Host host && host.getId() != null) {
+            recordChange(host.getId());
+        } else if (entity instanceof Giveaway giveaway && giveaway.getHost() != null) {
+            recordChange(giveaway.getHost().getId());
+        }
+    }
+
+    /**
+     * Move a host's version forward once the current transaction commits
+     */
+    public void recordChange(Long hostId) {
+        long version = System.currentTimeMillis();
+        jdbcTemplate.update(UPSERT_VERSION, version, hostId);
+        cacheInvalidationBus.publishEvict(TOPIC, hostId + ":" + version);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    merge(hostId, version);
+                }
+            });
+        } else {
+            merge(hostId, version);
+        }
+    }
+
+    /**
+     * A new entry was saved for one of the host's giveaways; published with the next flush
+     */
+    public void recordEntryAdded(Long hostId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hostsWithNewEntries.add(hostId);
+                }
+            });
+        } else {
+            hostsWithNewEntries.add(hostId);
+        }
+    }
+
+    /**
+     * Move the version of every host with new entries forward, one write and NOTIFY per host
+     * Runs every app.http-cache.versions.entry-flush-ms (default 5 seconds)
+     */
+    @Scheduled(fixedDelayString = "${app.http-cache.versions.entry-flush-ms:5000}")
+    public void flushEntryChanges() {
+        for (Long hostId : List.copyOf(hostsWithNewEntries)) {
+            hostsWithNewEntries.remove(hostId);
+            try {
+                recordChange(hostId);
+            } catch (Exception e) {
+                // Keep it for the next flush
+                logger.warn("Failed to publish entry changes for host {}, will retry: {}", hostId, e.getMessage());
+                hostsWithNewEntries.add(hostId);
+            }
+        }
+    }
+
+    void onMessage(String key) {
+        if (key == null) {
+            versions.invalidateAll();
+            return;
+        }
+
+        int separator = key.indexOf(':');
+        if (separator > 0) {
+            merge(Long.valueOf(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1)));
+        }
+    }
+
+    void merge(Long hostId, long version) {
+        versions.asMap().merge(hostId, version, Math::max);
+    }
+
+    private long loadVersion(Long hostId) {
+        List<Long> stored = jdbcTemplate.queryForList(VERSION_QUERY, Long.class, hostId);
+        return stored.isEmpty() ? 0L : stored.get(0);
+    }
+}
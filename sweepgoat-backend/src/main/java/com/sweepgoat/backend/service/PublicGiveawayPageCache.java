@@ -0,0 +1,265 @@
+package com.sweepgoat.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.sweepgoat.backend.model.Giveaway;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.util.PageLimits;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-serialized JSON pages of GET /api/public/giveaways (offset pagination)
+ *
+ * - Keyed by (host, status, page, size); a hit is written straight to the response
+ *   without touching the database or Jackson
+ * - Each page is stored with the host's public content version it was loaded at, and
+ *   that stored version is the response's ETag, so bytes and ETag always match
+ * - When the version moves past a cached page (new entries changed the counts), the
+ *   old page keeps being served while one background reload per page runs on
+ *   refresh-threads; requests never wait for an entry-count refresh
+ * - Every page of a host is dropped after commit when the host or any of its
+ *   giveaways is created, updated or deleted (locally, and on other nodes through
+ *   CacheInvalidationBus); the next request loads it synchronously. Keys are indexed
+ *   by host, so this does not scan the cache
+ * - Only the first max-cached-pages pages of the known statuses are cached; deeper
+ *   pages and other status values are loaded directly, so request parameters cannot
+ *   fill the cache with one-off keys
+ *
+ * Memory is bounded by max-size-mb of serialized JSON. Metrics: cache.* {cache=public.giveaway.pages}
+ */
+@Service
+public class PublicGiveawayPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicGiveawayPageCache.class);
+
+    static final String TOPIC = "public-giveaway-pages";
+
+    private static final Set<String> CACHED_STATUSES = Set.of("ACTIVE", "ENDED", "COMPLETED", "CANCELLED");
+
+    record PageKey(Long hostId, String subdomain, String status, int page, int size) {
+    }
+
+    /**
+     * Serialized page and the public content version it was loaded at (use it as the ETag)
+     */
+    public record CachedPage(long version, byte[] json) {
+    }
+
+    @Autowired
+    private GiveawayService giveawayService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.giveaway-page-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.giveaway-page-cache.max-size-mb:64}")
+    private long maxSizeMb;
+
+    @Value("${app.giveaway-page-cache.max-cached-pages:10}")
+    private int maxCachedPages;
+
+    @Value("${app.giveaway-page-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.giveaway-page-cache.refresh-threads:2}")
+    private int refreshThreads;
+
+    private ExecutorService refreshExecutor;
+
+    private Cache<PageKey, CachedPage> pages;
+
+    // Cached keys per host, for evictHost
+    private final Map<Long, Set<PageKey>> keysByHost = new ConcurrentHashMap<>();
+
+    // Pages with a background reload queued or running
+    private final Set<PageKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        refreshExecutor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "giveaway-page-refresh-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        pages = Caffeine.newBuilder()
+            .maximumWeight(maxSizeMb * 1024 * 1024)
+            .weigher((PageKey key, CachedPage cached) -> cached.json().length)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .evictionListener((PageKey key, CachedPage cached, RemovalCause cause) ->
+                unindex(key))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "public.giveaway.pages");
+        cacheInvalidationBus.subscribe(TOPIC, this::onMessage);
+
+        logger.info("Public giveaway page cache {} ({} MB, first {} pages, {} refresh threads)",
+            enabled ? "enabled" : "disabled", maxSizeMb, maxCachedPages, refreshThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Serialized PaginatedResponse for a page, with the content version it was loaded at
+     *
+     * A miss is loaded through GiveawayService. A cached page older than the given
+     * version is still returned, and reloaded in the background.
+     */
+    public CachedPage get(Long hostId, String subdomain, String status, int page, int size, long version) {
+        PageLimits.check(page, size);
+        String statusFilter = status != null && !status.isEmpty() ? status : null;
+        PageKey key = new PageKey(hostId, subdomain, statusFilter, page, size);
+
+        if (page >= maxCachedPages || (statusFilter != null && !CACHED_STATUSES.contains(statusFilter))) {
+            return load(key, version);
+        }
+
+        CachedPage cached = pages.get(key, k -> {
+            index(k);
+            return load(k, version);
+        });
+        if (cached.version() < version) {
+            refreshAsync(key, version);
+        }
+        return cached;
+    }
+
+    private void refreshAsync(PageKey key, long version) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    CachedPage fresh = load(key, version);
+                    // Only replace a page that is still cached: if the host was evicted meanwhile,
+                    // this load may predate the change and the next request loads it again
+                    pages.asMap().computeIfPresent(key, (k, current) ->
+                        current.version() < fresh.version() ? fresh : current);
+                } catch (RuntimeException e) {
+                    logger.warn("Background reload of giveaway page {} failed: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Called by the entity listener after a Host or Giveaway row changes
+     */
+    public void publishChange(Object entity) {
+        if (entity instanceof Host host && host.getId() != null) {
+            publishChange(host.getId());
+        } else if (entity instanceof Giveaway giveaway && giveaway.getHost() != null) {
+            publishChange(giveaway.getHost().getId());
+        }
+    }
+
+    private void publishChange(Long hostId) {
+        cacheInvalidationBus.publishEvict(TOPIC, hostId.toString());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictHost(hostId);
+                }
+            });
+        } else {
+            evictHost(hostId);
+        }
+    }
+
+    void onMessage(String hostId) {
+        if (hostId == null) {
+            keysByHost.clear();
+            pages.invalidateAll();
+        } else {
+            evictHost(Long.valueOf(hostId));
+        }
+    }
+
+    void evictHost(Long hostId) {
+        Set<PageKey> keys = keysByHost.remove(hostId);
+        if (keys != null) {
+            pages.invalidateAll(keys);
+        }
+    }
+
+    private void index(PageKey key) {
+        keysByHost.compute(key.hostId(), (hostId, keys) -> {
+            Set<PageKey> target = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            target.add(key);
+            return target;
+        });
+    }
+
+    private void unindex(PageKey key) {
+        keysByHost.computeIfPresent(key.hostId(), (hostId, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    int indexedKeyCount(Long hostId) {
+        Set<PageKey> keys = keysByHost.get(hostId);
+        return keys != null ? keys.size() : 0;
+    }
+
+    /**
+     * Stamped with the version read before the query, so content committed meanwhile
+     * is at worst reloaded once more
+     */
+    private CachedPage load(PageKey key, long version) {
+        try {
+            return new CachedPage(version, objectMapper.writeValueAsBytes(giveawayService.getGiveawaysBySubdomain(
+                key.subdomain(), key.status(), PageRequest.of(key.page(), key.size()))));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.config.SecondLevelCacheConfig;
+import com.sweepgoat.backend.model.Giveaway;
+import com.sweepgoat.backend.model.Host;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the Hibernate second-level cache consistent across nodes and exports its statistics
+ *
+ * - SecondLevelCacheEvictionListener publishes the id of every inserted, updated or
+ *   deleted Host/Giveaway on CacheInvalidationBus (delivered after commit)
+ * - Every node evicts that entity; a Host change also clears the host-by-subdomain
+ *   query region, since a new or changed row can alter any cached query result
+ *
+ * Metrics: hibernate.second.level.cache.requests{region, result=hit|miss}, .puts{region}
+ */
+@Service
+public class SecondLevelCacheSyncService {
+
+    private static final String HOST_TOPIC = "l2:host";
+    private static final String GIVEAWAY_TOPIC = "l2:giveaway";
+
+    private static final List<String> REGIONS = List.of(
+        SecondLevelCacheConfig.HOST_REGION,
+        SecondLevelCacheConfig.GIVEAWAY_REGION,
+        SecondLevelCacheConfig.HOST_BY_SUBDOMAIN_QUERY_REGION
+    );
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void init() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Cache cache = sessionFactory.getCache();
+
+        cacheInvalidationBus.subscribe(HOST_TOPIC, id -> {
+            evictEntity(cache, Host.class, id);
+            cache.evictQueryRegion(SecondLevelCacheConfig.HOST_BY_SUBDOMAIN_QUERY_REGION);
+        });
+        cacheInvalidationBus.subscribe(GIVEAWAY_TOPIC, id -> evictEntity(cache, Giveaway.class, id));
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        for (String region : REGIONS) {
+            registerCounter(statistics, region, "requests", "hit", CacheRegionStatistics::getHitCount);
+            registerCounter(statistics, region, "requests", "miss", CacheRegionStatistics::getMissCount);
+            registerCounter(statistics, region, "puts", null, CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    /**
+     * Called by the entity listener after a Host or Giveaway row changes
+     */
+    public void publishChange(Object entity) {
+        if (entity instanceof Host host && host.getId() != null) {
+            cacheInvalidationBus.publishEvict(HOST_TOPIC, host.getId().toString());
+        } else if (entity instanceof Giveaway giveaway && giveaway.getId() != null) {
+            cacheInvalidationBus.publishEvict(GIVEAWAY_TOPIC, giveaway.getId().toString());
+        }
+    }
+
+    private static void evictEntity(Cache cache, Class<?> entityClass, String id) {
+        if (id == null) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, Long.valueOf(id));
+        }
+    }
+
+    private void registerCounter(Statistics statistics, String region, String name, String result,
+                                 ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(
+                "hibernate.second.level.cache." + name,
+                statistics,
+                stats -> {
+                    CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+                    return regionStatistics != null ? value.applyAsDouble(regionStatistics) : 0;
+                })
+            .tag("region", region);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(meterRegistry);
+    }
+}
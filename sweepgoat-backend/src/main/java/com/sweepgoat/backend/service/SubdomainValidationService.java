@@ -17,9 +17,12 @@ public class SubdomainValidationService {
     @Autowired
     private HostRepository hostRepository;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     /**
      * Validate subdomain - returns host if subdomain exists and email is verified
-     * Results are cached for 10 minutes to improve performance
+     * Results are cached locally; other nodes are kept in sync by CacheInvalidationBus
      *
      * @param subdomain The subdomain to validate
      * @return Host if valid, null otherwise
@@ -41,14 +44,15 @@ public class SubdomainValidationService {
     }
 
     /**
-     * Invalidate cache for a subdomain
-     * Call this when host verifies email or updates subdomain
+     * Invalidate cache for a subdomain on this node and on every other node
+     * Call this when host verifies email, updates branding or is deleted
      *
      * @param subdomain The subdomain to invalidate
      */
     @CacheEvict(value = CacheConfig.SUBDOMAIN_CACHE, key = "#subdomain")
     public void invalidateSubdomainCache(String subdomain) {
-        // Cache eviction handled by annotation
+        // Local eviction handled by annotation, remote nodes notified after commit
+        cacheInvalidationBus.publishEvict(CacheConfig.SUBDOMAIN_CACHE, subdomain);
     }
 
     /**
@@ -57,6 +61,6 @@ public class SubdomainValidationService {
      */
     @CacheEvict(value = CacheConfig.SUBDOMAIN_CACHE, allEntries = true)
     public void clearAllCache() {
-        // Cache eviction handled by annotation
+        cacheInvalidationBus.publishClear(CacheConfig.SUBDOMAIN_CACHE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.model.TokenRevocation;
+import com.sweepgoat.backend.repository.TokenRevocationRepository;
+import com.sweepgoat.backend.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for JWTs, checked in memory on every authenticated request
+ *
+ * - Revocations are stored in token_revocations (subject key, revokedAfter)
+ * - Each node mirrors the table into a Bloom filter plus an exact map of
+ *   subject key -> revokedAfter (epoch seconds). The Bloom filter answers the
+ *   common "never revoked" case; the map confirms the rest.
+ * - Other replicas pick up new rows by polling the id sequence every
+ *   poll-interval-ms, so a revocation takes effect cluster-wide within seconds
+ * - Rows older than jwt.expiration are pruned: no token they could match is still valid
+ *
+ * JWT iat has second precision, so revokedAfter is truncated to the second and a
+ * token issued in that same second is revoked too. A client that logs in again
+ * within the second of a password change has to log in once more.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    public static final String USER = "USER";
+    public static final String HOST = "HOST";
+    public static final String TENANT = "TENANT";
+
+    // Re-read rows created this long before the last poll (ids can commit out of order)
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpirationMs;
+
+    @Value("${app.token-revocation.bloom.expected-insertions:100000}")
+    private int bloomExpectedInsertions;
+
+    @Value("${app.token-revocation.bloom.false-positive-probability:0.01}")
+    private double bloomFalsePositiveProbability;
+
+    private final ConcurrentHashMap<String, Long> revokedAfterBySubject = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    private volatile long lastSeenId = 0;
+    private volatile LocalDateTime lastPollAt = LocalDateTime.now();
+
+    /**
+     * Load revocations that can still affect unexpired tokens
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        BloomFilter filter = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveProbability);
+        revokedAfterBySubject.keySet().forEach(filter::add);
+        bloomFilter = filter;
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        List<TokenRevocation> revocations = tokenRevocationRepository.findByCreatedAtAfterOrderByIdAsc(
+            startedAt.minusNanos(jwtExpirationMs * 1_000_000));
+        revocations.forEach(this::apply);
+        lastPollAt = startedAt;
+
+        logger.info("Loaded {} token revocations", revocations.size());
+    }
+
+    /**
+     * Revoke every token issued to a subject before now
+     * Applied locally once the surrounding transaction commits; other nodes see it on their next poll
+     */
+    public void revoke(String subjectType, Long subjectId) {
+        String subjectKey = subjectKey(subjectType, subjectId);
+
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setSubjectKey(subjectKey);
+        revocation.setRevokedAfter(LocalDateTime.now());
+        TokenRevocation saved = tokenRevocationRepository.save(revocation);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(saved);
+                }
+            });
+        } else {
+            apply(saved);
+        }
+
+        logger.info("Revoked tokens for {}", subjectKey);
+    }
+
+    /**
+     * Check whether a token is revoked - in memory only, no DB access
+     *
+     * USER tokens are revoked by USER:{userId} or TENANT:{hostId}; HOST tokens by HOST:{hostId}
+     */
+    public boolean isRevoked(String userType, Long userId, Long hostId, Date issuedAt) {
+        if (issuedAt == null) {
+            return false;
+        }
+        long issuedAtSeconds = issuedAt.getTime() / 1000;
+
+        if (USER.equals(userType)) {
+            return isRevoked(subjectKey(USER, userId), issuedAtSeconds)
+                || isRevoked(subjectKey(TENANT, hostId), issuedAtSeconds);
+        }
+        return isRevoked(subjectKey(HOST, hostId), issuedAtSeconds);
+    }
+
+    /**
+     * Pick up revocations made on other nodes
+     */
+    @Scheduled(fixedDelayString = "${app.token-revocation.poll-interval-ms:2000}")
+    public void pollChanges() {
+        if (bloomFilter == null) {
+            return; // Not loaded yet
+        }
+
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+        try {
+            List<TokenRevocation> changes = tokenRevocationRepository.findChangesSince(
+                lastSeenId, lastPollAt.minusSeconds(POLL_OVERLAP_SECONDS));
+            changes.forEach(this::apply);
+            lastPollAt = pollStartedAt;
+        } catch (Exception e) {
+            logger.error("Failed to poll token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete expired revocations and rebuild the Bloom filter without them
+     * Runs hourly
+     */
+    @Scheduled(fixedRate = 3600000, initialDelay = 3600000)
+    @Transactional
+    public void pruneExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jwtExpirationMs * 1_000_000);
+        int deleted = tokenRevocationRepository.deleteByCreatedAtBefore(cutoff);
+
+        // revokedAfter is set at creation, so it is a safe stand-in for createdAt here
+        long cutoffSeconds = toEpochSeconds(cutoff);
+        revokedAfterBySubject.values().removeIf(revokedAfter -> revokedAfter < cutoffSeconds);
+
+        BloomFilter rebuilt = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveProbability);
+        revokedAfterBySubject.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+
+        // A revocation applied between the rebuild and the swap would be missing from the new filter
+        revokedAfterBySubject.keySet().forEach(rebuilt::add);
+
+        if (deleted > 0) {
+            logger.info("Pruned {} expired token revocations", deleted);
+        }
+    }
+
+    private boolean isRevoked(String subjectKey, long issuedAtSeconds) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(subjectKey)) {
+            return false;
+        }
+        Long revokedAfter = revokedAfterBySubject.get(subjectKey);
+        return revokedAfter != null && issuedAtSeconds <= revokedAfter;
+    }
+
+    private void apply(TokenRevocation revocation) {
+        long revokedAfter = toEpochSeconds(revocation.getRevokedAfter());
+        // Map first so a Bloom hit always finds its entry
+        revokedAfterBySubject.merge(revocation.getSubjectKey(), revokedAfter, Math::max);
+        BloomFilter filter = bloomFilter;
+        if (filter != null) {
+            filter.add(revocation.getSubjectKey());
+        }
+        synchronized (this) {
+            if (revocation.getId() != null && revocation.getId() > lastSeenId) {
+                lastSeenId = revocation.getId();
+            }
+        }
+    }
+
+    private static String subjectKey(String subjectType, Long subjectId) {
+        return subjectType + ":" + subjectId;
+    }
+
+    private static long toEpochSeconds(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
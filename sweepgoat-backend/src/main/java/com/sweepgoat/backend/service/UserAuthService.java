@@ -1,6 +1,7 @@
 package com.sweepgoat.backend.service;
 
 import com.sweepgoat.backend.dto.*;
+import com.sweepgoat.backend.exception.BadRequestException;
 import com.sweepgoat.backend.exception.DuplicateResourceException;
 import com.sweepgoat.backend.exception.EmailNotVerifiedException;
 import com.sweepgoat.backend.exception.InvalidCredentialsException;
@@ -12,7 +13,9 @@ import com.sweepgoat.backend.model.User;
 import com.sweepgoat.backend.repository.GiveawayRepository;
 import com.sweepgoat.backend.repository.HostRepository;
 import com.sweepgoat.backend.repository.UserRepository;
+import com.sweepgoat.backend.util.CursorCodec;
 import com.sweepgoat.backend.util.JwtUtil;
+import com.sweepgoat.backend.util.PageLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,12 +23,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 
 @Service
@@ -43,7 +46,7 @@ public class UserAuthService {
     private GiveawayRepository giveawayRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -51,12 +54,22 @@ public class UserAuthService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private LastLoginTracker lastLoginTracker;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Value("${app.auto-verify-emails:false}")
     private boolean autoVerifyEmails;
 
     private static final int VERIFICATION_CODE_LENGTH = 6;
     private static final int VERIFICATION_CODE_EXPIRY_HOURS = 24;
 
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SEARCH_LENGTH = 100;
+    private static final String SEARCH_CURSOR_SORT = "search:createdAt:desc";
+
     /**
      * Register a new user (can only be done on subdomain)
      * Domain validation should be handled in controller
@@ -74,7 +87,7 @@ public class UserAuthService {
 
         // Check if user with this email already exists for this host
         // NOTE: Same email can exist on different subdomains (different hosts)
-        if (userRepository.existsByEmailAndHostId(request.getEmail(), host.getId())) {
+        if (userRepository.existsByEmailIgnoreCaseAndHostId(request.getEmail(), host.getId())) {
             throw new DuplicateResourceException("A user with this email already exists on this subdomain");
         }
 
@@ -85,7 +98,7 @@ public class UserAuthService {
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setPhoneNumber(request.getPhoneNumber());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         user.setEmailOptIn(request.getEmailOptIn() != null ? request.getEmailOptIn() : false);
         user.setSmsOptIn(request.getSmsOptIn() != null ? request.getSmsOptIn() : false);
         user.setIsActive(true);
@@ -121,6 +134,8 @@ public class UserAuthService {
     /**
      * Authenticate user login
      * If email not verified, throw EmailNotVerifiedException which will be caught by GlobalExceptionHandler
+     * Read-only on the DB: lastLoginAt is written behind by LastLoginTracker
+     * Deliberately not wrapped in a transaction so no connection is held while BCrypt runs
      */
     public UserLoginResponse authenticateUser(UserLoginRequest request, String subdomain) {
         // Find host by subdomain
@@ -132,7 +147,7 @@ public class UserAuthService {
             .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
@@ -147,9 +162,8 @@ public class UserAuthService {
             throw new EmailNotVerifiedException("Please verify your email to continue", user.getEmail());
         }
 
-        // Update last login timestamp
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        // Record last login timestamp (flushed in batches)
+        lastLoginTracker.recordLogin(user.getId(), LocalDateTime.now());
 
         // Generate JWT token
         String token = jwtUtil.generateUserToken(user.getEmail(), user.getId(), host.getId());
@@ -245,6 +259,9 @@ public class UserAuthService {
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         userRepository.delete(user);
+
+        // Existing tokens must stop working immediately, not at expiry
+        tokenRevocationService.revoke(TokenRevocationService.USER, userId);
     }
 
     /**
@@ -257,7 +274,7 @@ public class UserAuthService {
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getCurrentPassword(), user.getPasswordHash())) {
             throw new InvalidCredentialsException("Current password is incorrect");
         }
 
@@ -267,9 +284,12 @@ public class UserAuthService {
         }
 
         // Update password
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
 
+        // Log out every session that used the old password
+        tokenRevocationService.revoke(TokenRevocationService.USER, userId);
+
         return new MessageResponse("Password changed successfully!");
     }
 
@@ -289,6 +309,7 @@ public class UserAuthService {
      *
      * Sorting: By lastLoginAt, createdAt, email, firstName, or lastName (asc/desc)
      */
+    @Transactional(readOnly = true)
     public PaginatedResponse<UserListResponse> getUsersByHostId(
             Long hostId,
             int page,
@@ -300,15 +321,7 @@ public class UserAuthService {
             Boolean emailOptIn,
             Boolean smsOptIn) {
 
-        // VALIDATION: If giveawayId provided, verify it belongs to this host
-        if (giveawayId != null) {
-            Giveaway giveaway = giveawayRepository.findById(giveawayId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Giveaway not found"));
-
-            if (!giveaway.getHost().getId().equals(hostId)) {
-                throw new ResourceNotFoundException("Giveaway not found");
-            }
-        }
+        validateGiveawayFilter(giveawayId, hostId);
 
         // Determine sort direction
         org.springframework.data.domain.Sort.Direction direction =
@@ -316,62 +329,19 @@ public class UserAuthService {
             org.springframework.data.domain.Sort.Direction.ASC :
             org.springframework.data.domain.Sort.Direction.DESC;
 
-        // Determine sort field (with validation)
-        String sortField;
-        if (sortBy != null && !sortBy.isEmpty()) {
-            // Validate sortBy parameter
-            switch (sortBy.toLowerCase()) {
-                case "lastloginat":
-                    sortField = "lastLoginAt";
-                    break;
-                case "createdat":
-                    sortField = "createdAt";
-                    break;
-                case "email":
-                    sortField = "email";
-                    break;
-                case "firstname":
-                    sortField = "firstName";
-                    break;
-                case "lastname":
-                    sortField = "lastName";
-                    break;
-                default:
-                    // Default to createdAt if invalid field provided
-                    logger.warn("Invalid sortBy field '{}', defaulting to createdAt", sortBy);
-                    sortField = "createdAt";
-            }
-        } else {
-            // Default sort by createdAt descending (newest first)
-            sortField = "createdAt";
-        }
+        String sortField = resolveUserSortField(sortBy);
 
         // Create Pageable object (combines pagination + sorting)
         Pageable pageable = PageRequest.of(page, size, direction, sortField);
 
-        // Fetch filtered, sorted, and paginated users
-        Page<User> userPage = userRepository.findByHostIdWithFilters(
+        // Fetch filtered, sorted, and paginated users projected straight into DTOs
+        Page<UserListResponse> userPage = userRepository.findUserListByHostIdWithFilters(
                 hostId, giveawayId, emailVerified, emailOptIn, smsOptIn, pageable
         );
 
-        // Map User entities to UserListResponse DTOs
-        List<UserListResponse> userListResponses = userPage.getContent().stream()
-            .map(user -> new UserListResponse(
-                user.getId(),
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getPhoneNumber(),
-                user.getEmailVerified(),
-                user.getIsActive(),
-                user.getCreatedAt(),
-                user.getLastLoginAt()
-            ))
-            .collect(java.util.stream.Collectors.toList());
-
         // Build paginated response with metadata
         return new PaginatedResponse<>(
-            userListResponses,                    // data
+            userPage.getContent(),                // data
             userPage.getNumber(),                 // currentPage (0-indexed)
             userPage.getTotalPages(),             // totalPages
             userPage.getTotalElements(),          // totalItems
@@ -381,6 +351,166 @@ public class UserAuthService {
         );
     }
 
+    /**
+     * Cursor-mode variant of getUsersByHostId (HOST auth required)
+     *
+     * Same filters and sort fields, but pages are read with WHERE (sortKey, id) < (?, ?)
+     * instead of OFFSET, so page 2,000 costs the same as page 1. The cursor encodes the
+     * sort it was issued for; reusing it with a different sortBy/sortOrder is a 400.
+     * The COUNT query only runs when includeTotal is true.
+     *
+     * Nullable sort fields (lastLoginAt, names) sort NULL lowest: users who never logged
+     * in come last under lastLoginAt desc, first under asc.
+     */
+    @Transactional(readOnly = true)
+    public PaginatedResponse<UserListResponse> getUsersByHostIdAfterCursor(
+            Long hostId,
+            int size,
+            String sortBy,
+            String sortOrder,
+            Long giveawayId,
+            Boolean emailVerified,
+            Boolean emailOptIn,
+            Boolean smsOptIn,
+            String cursor,
+            boolean includeTotal) {
+
+        PageLimits.checkSize(size);
+        validateGiveawayFilter(giveawayId, hostId);
+
+        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
+        String sortField = resolveUserSortField(sortBy);
+        String cursorSort = sortField + (ascending ? ":asc" : ":desc");
+        boolean dateSort = "createdAt".equals(sortField) || "lastLoginAt".equals(sortField);
+
+        Object afterKey = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorCodec.Cursor after = CursorCodec.decode(cursor, cursorSort);
+            afterKey = dateSort ? after.keyAsDateTime() : after.key();
+            afterId = after.id();
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<UserListResponse> rows = userRepository.findUserListKeyset(
+                hostId, giveawayId, emailVerified, emailOptIn, smsOptIn,
+                sortField, ascending, afterKey, afterId, size + 1
+        );
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            UserListResponse last = rows.get(size - 1);
+            nextCursor = CursorCodec.encode(cursorSort, userSortKey(last, sortField), last.getId());
+        }
+
+        Long totalItems = includeTotal
+            ? userRepository.countUserListByHostIdWithFilters(hostId, giveawayId, emailVerified, emailOptIn, smsOptIn)
+            : null;
+
+        return PaginatedResponse.ofCursor(rows, size, afterId != null, nextCursor, totalItems);
+    }
+
+    /**
+     * Search a host's users by partial email, first name or last name (HOST auth required)
+     *
+     * Case-insensitive substring match served by the (host_id, trigram) index (V9 migration), newest
+     * first, cursor-paginated like getUsersByHostIdAfterCursor (totals are not computed).
+     * Terms need at least 3 characters: trigram indexes cannot narrow shorter patterns.
+     */
+    @Transactional(readOnly = true)
+    public PaginatedResponse<UserListResponse> searchUsers(Long hostId, String query, int size, String cursor) {
+        PageLimits.checkSize(size);
+        String term = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new BadRequestException("Search term must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        if (term.length() > MAX_SEARCH_LENGTH) {
+            throw new BadRequestException("Search term must be at most " + MAX_SEARCH_LENGTH + " characters");
+        }
+        // Match the characters literally, not as LIKE wildcards
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorCodec.Cursor after = CursorCodec.decode(cursor, SEARCH_CURSOR_SORT);
+            afterCreatedAt = after.keyAsDateTime();
+            afterId = after.id();
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<UserListResponse> rows = userRepository.searchUserListKeyset(hostId, escaped, afterCreatedAt, afterId, size + 1);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            UserListResponse last = rows.get(size - 1);
+            nextCursor = CursorCodec.encode(SEARCH_CURSOR_SORT, last.getCreatedAt(), last.getId());
+        }
+
+        return PaginatedResponse.ofCursor(rows, size, afterId != null, nextCursor, null);
+    }
+
+    /**
+     * If a giveaway filter is given, verify it belongs to this host
+     */
+    private void validateGiveawayFilter(Long giveawayId, Long hostId) {
+        if (giveawayId != null) {
+            Giveaway giveaway = giveawayRepository.findById(giveawayId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Giveaway not found"));
+
+            if (!giveaway.getHost().getId().equals(hostId)) {
+                throw new ResourceNotFoundException("Giveaway not found");
+            }
+        }
+    }
+
+    /**
+     * Map the sortBy request parameter to an entity field (defaults to createdAt)
+     */
+    private String resolveUserSortField(String sortBy) {
+        if (sortBy == null || sortBy.isEmpty()) {
+            // Default sort by createdAt descending (newest first)
+            return "createdAt";
+        }
+
+        switch (sortBy.toLowerCase()) {
+            case "lastloginat":
+                return "lastLoginAt";
+            case "createdat":
+                return "createdAt";
+            case "email":
+                return "email";
+            case "firstname":
+                return "firstName";
+            case "lastname":
+                return "lastName";
+            default:
+                // Default to createdAt if invalid field provided
+                logger.warn("Invalid sortBy field '{}', defaulting to createdAt", sortBy);
+                return "createdAt";
+        }
+    }
+
+    /**
+     * Keyset sort key of a row: the raw sort column, null when the column is NULL
+     */
+    private Object userSortKey(UserListResponse user, String sortField) {
+        switch (sortField) {
+            case "lastLoginAt":
+                return user.getLastLoginAt();
+            case "email":
+                return user.getEmail();
+            case "firstName":
+                return user.getFirstName();
+            case "lastName":
+                return user.getLastName();
+            default:
+                return user.getCreatedAt();
+        }
+    }
+
     /**
      * Generate random 6-digit verification code
      */
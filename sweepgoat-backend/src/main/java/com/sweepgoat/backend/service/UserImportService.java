@@ -0,0 +1,499 @@
+package com.sweepgoat.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweepgoat.backend.dto.UserImportJobResponse;
+import com.sweepgoat.backend.exception.BadRequestException;
+import com.sweepgoat.backend.exception.FileUploadException;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.model.User;
+import com.sweepgoat.backend.repository.HostRepository;
+import com.sweepgoat.backend.repository.UserRepository;
+import com.sweepgoat.backend.util.CsvReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of users from a CSV upload, run as a background job
+ *
+ * The upload is spooled to a temp file and the request returns immediately with a job id.
+ * The job then:
+ * - parses the file one record at a time (CsvReader), in chunks of chunk-size rows
+ * - de-duplicates each chunk against existing users with one IN query, and against
+ *   earlier rows of the same file; emails are compared lower-cased on both sides, like
+ *   the (host_id, lower(email)) unique index
+ * - hashes passwords on its own bounded pool (separate from the login hashing pool, so an
+ *   import never delays logins); at most one chunk per job is in flight
+ * - inserts each chunk in one transaction, which Hibernate sends as JDBC batches
+ *   (pooled sequence ids, hibernate.jdbc.batch_size). If a user registered meanwhile and
+ *   the unique index rejects the chunk, the chunk is checked again and retried without
+ *   them; they count as existing
+ *
+ * Columns (header row required, names are case-insensitive): email (required),
+ * firstName, lastName, phoneNumber, password, emailOptIn, smsOptIn.
+ * Rows without a password get a random one; those users set their own once a reset flow
+ * exists. Imported users are unverified and go through the normal verify-email flow.
+ *
+ * Job state is in memory on the node that accepted the upload and kept for retention-hours.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_COLUMN_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long RETRY_AFTER_SECONDS = 60;
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    /**
+     * Mutable progress of one job; counters are only written by the job's worker thread
+     * Status, timestamps and errors change under the job's lock, so a terminal status is
+     * never seen without its error and finishedAt
+     */
+    private static class ImportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final Long hostId;
+        private final String fileName;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<String> errors = new ArrayList<>();
+        private String status = "QUEUED";
+        private volatile long rowsRead;
+        private volatile long imported;
+        private volatile long skippedExisting;
+        private volatile long skippedDuplicate;
+        private volatile long invalid;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+
+        private ImportJob(Long hostId, String fileName) {
+            this.hostId = hostId;
+            this.fileName = fileName;
+        }
+
+        private synchronized void addError(String error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        private synchronized void start() {
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+        }
+
+        /**
+         * Record the final error (if any) and finishedAt, then publish the terminal status
+         */
+        private synchronized void finish(String finalStatus, String error) {
+            if (error != null) {
+                addError(error);
+            }
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private synchronized UserImportJobResponse toResponse() {
+            return new UserImportJobResponse(id, status, fileName, rowsRead, imported, skippedExisting,
+                skippedDuplicate, invalid, List.copyOf(errors), createdAt, startedAt, finishedAt);
+        }
+    }
+
+    /**
+     * One parsed, valid CSV row
+     */
+    private record ImportRow(String email, String firstName, String lastName, String phoneNumber,
+                             String password, boolean emailOptIn, boolean smsOptIn) {
+
+        private String normalizedEmail() {
+            return email.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HostRepository hostRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.user-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.user-import.concurrent-jobs:2}")
+    private int concurrentJobs;
+
+    @Value("${app.user-import.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${app.user-import.hashing-threads:0}")
+    private int hashingThreads; // 0 = half the available processors
+
+    @Value("${app.user-import.retention-hours:24}")
+    private long retentionHours;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private ThreadPoolExecutor jobExecutor;
+    private ExecutorService hashingExecutor;
+    private TransactionTemplate transactionTemplate;
+    private Cache<String, ImportJob> jobs;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger jobThreadCounter = new AtomicInteger();
+        jobExecutor = new ThreadPoolExecutor(
+            concurrentJobs,
+            concurrentJobs,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "user-import-" + jobThreadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        int hashingPoolSize = hashingThreads > 0
+            ? hashingThreads
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger hashingThreadCounter = new AtomicInteger();
+        hashingExecutor = Executors.newFixedThreadPool(hashingPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + hashingThreadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(retentionHours))
+            .build();
+
+        logger.info("User import: {} concurrent jobs, {} hashing threads, chunks of {} rows",
+            concurrentJobs, hashingPoolSize, chunkSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Spool the upload to disk and queue an import job for the host
+     */
+    public UserImportJobResponse startImport(Long hostId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("CSV file is required");
+        }
+
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("user-import-", ".csv");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded file", e);
+        }
+
+        ImportJob job = new ImportJob(hostId, file.getOriginalFilename());
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            deleteQuietly(spooled);
+            throw new ServiceOverloadedException(
+                "Too many imports are running right now. Please try again in a minute.", RETRY_AFTER_SECONDS);
+        }
+
+        logger.info("Queued user import {} for host {} ({} bytes)", job.id, hostId, file.getSize());
+        return job.toResponse();
+    }
+
+    /**
+     * Progress of an import job started by this host
+     */
+    public UserImportJobResponse getJob(String jobId, Long hostId) {
+        ImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.hostId.equals(hostId)) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Host host = hostRepository.findById(job.hostId)
+                .orElseThrow(() -> new ResourceNotFoundException("Host not found"));
+            CsvReader csv = new CsvReader(reader);
+
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new BadRequestException("The file is empty");
+            }
+            Map<String, Integer> columns = mapColumns(header);
+            if (!columns.containsKey("email")) {
+                throw new BadRequestException("Missing required column: email");
+            }
+
+            Set<String> seenEmails = new HashSet<>();
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+            while (true) {
+                long line = csv.getLineNumber();
+                List<String> record = csv.readRecord();
+                if (record == null) {
+                    break;
+                }
+                job.rowsRead++;
+
+                ImportRow row = parseRow(job, record, columns, line, host.getEmail());
+                if (row == null) {
+                    continue;
+                }
+                if (!seenEmails.add(row.normalizedEmail())) {
+                    job.skippedDuplicate++;
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk);
+            }
+
+            job.finish("COMPLETED", null);
+            logger.info("User import {} for host {} completed: {} rows, {} imported, {} existing, {} duplicate, {} invalid",
+                job.id, job.hostId, job.rowsRead, job.imported, job.skippedExisting, job.skippedDuplicate, job.invalid);
+        } catch (Exception e) {
+            job.finish("FAILED", "Import stopped after " + job.rowsRead + " rows: " + e.getMessage());
+            logger.error("User import {} for host {} failed", job.id, job.hostId, e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Skip users that already exist, hash the rest in parallel and insert them in one transaction
+     */
+    private void importChunk(ImportJob job, List<ImportRow> chunk) throws InterruptedException, ExecutionException {
+        List<ImportRow> newRows = withoutExisting(job, chunk);
+        if (newRows.isEmpty()) {
+            return;
+        }
+
+        List<Future<String>> hashes = new ArrayList<>(newRows.size());
+        for (ImportRow row : newRows) {
+            String password = row.password() != null ? row.password() : randomPassword();
+            hashes.add(hashingExecutor.submit(() -> passwordEncoder.encode(password)));
+        }
+        Map<ImportRow, String> passwordHashes = new HashMap<>();
+        for (int i = 0; i < newRows.size(); i++) {
+            passwordHashes.put(newRows.get(i), hashes.get(i).get());
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            List<ImportRow> rows = newRows;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Host host = hostRepository.getReferenceById(job.hostId);
+                    userRepository.saveAll(rows.stream()
+                        .map(row -> newUser(row, passwordHashes.get(row), host))
+                        .toList());
+                });
+                job.imported += rows.size();
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Someone registered one of these emails after the check; look again and retry without them
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("User import {} chunk conflicted with existing users, retrying", job.id);
+                newRows = withoutExisting(job, rows);
+                if (newRows.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows whose email is not registered on the host yet; the others count as skippedExisting
+     */
+    private List<ImportRow> withoutExisting(ImportJob job, List<ImportRow> rows) {
+        List<String> emails = rows.stream().map(ImportRow::normalizedEmail).toList();
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(job.hostId, emails));
+
+        List<ImportRow> newRows = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.normalizedEmail())) {
+                job.skippedExisting++;
+            } else {
+                newRows.add(row);
+            }
+        }
+        return newRows;
+    }
+
+    /**
+     * A new, unsaved user for the row; built per attempt so a rolled-back insert leaves no ids behind
+     */
+    private User newUser(ImportRow row, String passwordHash, Host host) {
+        User user = new User();
+        user.setHost(host);
+        user.setEmail(row.email());
+        user.setFirstName(row.firstName());
+        user.setLastName(row.lastName());
+        user.setPhoneNumber(row.phoneNumber());
+        user.setPasswordHash(passwordHash);
+        user.setEmailOptIn(row.emailOptIn());
+        user.setSmsOptIn(row.smsOptIn());
+        user.setEmailVerified(false);
+        user.setIsActive(true);
+        return user;
+    }
+
+    /**
+     * Validate one record; returns null (and records the error) for invalid rows
+     */
+    private ImportRow parseRow(ImportJob job, List<String> record, Map<String, Integer> columns,
+                               long line, String hostEmail) {
+        String email = column(record, columns, "email");
+        String error = null;
+
+        if (email == null) {
+            error = "email is required";
+        } else if (email.length() > MAX_COLUMN_LENGTH || !EMAIL_PATTERN.matcher(email).matches()) {
+            error = "invalid email '" + email + "'";
+        } else if (email.equalsIgnoreCase(hostEmail)) {
+            error = "the host's own email cannot be imported as a user";
+        } else {
+            for (String name : List.of("firstname", "lastname", "phonenumber", "password")) {
+                String value = column(record, columns, name);
+                if (value != null && value.length() > MAX_COLUMN_LENGTH) {
+                    error = name + " is longer than " + MAX_COLUMN_LENGTH + " characters";
+                    break;
+                }
+            }
+        }
+
+        if (error != null) {
+            job.invalid++;
+            job.addError("Line " + line + ": " + error);
+            return null;
+        }
+
+        return new ImportRow(
+            email,
+            column(record, columns, "firstname"),
+            column(record, columns, "lastname"),
+            column(record, columns, "phonenumber"),
+            column(record, columns, "password"),
+            parseBoolean(column(record, columns, "emailoptin")),
+            parseBoolean(column(record, columns, "smsoptin"))
+        );
+    }
+
+    /**
+     * Header name -> column index, with names normalized (first_name, First Name -> firstname)
+     */
+    private Map<String, Integer> mapColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+            if (name.equals("phone")) {
+                name = "phonenumber";
+            }
+            columns.putIfAbsent(name, i);
+        }
+        return columns;
+    }
+
+    /**
+     * Trimmed column value, or null when the column is missing or blank
+     */
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private boolean parseBoolean(String value) {
+        if (value == null) {
+            return false;
+        }
+        String normalized = value.toLowerCase(Locale.ROOT);
+        return normalized.equals("true") || normalized.equals("yes") || normalized.equals("y") || normalized.equals("1");
+    }
+
+    private String randomPassword() {
+        byte[] bytes = new byte[24];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", file, e);
+        }
+    }
+}
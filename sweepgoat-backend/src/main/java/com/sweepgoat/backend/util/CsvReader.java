@@ -0,0 +1,140 @@
+package com.sweepgoat.backend.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 CSV reader
+ *
+ * Reads one record at a time from the underlying Reader, so memory use is bounded by the
+ * longest record rather than the file size. Handles quoted fields, doubled quotes inside
+ * quotes, line breaks inside quotes and both LF and CRLF line endings. A leading UTF-8
+ * byte order mark (as written by Excel) is skipped. The caller wraps the Reader in a
+ * BufferedReader and closes it.
+ */
+public class CsvReader {
+
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private int peeked = -2; // -2 = nothing peeked
+    private long lineNumber = 1;
+    private boolean first = true;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Line number (1-based) the next record starts on
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Read the next record, or null at end of input
+     * Blank lines are skipped
+     */
+    public List<String> readRecord() throws IOException {
+        while (true) {
+            int c = read();
+            if (first) {
+                first = false;
+                if (c == '\uFEFF') {
+                    c = read();
+                }
+            }
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\n') {
+                lineNumber++;
+                continue;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            unread(c);
+            return readFields();
+        }
+    }
+
+    private List<String> readFields() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            int c = read();
+
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + lineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    append(field, c);
+                }
+                continue;
+            }
+
+            if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                return fields;
+            }
+            if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                fields.add(field.toString());
+                lineNumber++;
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                append(field, c);
+            }
+        }
+    }
+
+    private void append(StringBuilder field, int c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Field longer than " + MAX_FIELD_LENGTH + " characters on line " + lineNumber);
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        peeked = c;
+    }
+}
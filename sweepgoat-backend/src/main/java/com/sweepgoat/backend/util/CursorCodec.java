@@ -0,0 +1,81 @@
+package com.sweepgoat.backend.util;
+
+import com.sweepgoat.backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for keyset pagination
+ *
+ * A cursor carries the sort it was issued for plus the last row's sort key and id,
+ * base64url-encoded so clients treat it as an opaque token. The key may be null (a row
+ * whose sort column is NULL). Decoding checks that the
+ * cursor belongs to the sort being requested; a cursor replayed against a different
+ * sort (or a hand-edited one) is rejected with InvalidCursorException (400).
+ *
+ * Cursors are not signed: they only ever feed parameter bindings of a query that is
+ * still scoped to the caller's host/user, so tampering can at most skip rows.
+ */
+public final class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Position after the last row of a page: its sort key (null for a NULL column) and id
+     */
+    public record Cursor(String key, long id) {
+
+        public LocalDateTime keyAsDateTime() {
+            if (key == null) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(key);
+            } catch (DateTimeParseException e) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+        }
+    }
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encode the position after a row for the given sort (e.g. "createdAt:desc")
+     */
+    public static String encode(String sort, Object key, long id) {
+        // A null key leaves out the last line; an empty string key keeps it
+        String raw = key != null ? sort + "\n" + id + "\n" + key : sort + "\n" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor issued for the expected sort
+     */
+    public static Cursor decode(String cursor, String expectedSort) {
+        String raw;
+        try {
+            raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+
+        String[] parts = raw.split("\n", 3);
+        if (parts.length < 2) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        if (!parts[0].equals(expectedSort)) {
+            throw new InvalidCursorException("Cursor does not match the requested sort order");
+        }
+
+        try {
+            return new Cursor(parts.length == 3 ? parts[2] : null, Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sweepgoat.backend.util;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * EXIF Orientation tag (0x0112) from a JPEG APP1 segment, and applying it to pixels
+ *
+ * Phone cameras store the sensor image unrotated and record how to display it in this
+ * tag. Once metadata is stripped the rotation has to be baked into the pixels,
+ * otherwise portrait photos show up sideways.
+ *
+ * Values: 1 normal, 2 mirrored, 3 rotated 180, 4 flipped, 5 transposed,
+ * 6 rotated 90 clockwise, 7 transversed, 8 rotated 90 counter-clockwise
+ */
+public final class ExifOrientation {
+
+    public static final int NORMAL = 1;
+
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int TIFF_START = EXIF_HEADER.length;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * Orientation from the payload of an APP1 marker, NORMAL when absent or malformed
+     */
+    public static int parse(byte[] app1) {
+        if (app1 == null || app1.length < TIFF_START + 8) {
+            return NORMAL;
+        }
+        for (int i = 0; i < EXIF_HEADER.length; i++) {
+            if (app1[i] != EXIF_HEADER[i]) {
+                return NORMAL;
+            }
+        }
+
+        boolean littleEndian = app1[TIFF_START] == 'I' && app1[TIFF_START + 1] == 'I';
+        long ifdOffset = readInt(app1, TIFF_START + 4, littleEndian);
+        if (ifdOffset < 8 || TIFF_START + ifdOffset + 2 > app1.length) {
+            return NORMAL;
+        }
+
+        int ifd = TIFF_START + (int) ifdOffset;
+        int entries = readShort(app1, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > app1.length) {
+                return NORMAL;
+            }
+            if (readShort(app1, entry, littleEndian) == ORIENTATION_TAG) {
+                int value = readShort(app1, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Whether the displayed image is the stored image with width and height swapped
+     */
+    public static boolean swapsDimensions(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * Copy of the image as it should be displayed
+     */
+    public static BufferedImage apply(BufferedImage image, int orientation) {
+        if (orientation <= NORMAL || orientation > 8) {
+            return image;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> transform.setTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> transform.setTransform(-1, 0, 0, -1, width, height);
+            case 4 -> transform.setTransform(1, 0, 0, -1, 0, height);
+            case 5 -> transform.setTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> transform.setTransform(0, 1, -1, 0, height, 0);
+            case 7 -> transform.setTransform(0, -1, -1, 0, height, width);
+            case 8 -> transform.setTransform(0, -1, 1, 0, 0, width);
+            default -> {
+                return image;
+            }
+        }
+
+        boolean swap = swapsDimensions(orientation);
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(swap ? height : width, swap ? width : height, type);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static long readInt(byte[] data, int offset, boolean littleEndian) {
+        long value = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = data[offset + (littleEndian ? 3 - i : i)] & 0xFF;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,224 @@
+package com.sweepgoat.backend.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Removes EXIF/XMP/IPTC metadata from an image file without re-encoding it
+ *
+ * Used for uploads ImageIO cannot decode (WebP, CMYK JPEG), which are otherwise sent
+ * to Cloudflare as uploaded, camera GPS position included. Only the container is
+ * rewritten, the compressed image data is copied byte for byte:
+ * - JPEG: APP1 (EXIF, XMP), APP13 (IPTC / Photoshop) and COM segments are dropped,
+ *   as is anything after EOI. APP0/APP2 (ICC)/APP14 (Adobe colour transform) are kept
+ * - WebP: the RIFF "EXIF" and "XMP " chunks are dropped and their VP8X flags cleared
+ * - PNG: eXIf, tEXt, zTXt and iTXt chunks are dropped
+ *
+ * The EXIF orientation goes with the metadata, so a rotated photo in one of these
+ * formats is shown as stored. Data in no known container is returned unchanged;
+ * a known container that is truncated or inconsistent is rejected with
+ * IllegalArgumentException, since its metadata cannot be found reliably.
+ */
+public final class ImageMetadataStripper {
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_EOI = 0xD9;
+    private static final int JPEG_SOS = 0xDA;
+    private static final Set<Integer> JPEG_STRIPPED_MARKERS = Set.of(0xE1, 0xED, 0xFE);
+
+    private static final Set<String> WEBP_STRIPPED_CHUNKS = Set.of("EXIF", "XMP ");
+    private static final int VP8X_XMP_FLAG = 0x04;
+    private static final int VP8X_EXIF_FLAG = 0x08;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final Set<String> PNG_STRIPPED_CHUNKS = Set.of("eXIf", "tEXt", "zTXt", "iTXt");
+
+    private ImageMetadataStripper() {
+    }
+
+    /**
+     * The image without metadata; the same array when there was nothing to remove
+     *
+     * @throws IllegalArgumentException if a JPEG, WebP or PNG file is malformed
+     */
+    public static byte[] strip(byte[] data) {
+        byte[] stripped;
+        if (isJpeg(data)) {
+            stripped = stripJpeg(data);
+        } else if (isWebp(data)) {
+            stripped = stripWebp(data);
+        } else if (isPng(data)) {
+            stripped = stripPng(data);
+        } else {
+            return data;
+        }
+        return stripped.length == data.length ? data : stripped;
+    }
+
+    private static boolean isJpeg(byte[] data) {
+        return data.length >= 2 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == JPEG_SOI;
+    }
+
+    private static boolean isWebp(byte[] data) {
+        return data.length >= 12 && fourcc(data, 0).equals("RIFF") && fourcc(data, 8).equals("WEBP");
+    }
+
+    private static boolean isPng(byte[] data) {
+        if (data.length < PNG_SIGNATURE.length) {
+            return false;
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (data[i] != PNG_SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Segment by segment up to EOI; entropy-coded data after each SOS is copied up to the next marker
+     */
+    private static byte[] stripJpeg(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(data, 0, 2);
+        int pos = 2;
+
+        while (true) {
+            if (pos + 1 >= data.length || (data[pos] & 0xFF) != 0xFF) {
+                throw malformed("JPEG", "missing marker at offset " + pos);
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                pos++; // fill byte
+                continue;
+            }
+            if (marker == JPEG_EOI) {
+                out.write(data, pos, 2);
+                return out.toByteArray();
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                out.write(data, pos, 2);
+                pos += 2;
+                continue;
+            }
+
+            if (pos + 4 > data.length) {
+                throw malformed("JPEG", "truncated segment at offset " + pos);
+            }
+            int length = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            int end = pos + 2 + length;
+            if (length < 2 || end > data.length) {
+                throw malformed("JPEG", "segment length out of range at offset " + pos);
+            }
+            if (!JPEG_STRIPPED_MARKERS.contains(marker)) {
+                out.write(data, pos, end - pos);
+            }
+            pos = end;
+
+            if (marker == JPEG_SOS) {
+                int scanEnd = nextJpegMarker(data, pos);
+                out.write(data, pos, scanEnd - pos);
+                pos = scanEnd;
+            }
+        }
+    }
+
+    /**
+     * Offset of the first marker after entropy-coded data (0xFF00 stuffing and RSTn belong to the scan)
+     */
+    private static int nextJpegMarker(byte[] data, int pos) {
+        for (int i = pos; i + 1 < data.length; i++) {
+            if ((data[i] & 0xFF) == 0xFF) {
+                int next = data[i + 1] & 0xFF;
+                if (next != 0x00 && next != 0xFF && (next < 0xD0 || next > 0xD7)) {
+                    return i;
+                }
+            }
+        }
+        throw malformed("JPEG", "scan data not terminated");
+    }
+
+    private static byte[] stripWebp(byte[] data) {
+        long riffEnd = 8 + readIntLE(data, 4);
+        if (riffEnd > data.length) {
+            throw malformed("WebP", "RIFF size larger than the file");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(data, 0, 12);
+        int pos = 12;
+        while (pos < riffEnd) {
+            if (pos + 8 > riffEnd) {
+                throw malformed("WebP", "truncated chunk header at offset " + pos);
+            }
+            String fourcc = fourcc(data, pos);
+            long size = readIntLE(data, pos + 4);
+            long end = pos + 8 + size + (size & 1);
+            if (pos + 8 + size > riffEnd) {
+                throw malformed("WebP", "chunk " + fourcc.trim() + " larger than the file");
+            }
+            // Some encoders omit the padding byte of the last chunk
+            end = Math.min(end, riffEnd);
+
+            if (!WEBP_STRIPPED_CHUNKS.contains(fourcc)) {
+                byte[] chunk = Arrays.copyOfRange(data, pos, (int) end);
+                if (fourcc.equals("VP8X") && size >= 1) {
+                    chunk[8] &= (byte) ~(VP8X_EXIF_FLAG | VP8X_XMP_FLAG);
+                }
+                out.write(chunk, 0, chunk.length);
+            }
+            pos = (int) end;
+        }
+
+        byte[] stripped = out.toByteArray();
+        writeIntLE(stripped, 4, stripped.length - 8);
+        return stripped;
+    }
+
+    private static byte[] stripPng(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(data, 0, PNG_SIGNATURE.length);
+        int pos = PNG_SIGNATURE.length;
+
+        while (true) {
+            if (pos + 12 > data.length) {
+                throw malformed("PNG", "truncated chunk at offset " + pos);
+            }
+            long length = ((long) (data[pos] & 0xFF) << 24) | ((data[pos + 1] & 0xFF) << 16)
+                | ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            String type = fourcc(data, pos + 4);
+            long end = pos + 12 + length;
+            if (end > data.length) {
+                throw malformed("PNG", "chunk " + type + " larger than the file");
+            }
+            if (!PNG_STRIPPED_CHUNKS.contains(type)) {
+                out.write(data, pos, (int) (end - pos));
+            }
+            pos = (int) end;
+            if (type.equals("IEND")) {
+                return out.toByteArray();
+            }
+        }
+    }
+
+    private static String fourcc(byte[] data, int offset) {
+        return new String(data, offset, 4, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long readIntLE(byte[] data, int offset) {
+        return (data[offset] & 0xFFL) | (data[offset + 1] & 0xFFL) << 8
+            | (data[offset + 2] & 0xFFL) << 16 | (data[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static void writeIntLE(byte[] data, int offset, int value) {
+        for (int i = 0; i < 4; i++) {
+            data[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private static IllegalArgumentException malformed(String format, String detail) {
+        return new IllegalArgumentException("Malformed " + format + " file: " + detail);
+    }
+}
@@ -48,6 +48,11 @@ public class JwtUtil {
         return extractClaim(token, claims -> claims.get("userType", String.class));
     }
 
+    // Extract issued-at date
+    public Date extractIssuedAt(String token) {
+        return extractClaim(token, Claims::getIssuedAt);
+    }
+
     // Extract expiration date
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
@@ -59,6 +64,11 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    // Verify signature and expiry once and return every claim (throws if the token is invalid)
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     // Extract all claims from token
     private Claims extractAllClaims(String token) {
         return Jwts.parser()
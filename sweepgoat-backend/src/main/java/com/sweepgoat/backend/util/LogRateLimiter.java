@@ -0,0 +1,60 @@
+package com.sweepgoat.backend.util;
+
+import java.time.Duration;
+
+/**
+ * Caps how often a repetitive log statement is written
+ *
+ * Allows up to permitsPerInterval messages per fixed interval; the rest are counted
+ * and the count is handed to the next message that gets through, so the log still
+ * shows how many were dropped. Meant for per-request and per-recipient messages that
+ * can flood the log under attack or during a bulk send.
+ *
+ * Usage:
+ *   long suppressed = limiter.tryAcquire();
+ *   if (suppressed >= 0) {
+ *       logger.warn("Something happened ({} similar messages suppressed)", suppressed);
+ *   }
+ */
+public class LogRateLimiter {
+
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+
+    private long windowStart;
+    private int used;
+    private long suppressed;
+
+    public LogRateLimiter(int permitsPerInterval, Duration interval) {
+        if (permitsPerInterval <= 0 || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("permitsPerInterval and interval must be positive");
+        }
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = interval.toNanos();
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * Try to log one message
+     *
+     * @return -1 if the message should be dropped, otherwise the number of messages
+     *         dropped since the last one that was allowed
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        if (now - windowStart >= intervalNanos) {
+            windowStart = now;
+            used = 0;
+        }
+
+        if (used >= permitsPerInterval) {
+            suppressed++;
+            return -1;
+        }
+
+        used++;
+        long dropped = suppressed;
+        suppressed = 0;
+        return dropped;
+    }
+}
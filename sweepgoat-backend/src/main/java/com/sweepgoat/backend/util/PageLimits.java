@@ -0,0 +1,47 @@
+package com.sweepgoat.backend.util;
+
+import com.sweepgoat.backend.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Bounds for the page/size parameters of list endpoints
+ *
+ * Out-of-range values are rejected with BadRequestException (400). Without the check
+ * a size of 0 fails inside PageRequest or the cursor slicing with a 500, and an
+ * unbounded size turns one request into a read of the whole table.
+ */
+public final class PageLimits {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private PageLimits() {
+    }
+
+    /**
+     * Validate a page size (1..MAX_PAGE_SIZE)
+     */
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Validate a zero-based page number and a page size
+     */
+    public static void check(int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        checkSize(size);
+    }
+
+    /**
+     * Validated PageRequest for offset pagination
+     */
+    public static Pageable pageRequest(int page, int size) {
+        check(page, size);
+        return PageRequest.of(page, size);
+    }
+}
@@ -0,0 +1,113 @@
+package com.sweepgoat.backend.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache-Control, ETag and Last-Modified for the public tenant endpoints
+ *
+ * checkNotModified is called before the response body is built: when the client's
+ * If-None-Match (or If-Modified-Since) still matches it sets 304 with the validators
+ * and the endpoint's Cache-Control, so the controller can return without loading or
+ * serializing anything. Otherwise nothing is written yet; addValidators is called once
+ * the body has been built, so errors (404 for an unknown giveaway) are never marked
+ * publicly cacheable.
+ *
+ * Responses depend on the tenant, so X-Subdomain is added to Vary (the Host header is
+ * already part of the cache key).
+ */
+@Component
+public class PublicCacheHeaders {
+
+    @Value("${app.http-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.http-cache.giveaways.max-age-seconds:30}")
+    private long giveawaysMaxAge;
+
+    @Value("${app.http-cache.giveaways.stale-while-revalidate-seconds:60}")
+    private long giveawaysStaleWhileRevalidate;
+
+    @Value("${app.http-cache.giveaway-details.max-age-seconds:30}")
+    private long giveawayDetailsMaxAge;
+
+    @Value("${app.http-cache.giveaway-details.stale-while-revalidate-seconds:60}")
+    private long giveawayDetailsStaleWhileRevalidate;
+
+    @Value("${app.http-cache.subdomain.max-age-seconds:300}")
+    private long subdomainMaxAge;
+
+    @Value("${app.http-cache.subdomain.stale-while-revalidate-seconds:3600}")
+    private long subdomainStaleWhileRevalidate;
+
+    public CacheControl giveaways() {
+        return cacheControl(giveawaysMaxAge, giveawaysStaleWhileRevalidate);
+    }
+
+    public CacheControl giveawayDetails() {
+        return cacheControl(giveawayDetailsMaxAge, giveawayDetailsStaleWhileRevalidate);
+    }
+
+    public CacheControl subdomain() {
+        return cacheControl(subdomainMaxAge, subdomainStaleWhileRevalidate);
+    }
+
+    /**
+     * Strong ETag for a host's content at a version
+     */
+    public static String etag(Long hostId, long version) {
+        return "\"" + hostId + "-" + version + "\"";
+    }
+
+    /**
+     * Evaluate the conditional request; on a match, set 304 with the caching headers
+     *
+     * @return true if the response has been set to 304 Not Modified
+     */
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response,
+                                    String etag, long lastModifiedMillis, CacheControl cacheControl) {
+        if (!enabled) {
+            return false;
+        }
+
+        // Evaluated without the response, which would get the validators written either way
+        if (!new ServletWebRequest(request).checkNotModified(etag, lastModifiedMillis)) {
+            return false;
+        }
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        addValidators(response, etag, lastModifiedMillis, cacheControl);
+        return true;
+    }
+
+    /**
+     * Write ETag, Last-Modified and Cache-Control for a successfully built response
+     */
+    public void addValidators(HttpServletResponse response, String etag, long lastModifiedMillis,
+                              CacheControl cacheControl) {
+        if (!enabled) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, "X-Subdomain");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (lastModifiedMillis > 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModifiedMillis);
+        }
+    }
+
+    private static CacheControl cacheControl(long maxAgeSeconds, long staleWhileRevalidateSeconds) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        if (staleWhileRevalidateSeconds > 0) {
+            cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidateSeconds, TimeUnit.SECONDS);
+        }
+        return cacheControl;
+    }
+}
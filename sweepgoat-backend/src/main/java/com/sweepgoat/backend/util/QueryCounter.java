@@ -0,0 +1,94 @@
+package com.sweepgoat.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread count of SQL statements prepared by Hibernate
+ *
+ * - Counting only happens between start() and stop() on the same thread
+ *   (QueryBudgetFilter per request, QueryBudgetExtension per test)
+ * - Statements prepared outside a counting scope (schedulers, async exports) are ignored
+ * - A JDBC batch is prepared once, so it counts as one statement
+ * - Separately, the SQL text itself can be captured (tests that EXPLAIN what Hibernate generates)
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Start (or restart) counting on the current thread
+     */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stop counting on the current thread
+     *
+     * @return Statements counted since start(), or 0 if counting was not active
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Statements counted so far on the current thread, or 0 if counting is not active
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Whether counting is active on the current thread
+     */
+    public static boolean isActive() {
+        return COUNT.get() != null;
+    }
+
+    /**
+     * Count one statement if counting is active on the current thread
+     */
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    /**
+     * Start (or restart) recording the SQL of statements prepared on the current thread
+     */
+    public static void startCapture() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop recording on the current thread
+     *
+     * @return SQL recorded since startCapture(), in order; empty if capturing was not active
+     */
+    public static List<String> stopCapture() {
+        List<String> captured = CAPTURED.get();
+        CAPTURED.remove();
+        return captured != null ? captured : List.of();
+    }
+
+    /**
+     * Count one statement and record its SQL, for whichever of the two is active on the current thread
+     */
+    public static void record(String sql) {
+        increment();
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sweepgoat.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-min sketch of sliding-window counters with fixed memory
+ *
+ * Each of the depth rows hashes the key to one of width cells. A cell keeps the
+ * count for the current fixed window and the previous one; the sliding estimate
+ * is current + previous * (fraction of the previous window still inside the
+ * sliding window). The key's estimate is the minimum over all rows.
+ *
+ * Collisions can only over-count, never under-count, so an attacker cannot
+ * evade a limit by flooding other keys - at worst a legitimate key is throttled
+ * slightly early. Memory is depth * width * 3 longs regardless of key count.
+ */
+public class SlidingWindowSketch {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final int depth;
+    private final int width;
+    private final long windowMillis;
+
+    // Flattened [row * width + column] arrays
+    private final long[] windowIds;
+    private final long[] currentCounts;
+    private final long[] previousCounts;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public SlidingWindowSketch(int depth, int width, long windowMillis) {
+        if (depth <= 0 || width <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("depth, width and windowMillis must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.windowMillis = windowMillis;
+        this.windowIds = new long[depth * width];
+        this.currentCounts = new long[depth * width];
+        this.previousCounts = new long[depth * width];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Record one hit for the key and return the estimated number of hits
+     * (including this one) inside the sliding window ending at nowMillis
+     */
+    public double incrementAndEstimate(String key, long nowMillis) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long windowId = nowMillis / windowMillis;
+        double previousWeight = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + index(bytes, row);
+            ReentrantLock lock = locks[cell % LOCK_STRIPES];
+            lock.lock();
+            try {
+                roll(cell, windowId);
+                currentCounts[cell]++;
+                estimate = Math.min(estimate, currentCounts[cell] + previousCounts[cell] * previousWeight);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Milliseconds from nowMillis until the key's estimate (without recording a hit)
+     * decays to at most maxEstimate, assuming no further hits; 0 if it already has
+     */
+    public long millisUntilAtMost(String key, double maxEstimate, long nowMillis) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long windowId = nowMillis / windowMillis;
+        long offset = nowMillis % windowMillis;
+
+        long wait = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + index(bytes, row);
+            long current;
+            long previous;
+            ReentrantLock lock = locks[cell % LOCK_STRIPES];
+            lock.lock();
+            try {
+                long cellWindow = windowIds[cell];
+                current = cellWindow == windowId ? currentCounts[cell] : 0;
+                previous = cellWindow == windowId ? previousCounts[cell]
+                    : cellWindow == windowId - 1 ? currentCounts[cell] : 0;
+            } finally {
+                lock.unlock();
+            }
+            wait = Math.min(wait, millisUntilAtMost(current, previous, maxEstimate, offset));
+        }
+        return wait;
+    }
+
+    /**
+     * Same for one cell: the previous window's share shrinks linearly until the window
+     * ends, after which the current count becomes the shrinking previous count
+     */
+    private long millisUntilAtMost(long current, long previous, double maxEstimate, long offset) {
+        double previousWeight = 1.0 - (double) offset / windowMillis;
+        if (current + previous * previousWeight <= maxEstimate) {
+            return 0;
+        }
+        if (current <= maxEstimate) {
+            // 0 < (maxEstimate - current) / previous < previousWeight here
+            double weight = (maxEstimate - current) / previous;
+            return (long) Math.ceil((1.0 - weight) * windowMillis - offset);
+        }
+        double weight = Math.max(0.0, maxEstimate) / current;
+        return (windowMillis - offset) + (long) Math.ceil((1.0 - weight) * windowMillis);
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Move a cell forward to the given window, shifting or dropping old counts
+     */
+    private void roll(int cell, long windowId) {
+        long cellWindow = windowIds[cell];
+        if (cellWindow == windowId) {
+            return;
+        }
+        previousCounts[cell] = cellWindow == windowId - 1 ? currentCounts[cell] : 0;
+        currentCounts[cell] = 0;
+        windowIds[cell] = windowId;
+    }
+
+    /**
+     * Independent hash per row (FNV-1a with a row-specific offset, then mixed)
+     */
+    private int index(byte[] bytes, int row) {
+        long hash = 0xcbf29ce484222325L ^ (row * 0x9E3779B97F4A7C15L);
+        for (byte b : bytes) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) width);
+    }
+}
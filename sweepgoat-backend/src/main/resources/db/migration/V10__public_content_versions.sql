@@ -0,0 +1,12 @@
+-- Per-host version of the public giveaway pages (PublicContentVersionService), read by
+-- primary key instead of aggregating hosts, giveaways and every entry on a cache miss.
+-- Epoch milliseconds; rows go away with the host.
+CREATE TABLE public_content_versions (
+    host_id BIGINT NOT NULL PRIMARY KEY REFERENCES hosts (id) ON DELETE CASCADE,
+    version BIGINT NOT NULL
+);
+
+-- Existing hosts start at the migration time: every cached copy revalidates once. The
+-- updated_at columns are local time without zone, so they cannot seed epoch millis safely
+INSERT INTO public_content_versions (host_id, version)
+SELECT id, (EXTRACT(EPOCH FROM now()) * 1000)::BIGINT FROM hosts;
@@ -0,0 +1,12 @@
+-- image_uploads moves from IDENTITY to a pooled sequence (allocationSize = 50), the same
+-- way V3 converted the other insert-heavy tables: Hibernate reserves 50 ids per round
+-- trip instead of learning each id from its own INSERT.
+--
+-- The sequence starts at max(id) + 50 so the first block Hibernate hands out lies above
+-- every existing id; the column default keeps plain SQL inserts working.
+
+CREATE SEQUENCE image_uploads_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('image_uploads_seq', COALESCE((SELECT MAX(id) FROM image_uploads), 0) + 50, false);
+ALTER TABLE image_uploads ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE image_uploads ALTER COLUMN id SET DEFAULT nextval('image_uploads_seq');
+ALTER SEQUENCE image_uploads_seq OWNED BY image_uploads.id;
@@ -0,0 +1,108 @@
+-- Baseline schema, equivalent to what spring.jpa.hibernate.ddl-auto=update produced.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and only run the migrations after this one.
+
+CREATE TABLE hosts (
+    id                           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subdomain                    VARCHAR(255) NOT NULL,
+    company_name                 VARCHAR(255) NOT NULL,
+    email                        VARCHAR(255) NOT NULL,
+    password_hash                VARCHAR(255) NOT NULL,
+    logo_url                     VARCHAR(255),
+    primary_color                VARCHAR(255),
+    email_verified               BOOLEAN      NOT NULL,
+    verification_code            VARCHAR(6),
+    verification_code_expires_at TIMESTAMP(6),
+    created_at                   TIMESTAMP(6) NOT NULL,
+    updated_at                   TIMESTAMP(6),
+    is_active                    BOOLEAN      NOT NULL,
+    CONSTRAINT uk_hosts_subdomain UNIQUE (subdomain)
+);
+
+CREATE TABLE users (
+    id                           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    host_id                      BIGINT       NOT NULL REFERENCES hosts (id),
+    email                        VARCHAR(255) NOT NULL,
+    first_name                   VARCHAR(255),
+    last_name                    VARCHAR(255),
+    phone_number                 VARCHAR(255),
+    password_hash                VARCHAR(255) NOT NULL,
+    email_opt_in                 BOOLEAN      NOT NULL,
+    sms_opt_in                   BOOLEAN      NOT NULL,
+    email_verified               BOOLEAN      NOT NULL,
+    verification_code            VARCHAR(6),
+    verification_code_expires_at TIMESTAMP(6),
+    created_at                   TIMESTAMP(6) NOT NULL,
+    last_login_at                TIMESTAMP(6),
+    is_active                    BOOLEAN      NOT NULL
+);
+
+CREATE TABLE giveaways (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    host_id            BIGINT       NOT NULL REFERENCES hosts (id),
+    title              VARCHAR(255) NOT NULL,
+    description        TEXT,
+    image_url          VARCHAR(255),
+    start_date         TIMESTAMP(6) NOT NULL,
+    end_date           TIMESTAMP(6) NOT NULL,
+    status             VARCHAR(255) NOT NULL,
+    winner_id          BIGINT,
+    winner_selected_at TIMESTAMP(6),
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6)
+);
+
+CREATE TABLE giveaway_entries (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            BIGINT       NOT NULL REFERENCES users (id),
+    giveaway_id        BIGINT       NOT NULL REFERENCES giveaways (id),
+    points             INTEGER      NOT NULL,
+    free_entry_claimed BOOLEAN      NOT NULL,
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT uk_user_giveaway UNIQUE (user_id, giveaway_id)
+);
+
+CREATE TABLE campaigns (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    host_id          BIGINT       NOT NULL REFERENCES hosts (id),
+    name             VARCHAR(255) NOT NULL,
+    type             VARCHAR(255) NOT NULL,
+    subject          TEXT,
+    message          TEXT         NOT NULL,
+    scheduled_at     TIMESTAMP(6),
+    status           VARCHAR(255) NOT NULL,
+    target_type      VARCHAR(255) NOT NULL,
+    giveaway_id      BIGINT REFERENCES giveaways (id),
+    sent_at          TIMESTAMP(6),
+    total_recipients INTEGER,
+    total_sent       INTEGER,
+    total_failed     INTEGER,
+    filters_json     TEXT,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE campaign_logs (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    campaign_id   BIGINT       NOT NULL REFERENCES campaigns (id),
+    user_id       BIGINT       NOT NULL REFERENCES users (id),
+    type          VARCHAR(255) NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    sent_at       TIMESTAMP(6),
+    delivered_at  TIMESTAMP(6),
+    opened_at     TIMESTAMP(6),
+    clicked_at    TIMESTAMP(6),
+    error_message TEXT,
+    external_id   VARCHAR(255),
+    created_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE token_revocations (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subject_key   VARCHAR(64)  NOT NULL,
+    revoked_after TIMESTAMP(6) NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_token_revocations_created_at ON token_revocations (created_at);
@@ -0,0 +1,36 @@
+-- Composite indexes for the repository queries on request and scheduler hot paths.
+-- Each comment lists the repository methods the index serves.
+
+-- GiveawayRepository.findByHostIdAndStatus, findByHostId (leading column)
+CREATE INDEX IF NOT EXISTS idx_giveaways_host_status ON giveaways (host_id, status);
+
+-- GiveawayRepository.findByStatus (GiveawayStatusScheduler)
+CREATE INDEX IF NOT EXISTS idx_giveaways_status_end_date ON giveaways (status, end_date);
+
+-- GiveawayEntryRepository.findByGiveawayIdOrderByPointsDesc, findByGiveawayId, countEntriesByGiveawayId
+-- (entries by user are served by the uk_user_giveaway (user_id, giveaway_id) constraint)
+CREATE INDEX IF NOT EXISTS idx_giveaway_entries_giveaway_points ON giveaway_entries (giveaway_id, points DESC);
+
+-- UserRepository.findByEmailAndHostId, existsByEmailAndHostId
+CREATE INDEX IF NOT EXISTS idx_users_host_email ON users (host_id, email);
+
+-- UserRepository.findByHostId (default CRM sort is createdAt desc)
+CREATE INDEX IF NOT EXISTS idx_users_host_created_at ON users (host_id, created_at);
+
+-- CampaignLogRepository.findByCampaignId, findByCampaignIdAndStatus, countByCampaignIdAndStatus, getCampaignStats
+CREATE INDEX IF NOT EXISTS idx_campaign_logs_campaign_status ON campaign_logs (campaign_id, status);
+
+-- CampaignLogRepository.findByUserId, and FK checks when users are deleted
+CREATE INDEX IF NOT EXISTS idx_campaign_logs_user ON campaign_logs (user_id);
+
+-- CampaignRepository.findScheduledCampaignsReadyToSend: only a handful of rows are ever SCHEDULED
+CREATE INDEX IF NOT EXISTS idx_campaigns_scheduled_at ON campaigns (scheduled_at) WHERE status = 'SCHEDULED';
+
+-- CampaignRepository.findByHostIdAndStatus, findByHostId, countByHostId
+CREATE INDEX IF NOT EXISTS idx_campaigns_host_status ON campaigns (host_id, status);
+
+-- CampaignRepository.findByGiveawayId
+CREATE INDEX IF NOT EXISTS idx_campaigns_giveaway ON campaigns (giveaway_id);
+
+-- HostRepository.findByEmail, existsByEmail (host login and registration)
+CREATE INDEX IF NOT EXISTS idx_hosts_email ON hosts (email);
@@ -0,0 +1,38 @@
+-- Replace IDENTITY columns with pooled sequences (allocationSize = 50) for the
+-- high-volume tables. IDENTITY forces Hibernate to insert row by row to learn each
+-- id; with a sequence it reserves 50 ids per round trip and can batch the inserts.
+--
+-- Each sequence starts at max(id) + 50 so the first block Hibernate hands out
+-- (value - 49 .. value) lies above every existing id. The column default lets
+-- plain SQL inserts keep working; a raw nextval never overlaps a Hibernate block.
+-- hosts and token_revocations are low volume and keep IDENTITY.
+
+CREATE SEQUENCE users_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+CREATE SEQUENCE giveaways_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('giveaways_seq', COALESCE((SELECT MAX(id) FROM giveaways), 0) + 50, false);
+ALTER TABLE giveaways ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE giveaways ALTER COLUMN id SET DEFAULT nextval('giveaways_seq');
+ALTER SEQUENCE giveaways_seq OWNED BY giveaways.id;
+
+CREATE SEQUENCE giveaway_entries_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('giveaway_entries_seq', COALESCE((SELECT MAX(id) FROM giveaway_entries), 0) + 50, false);
+ALTER TABLE giveaway_entries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE giveaway_entries ALTER COLUMN id SET DEFAULT nextval('giveaway_entries_seq');
+ALTER SEQUENCE giveaway_entries_seq OWNED BY giveaway_entries.id;
+
+CREATE SEQUENCE campaigns_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('campaigns_seq', COALESCE((SELECT MAX(id) FROM campaigns), 0) + 50, false);
+ALTER TABLE campaigns ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE campaigns ALTER COLUMN id SET DEFAULT nextval('campaigns_seq');
+ALTER SEQUENCE campaigns_seq OWNED BY campaigns.id;
+
+CREATE SEQUENCE campaign_logs_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('campaign_logs_seq', COALESCE((SELECT MAX(id) FROM campaign_logs), 0) + 50, false);
+ALTER TABLE campaign_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE campaign_logs ALTER COLUMN id SET DEFAULT nextval('campaign_logs_seq');
+ALTER SEQUENCE campaign_logs_seq OWNED BY campaign_logs.id;
@@ -0,0 +1,9 @@
+-- Indexes ending in id so keyset pages (WHERE (sort_key, id) < (?, ?) ORDER BY sort_key, id)
+-- are a single index range scan instead of a sort over every row of the host.
+
+-- UserRepositoryImpl.findUserListKeyset (default CRM sort: createdAt desc); replaces the V2 index
+CREATE INDEX IF NOT EXISTS idx_users_host_created_at_id ON users (host_id, created_at, id);
+DROP INDEX IF EXISTS idx_users_host_created_at;
+
+-- GiveawayRepository.findListKeysetByHostId, findListKeysetByHostIdAfter
+CREATE INDEX IF NOT EXISTS idx_giveaways_host_start_date_id ON giveaways (host_id, start_date, id);
@@ -0,0 +1,10 @@
+-- Substring search over the CRM (UserRepositoryImpl.searchUserListKeyset).
+-- pg_trgm is a trusted extension (Postgres 13+), so the database owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- One trigram index over the combined, lower-cased search text. The query must use exactly
+-- this expression for the planner to match it; the host_id condition is combined with it
+-- through a bitmap AND on idx_users_host_created_at_id.
+CREATE INDEX IF NOT EXISTS idx_users_search_trgm ON users USING gin (
+    (lower(email || ' ' || coalesce(first_name, '') || ' ' || coalesce(last_name, ''))) gin_trgm_ops
+);
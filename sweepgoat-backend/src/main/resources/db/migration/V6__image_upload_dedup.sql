@@ -0,0 +1,14 @@
+-- Content hashes of images already uploaded to Cloudflare (ImageUploadService).
+-- A host uploading the same bytes for the same image type again gets the stored URL back
+-- without another upload. Rows go away with the host.
+CREATE TABLE image_uploads (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    host_id      BIGINT       NOT NULL REFERENCES hosts (id) ON DELETE CASCADE,
+    image_type   VARCHAR(16)  NOT NULL,
+    content_hash VARCHAR(64)  NOT NULL,
+    image_url    VARCHAR(512) NOT NULL,
+    size_bytes   BIGINT       NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_image_uploads_host_type_hash ON image_uploads (host_id, image_type, content_hash);
@@ -0,0 +1,17 @@
+-- Indexes for the remaining keyset list queries, each ending in id like the V4 ones.
+
+-- GiveawayRepository.findListKeysetByHostIdAndStatus, findListKeysetByHostIdAndStatusAfter
+-- (the status filter is its own query now); replaces the V2 (host_id, status) index
+CREATE INDEX IF NOT EXISTS idx_giveaways_host_status_start_date_id ON giveaways (host_id, status, start_date, id);
+DROP INDEX IF EXISTS idx_giveaways_host_status;
+
+-- UserRepositoryImpl.findUserListKeyset on the other CRM sort fields. NULL sorts lowest
+-- (NULLS FIRST ascending, NULLS LAST descending), so one index serves both directions.
+-- last_login_at writes are already batched by LastLoginTracker.
+CREATE INDEX IF NOT EXISTS idx_users_host_last_login_at_id ON users (host_id, last_login_at NULLS FIRST, id);
+CREATE INDEX IF NOT EXISTS idx_users_host_first_name_id ON users (host_id, first_name NULLS FIRST, id);
+CREATE INDEX IF NOT EXISTS idx_users_host_last_name_id ON users (host_id, last_name NULLS FIRST, id);
+
+-- Email sort; also covers the (host_id, email) lookups of the V2 index it replaces
+CREATE INDEX IF NOT EXISTS idx_users_host_email_id ON users (host_id, email, id);
+DROP INDEX IF EXISTS idx_users_host_email;
@@ -0,0 +1,7 @@
+-- One account per email per host, ignoring case (jane@x.com and Jane@x.com are the
+-- same person). Registration and the CSV import check lower(email) against this index;
+-- it also catches inserts that race past those checks.
+--
+-- Fails if a host already has emails differing only in case; find them with
+--   SELECT host_id, lower(email) FROM users GROUP BY 1, 2 HAVING count(*) > 1;
+CREATE UNIQUE INDEX uk_users_host_lower_email ON users (host_id, lower(email));
@@ -0,0 +1,13 @@
+-- Host-scoped user search (UserRepositoryImpl.searchUserListKeyset). The V5 trigram index
+-- matches the search text across every host and leaves host_id to a bitmap AND with another
+-- index, so a common term reads matches from all hosts. btree_gin lets host_id be the
+-- first column of the same GIN index, so one index scan yields only this host's matches.
+-- btree_gin is a trusted extension (Postgres 13+), like pg_trgm.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- The search expression must stay exactly the one from V5
+CREATE INDEX IF NOT EXISTS idx_users_host_search_trgm ON users USING gin (
+    host_id,
+    (lower(email || ' ' || coalesce(first_name, '') || ' ' || coalesce(last_name, ''))) gin_trgm_ops
+);
+DROP INDEX IF EXISTS idx_users_search_trgm;
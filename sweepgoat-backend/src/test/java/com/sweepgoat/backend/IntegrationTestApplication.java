@@ -0,0 +1,45 @@
+package com.sweepgoat.backend;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the real application against the database in TEST_DB_URL
+ *
+ * Shared by the integration tests and benchmarks that need a running context.
+ * Credentials come from TEST_DB_USERNAME / TEST_DB_PASSWORD; the schema must already
+ * be migrated (ddl-auto=validate). Extra properties are applied after the defaults.
+ */
+public final class IntegrationTestApplication {
+
+    private static final List<String> DEFAULT_PROPERTIES = List.of(
+        "spring.datasource.url=" + System.getenv("TEST_DB_URL"),
+        "spring.datasource.username=" + envOrEmpty("TEST_DB_USERNAME"),
+        "spring.datasource.password=" + envOrEmpty("TEST_DB_PASSWORD"),
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "jwt.secret=integration-test-secret-key-at-least-32-chars",
+        "jwt.expiration=3600000",
+        "server.port=0",
+        "cloudflare.account.id=test",
+        "cloudflare.api.token=test"
+    );
+
+    private IntegrationTestApplication() {
+    }
+
+    public static SpringApplicationBuilder builder(String... extraProperties) {
+        List<String> properties = new ArrayList<>(DEFAULT_PROPERTIES);
+        properties.addAll(Arrays.asList(extraProperties));
+        return new SpringApplicationBuilder(SweepgoatBackendApplication.class)
+            .properties(properties.toArray(String[]::new));
+    }
+
+    public static String envOrEmpty(String name) {
+        String value = System.getenv(name);
+        return value != null ? value : "";
+    }
+}
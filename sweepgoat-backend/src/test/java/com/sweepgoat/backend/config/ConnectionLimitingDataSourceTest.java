@@ -0,0 +1,67 @@
+package com.sweepgoat.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 1, 50);
+    }
+
+    @Test
+    void blocksBeyondLimitUntilConnectionIsClosed() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        Connection first = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void releasesPermitWhenTargetFails() throws SQLException {
+        when(target.getConnection())
+            .thenThrow(new SQLException("pool exhausted"))
+            .thenAnswer(invocation -> mock(Connection.class));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        dataSource.getConnection();
+        verify(target, times(2)).getConnection();
+    }
+}
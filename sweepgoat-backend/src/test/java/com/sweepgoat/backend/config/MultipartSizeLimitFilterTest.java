@@ -0,0 +1,74 @@
+package com.sweepgoat.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MultipartSizeLimitFilterTest {
+
+    private MultipartSizeLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new MultipartSizeLimitFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(filter, "maxRequestSize", DataSize.ofKilobytes(1));
+    }
+
+    @Test
+    void largeUploadsAreOnlyAllowedOnTheImportEndpoint() throws Exception {
+        byte[] body = new byte[2048];
+
+        MockFilterChain imageChain = new MockFilterChain();
+        MockHttpServletResponse image = send("/api/host/upload-image", "multipart/form-data; boundary=x", body, imageChain);
+        assertEquals(413, image.getStatus());
+        assertNull(imageChain.getRequest(), "request must not reach the controller");
+
+        MockFilterChain importChain = new MockFilterChain();
+        send("/api/host/users/import", "multipart/form-data; boundary=x", body, importChain);
+        assertNotNull(importChain.getRequest());
+    }
+
+    @Test
+    void smallUploadsAndOtherBodiesPass() throws Exception {
+        MockFilterChain smallChain = new MockFilterChain();
+        send("/api/host/upload-image", "multipart/form-data; boundary=x", new byte[512], smallChain);
+        assertNotNull(smallChain.getRequest());
+
+        MockFilterChain jsonChain = new MockFilterChain();
+        send("/api/host/giveaways", "application/json", new byte[2048], jsonChain);
+        assertNotNull(jsonChain.getRequest());
+    }
+
+    @Test
+    void multipartWithoutContentLengthIsRejected() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = send("/api/host/upload-image", "multipart/form-data; boundary=x", null, chain);
+
+        assertEquals(411, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    private MockHttpServletResponse send(String path, String contentType, byte[] body, MockFilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType(contentType);
+        if (body != null) {
+            request.setContent(body);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (FilterChain) chain);
+        return response;
+    }
+}
@@ -0,0 +1,117 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks transaction routing against two separate local databases standing in
+ * for primary and replica (no actual replication needed: the test only looks at
+ * which database answered).
+ *
+ * Requires TEST_DB_URL and TEST_REPLICA_DB_URL pointing at two different throwaway
+ * Postgres databases (optionally TEST_DB_USERNAME / TEST_DB_PASSWORD for both).
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "TEST_REPLICA_DB_URL", matches = ".+")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final long PIN_WINDOW_MS = 500;
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate readWrite;
+    private static TransactionTemplate readOnly;
+    private static String primaryDatabase;
+    private static String replicaDatabase;
+
+    @BeforeAll
+    static void start() {
+        context = IntegrationTestApplication.builder(
+                "app.datasource.replica.url=" + System.getenv("TEST_REPLICA_DB_URL"),
+                "app.datasource.replica.username=" + IntegrationTestApplication.envOrEmpty("TEST_DB_USERNAME"),
+                "app.datasource.replica.password=" + IntegrationTestApplication.envOrEmpty("TEST_DB_PASSWORD"),
+                "app.datasource.replica.pin-window-ms=" + PIN_WINDOW_MS
+            )
+            .web(WebApplicationType.NONE)
+            .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        primaryDatabase = new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class))
+            .queryForObject("SELECT current_database()", String.class);
+        replicaDatabase = new JdbcTemplate(context.getBean("replicaDataSource", DataSource.class))
+            .queryForObject("SELECT current_database()", String.class);
+        assertNotEquals(primaryDatabase, replicaDatabase, "TEST_DB_URL and TEST_REPLICA_DB_URL must be different databases");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals(replicaDatabase, readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        assertEquals(primaryDatabase, readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void callerIsPinnedToPrimaryAfterOwnWrite() throws InterruptedException {
+        bindRequest(42L);
+
+        readWrite.executeWithoutResult(status -> currentDatabase());
+        assertEquals(primaryDatabase, readOnly.execute(status -> currentDatabase()));
+
+        // Other callers are unaffected
+        bindRequest(43L);
+        assertEquals(replicaDatabase, readOnly.execute(status -> currentDatabase()));
+
+        // Pin expires after the window
+        bindRequest(42L);
+        Thread.sleep(PIN_WINDOW_MS + 200);
+        assertEquals(replicaDatabase, readOnly.execute(status -> currentDatabase()));
+    }
+
+    private static String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static void bindRequest(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("userId", userId);
+        request.setAttribute("userType", "USER");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,185 @@
+package com.sweepgoat.backend.config;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.util.JwtUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP load test of a public and a user endpoint with platform vs virtual request threads
+ *
+ * Starts the full application (real Tomcat on a random port) once per mode against the
+ * same seeded data and drives it with CONCURRENCY in-flight requests. Reports throughput,
+ * latency percentiles and non-200 responses.
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true and TEST_DB_URL
+ * pointing at a throwaway Postgres database. Results are printed to stdout.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final String SUBDOMAIN = "vtbench";
+    private static final int USERS = 200;
+    private static final int GIVEAWAYS = 20;
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP_REQUESTS = 2000;
+    private static final int REQUESTS = 20000;
+
+    private static JdbcTemplate jdbcTemplate;
+    private static ConfigurableApplicationContext seedContext;
+    private static Long hostId;
+    private static Long userId;
+
+    @BeforeAll
+    static void seed() {
+        seedContext = start(false);
+        jdbcTemplate = seedContext.getBean(JdbcTemplate.class);
+
+        cleanup();
+        jdbcTemplate.update(
+            "INSERT INTO hosts (subdomain, company_name, email, password_hash, email_verified, created_at, is_active) " +
+            "VALUES (?, 'Virtual Thread Bench', 'vtbench@example.com', 'x', true, now(), true)", SUBDOMAIN);
+        hostId = jdbcTemplate.queryForObject("SELECT id FROM hosts WHERE subdomain = ?", Long.class, SUBDOMAIN);
+        jdbcTemplate.update(
+            "INSERT INTO users (host_id, email, first_name, last_name, password_hash, email_opt_in, sms_opt_in, " +
+            "email_verified, verification_code, created_at, is_active) " +
+            "SELECT ?, 'vt' || u || '@example.com', 'First' || u, 'Last' || u, 'x', true, false, true, " +
+            "'123456', now(), true FROM generate_series(1, ?) u", hostId, USERS);
+        jdbcTemplate.update(
+            "INSERT INTO giveaways (host_id, title, description, start_date, end_date, status, created_at) " +
+            "SELECT ?, 'Giveaway ' || g, 'Description', now() - g * interval '1 day', now() + interval '7 days', " +
+            "'ACTIVE', now() FROM generate_series(1, ?) g", hostId, GIVEAWAYS);
+        jdbcTemplate.update(
+            "INSERT INTO giveaway_entries (user_id, giveaway_id, points, free_entry_claimed, created_at) " +
+            "SELECT u.id, g.id, 1, true, now() FROM users u CROSS JOIN giveaways g " +
+            "WHERE u.host_id = ? AND g.host_id = ?", hostId, hostId);
+        userId = jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE host_id = ?", Long.class, hostId);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (seedContext != null) {
+            cleanup();
+            seedContext.close();
+        }
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        runMode("platform threads", seedContext);
+        seedContext.close();
+
+        seedContext = start(true);
+        jdbcTemplate = seedContext.getBean(JdbcTemplate.class);
+        runMode("virtual threads", seedContext);
+    }
+
+    private static void runMode(String mode, ConfigurableApplicationContext context) throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String token = context.getBean(JwtUtil.class).generateUserToken("vt1@example.com", userId, hostId);
+
+        HttpRequest publicList = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public/giveaways?page=0&size=10"))
+            .header("X-Subdomain", SUBDOMAIN)
+            .GET()
+            .build();
+        HttpRequest myEntries = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/user/my-entries"))
+            .header("X-Subdomain", SUBDOMAIN)
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+
+        load(mode + " GET /api/public/giveaways", publicList);
+        load(mode + " GET /api/user/my-entries", myEntries);
+    }
+
+    private static void load(String name, HttpRequest request) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(clients).build();
+            drive(client, clients, request, WARMUP_REQUESTS, null);
+
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            drive(client, clients, request, REQUESTS, (i, nanos, status) -> {
+                latencies[i] = nanos;
+                if (status != 200) {
+                    errors.incrementAndGet();
+                }
+            });
+            long elapsedNanos = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-55s %8.0f req/s  p50 %6.1f ms  p95 %6.1f ms  p99 %6.1f ms  errors %d%n",
+                name,
+                REQUESTS / (elapsedNanos / 1_000_000_000.0),
+                latencies[REQUESTS / 2] / 1_000_000.0,
+                latencies[(int) (REQUESTS * 0.95)] / 1_000_000.0,
+                latencies[(int) (REQUESTS * 0.99)] / 1_000_000.0,
+                errors.get());
+        }
+    }
+
+    private interface Result {
+        void record(int index, long nanos, int status);
+    }
+
+    private static void drive(HttpClient client, ExecutorService clients, HttpRequest request, int count, Result result)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            int index = i;
+            clients.execute(() -> {
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    status = -1;
+                }
+                if (result != null) {
+                    result.record(index, System.nanoTime() - start, status);
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(CONCURRENCY);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return IntegrationTestApplication.builder(
+                "logging.level.com.sweepgoat.backend=WARN",
+                "logging.level.org.springframework.web=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "management.server.port=-1",
+                "spring.threads.virtual.enabled=" + virtualThreads
+            )
+            .run();
+    }
+
+    private static void cleanup() {
+        String host = "SELECT id FROM hosts WHERE subdomain = '" + SUBDOMAIN + "'";
+        jdbcTemplate.update("DELETE FROM giveaway_entries WHERE giveaway_id IN (SELECT id FROM giveaways WHERE host_id IN (" + host + "))");
+        jdbcTemplate.update("DELETE FROM giveaways WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM hosts WHERE subdomain = ?", SUBDOMAIN);
+    }
+}
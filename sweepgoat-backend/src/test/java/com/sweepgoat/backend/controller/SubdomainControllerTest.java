@@ -0,0 +1,108 @@
+package com.sweepgoat.backend.controller;
+
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.repository.HostRepository;
+import com.sweepgoat.backend.util.PublicCacheHeaders;
+import com.sweepgoat.backend.util.SubdomainExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubdomainControllerTest {
+
+    @Mock
+    private HostRepository hostRepository;
+
+    @Spy
+    private SubdomainExtractor subdomainExtractor = new SubdomainExtractor();
+
+    @Spy
+    private PublicCacheHeaders publicCacheHeaders = new PublicCacheHeaders();
+
+    @InjectMocks
+    private SubdomainController controller;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(publicCacheHeaders, "enabled", true);
+        ReflectionTestUtils.setField(publicCacheHeaders, "subdomainMaxAge", 300L);
+        ReflectionTestUtils.setField(publicCacheHeaders, "subdomainStaleWhileRevalidate", 3600L);
+    }
+
+    @Test
+    void validateSendsValidatorsAndRevalidatesTo304() {
+        verifiedHost();
+        assertConditionalGet("/api/public/subdomain/validate",
+            (request, response) -> controller.validateSubdomain(request, response));
+    }
+
+    @Test
+    void brandingSendsValidatorsAndRevalidatesTo304() {
+        verifiedHost();
+        assertConditionalGet("/api/public/subdomain/branding",
+            (request, response) -> controller.getBranding(request, response));
+    }
+
+    @Test
+    void unknownSubdomainIsNotCacheable() {
+        when(hostRepository.findBySubdomain("nobody")).thenReturn(Optional.empty());
+        MockHttpServletRequest request = request("/api/public/subdomain/branding", "nobody");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals(404, controller.getBranding(request, response).getStatusCode().value());
+        assertNull(response.getHeader("ETag"));
+        assertNull(response.getHeader("Cache-Control"));
+    }
+
+    private void assertConditionalGet(String path,
+            BiFunction<MockHttpServletRequest, MockHttpServletResponse, Object> endpoint) {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertNotNull(endpoint.apply(request(path, "acme"), first));
+        assertEquals(200, first.getStatus());
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+        assertNotNull(first.getHeader("Last-Modified"));
+        assertEquals("max-age=300, public, stale-while-revalidate=3600", first.getHeader("Cache-Control"));
+
+        MockHttpServletRequest revalidation = request(path, "acme");
+        revalidation.addHeader("If-None-Match", etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertNull(endpoint.apply(revalidation, second));
+        assertEquals(304, second.getStatus());
+        assertEquals(etag, second.getHeader("ETag"));
+    }
+
+    private void verifiedHost() {
+        Host host = new Host();
+        host.setId(7L);
+        host.setSubdomain("acme");
+        host.setCompanyName("Acme Inc");
+        host.setEmailVerified(true);
+        host.setCreatedAt(LocalDateTime.now().minusDays(2));
+        host.setUpdatedAt(LocalDateTime.now().minusHours(1));
+        when(hostRepository.findBySubdomain("acme")).thenReturn(Optional.of(host));
+    }
+
+    private static MockHttpServletRequest request(String path, String subdomain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Host", subdomain + ".sweepgoat.com");
+        return request;
+    }
+}
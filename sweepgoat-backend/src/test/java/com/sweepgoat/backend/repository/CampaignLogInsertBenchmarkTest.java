@@ -0,0 +1,128 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.model.Campaign;
+import com.sweepgoat.backend.model.CampaignLog;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inserts 100k CampaignLog rows two ways and prints the timings:
+ * - row by row: flush after every persist, which is what IDENTITY ids forced
+ *   (Hibernate must INSERT immediately to learn the generated id)
+ * - batched: pooled sequence ids, flushed every hibernate.jdbc.batch_size rows
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true and TEST_DB_URL
+ * pointing at a throwaway Postgres database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class CampaignLogInsertBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 50;
+
+    private static ConfigurableApplicationContext context;
+    private static EntityManager entityManager;
+    private static TransactionTemplate transactionTemplate;
+    private static Long campaignId;
+    private static Long userId;
+    private static Long hostId;
+
+    @BeforeAll
+    static void setUp() {
+        context = IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Host host = new Host();
+            host.setSubdomain("insertbench");
+            host.setCompanyName("Insert Bench");
+            host.setEmail("insertbench@example.com");
+            host.setPasswordHash("x");
+            entityManager.persist(host);
+
+            User user = new User();
+            user.setHost(host);
+            user.setEmail("insertbench-user@example.com");
+            user.setPasswordHash("x");
+            entityManager.persist(user);
+
+            Campaign campaign = new Campaign();
+            campaign.setHost(host);
+            campaign.setName("Insert Bench");
+            campaign.setType("EMAIL");
+            campaign.setMessage("Hello");
+            entityManager.persist(campaign);
+
+            entityManager.flush();
+            hostId = host.getId();
+            userId = user.getId();
+            campaignId = campaign.getId();
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (context != null) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("DELETE FROM campaign_logs WHERE campaign_id = ?", campaignId);
+            jdbcTemplate.update("DELETE FROM campaigns WHERE id = ?", campaignId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+            jdbcTemplate.update("DELETE FROM hosts WHERE id = ?", hostId);
+            context.close();
+        }
+    }
+
+    @Test
+    void insertCampaignLogs() {
+        long rowByRowMs = time(1);
+        long batchedMs = time(BATCH_SIZE);
+
+        System.out.printf("CampaignLog inserts (%d rows): row by row %d ms, batched %d ms (%.1fx)%n",
+            ROWS, rowByRowMs, batchedMs, (double) rowByRowMs / Math.max(1, batchedMs));
+    }
+
+    private static long time(int flushEvery) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            Campaign campaign = entityManager.getReference(Campaign.class, campaignId);
+            User user = entityManager.getReference(User.class, userId);
+            for (int i = 1; i <= ROWS; i++) {
+                CampaignLog log = new CampaignLog();
+                log.setCampaign(campaign);
+                log.setUser(user);
+                log.setType("EMAIL");
+                log.setStatus("SENT");
+                log.setSentAt(LocalDateTime.now());
+                entityManager.persist(log);
+
+                if (i % flushEvery == 0) {
+                    entityManager.flush();
+                }
+                // Keep the persistence context small in both runs
+                if (i % 1000 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    campaign = entityManager.getReference(Campaign.class, campaignId);
+                    user = entityManager.getReference(User.class, userId);
+                }
+            }
+        });
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
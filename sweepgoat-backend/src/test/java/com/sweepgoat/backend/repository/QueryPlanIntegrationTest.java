@@ -0,0 +1,363 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.dto.PaginatedResponse;
+import com.sweepgoat.backend.dto.UserListResponse;
+import com.sweepgoat.backend.service.UserAuthService;
+import com.sweepgoat.backend.util.QueryCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls each hot-path repository query against seeded data, captures the SQL Hibernate
+ * generates for it (QueryCounter) and fails if its plan is a sequential scan of the
+ * queried table. The plan checked is the generic one a prepared statement ends up with.
+ *
+ * The application context is started against the database, so Flyway applies the
+ * migrations and Hibernate validates the entities against them first.
+ *
+ * Requires TEST_DB_URL (and optionally TEST_DB_USERNAME / TEST_DB_PASSWORD)
+ * pointing at a throwaway Postgres database. Seeded rows are removed afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+class QueryPlanIntegrationTest {
+
+    private static final int HOSTS = 1000;
+    private static final int USERS_PER_HOST = 50;
+    private static final int GIVEAWAYS_PER_HOST = 10;
+    private static final int ENTRIES_PER_USER = 5;
+    private static final int CAMPAIGNS_PER_HOST = 20;
+    private static final int LOGS_PER_CAMPAIGN = 20;
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void seed() {
+        context = IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        cleanup();
+
+        jdbcTemplate.update(
+            "INSERT INTO hosts (subdomain, company_name, email, password_hash, email_verified, created_at, is_active) " +
+            "SELECT 'qp' || h, 'Query Plan ' || h, 'qp' || h || '@example.com', 'x', true, now(), true " +
+            "FROM generate_series(1, ?) h", HOSTS);
+
+        jdbcTemplate.update(
+            "INSERT INTO users (host_id, email, password_hash, email_opt_in, sms_opt_in, email_verified, created_at, is_active) " +
+            "SELECT h.id, 'user' || u || '@example.com', 'x', u % 2 = 0, u % 3 = 0, true, now() - (u || ' minutes')::interval, true " +
+            "FROM hosts h CROSS JOIN generate_series(1, ?) u WHERE h.subdomain LIKE 'qp%'", USERS_PER_HOST);
+
+        // Half the users have logged in; the rest keep last_login_at NULL
+        jdbcTemplate.update(
+            "UPDATE users SET last_login_at = created_at + interval '1 hour' " +
+            "WHERE id % 2 = 0 AND host_id IN (SELECT id FROM hosts WHERE subdomain LIKE 'qp%')");
+
+        jdbcTemplate.update(
+            "INSERT INTO giveaways (host_id, title, start_date, end_date, status, created_at) " +
+            "SELECT h.id, 'Giveaway ' || g, now() - interval '10 days', now() + (g || ' days')::interval, " +
+            "CASE WHEN g = 1 THEN 'ACTIVE' ELSE 'COMPLETED' END, now() " +
+            "FROM hosts h CROSS JOIN generate_series(1, ?) g WHERE h.subdomain LIKE 'qp%'", GIVEAWAYS_PER_HOST);
+
+        jdbcTemplate.update(
+            "INSERT INTO giveaway_entries (user_id, giveaway_id, points, free_entry_claimed, created_at) " +
+            "SELECT u.id, g.id, (u.id * 7 + g.id) % 100, true, now() " +
+            "FROM users u JOIN hosts h ON h.id = u.host_id " +
+            "JOIN LATERAL (SELECT id FROM giveaways WHERE host_id = h.id ORDER BY id LIMIT ?) g ON true " +
+            "WHERE h.subdomain LIKE 'qp%'", ENTRIES_PER_USER);
+
+        jdbcTemplate.update(
+            "INSERT INTO campaigns (host_id, name, type, message, scheduled_at, status, target_type, created_at) " +
+            "SELECT h.id, 'Campaign ' || c, 'EMAIL', 'Hello', now() - interval '1 hour', " +
+            "CASE WHEN c = 1 THEN 'SCHEDULED' ELSE 'SENT' END, 'ALL_USERS', now() " +
+            "FROM hosts h CROSS JOIN generate_series(1, ?) c WHERE h.subdomain LIKE 'qp%'", CAMPAIGNS_PER_HOST);
+
+        jdbcTemplate.update(
+            "INSERT INTO campaign_logs (campaign_id, user_id, type, status, created_at) " +
+            "SELECT c.id, u.id, 'EMAIL', 'SENT', now() " +
+            "FROM campaigns c JOIN hosts h ON h.id = c.host_id " +
+            "JOIN LATERAL (SELECT id FROM users WHERE host_id = h.id ORDER BY id LIMIT ?) u ON true " +
+            "WHERE h.subdomain LIKE 'qp%'", LOGS_PER_CAMPAIGN);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (context != null) {
+            cleanup();
+            context.close();
+        }
+    }
+
+    @Test
+    void giveawaysByHostAndStatus() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("giveaways", () -> giveawayRepository().findByHostIdAndStatus(hostId, "ACTIVE"));
+    }
+
+    @Test
+    void leaderboardByGiveawayOrderedByPoints() {
+        Long giveawayId = anyGiveawayId();
+        assertNoSeqScan("giveaway_entries",
+            () -> bean(GiveawayEntryRepository.class).findLeaderboardByGiveawayId(giveawayId));
+    }
+
+    @Test
+    void userByEmailAndHost() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("users", () -> userRepository().findByEmailAndHostId("user1@example.com", hostId));
+    }
+
+    @Test
+    void usersByHostNewestFirst() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("users", () -> userRepository().findUserListByHostIdWithFilters(
+            hostId, null, null, null, null, PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "createdAt"))));
+    }
+
+    @Test
+    void usersByHostKeysetPage() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("users", () -> userRepository().findUserListKeyset(
+            hostId, null, null, null, null, "createdAt", false, LocalDateTime.now(), Long.MAX_VALUE, 51));
+    }
+
+    @Test
+    void giveawaysByHostKeysetPage() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("giveaways", () -> giveawayRepository().findListKeysetByHostIdAfter(
+            hostId, LocalDateTime.now(), Long.MAX_VALUE, Limit.of(6)));
+    }
+
+    @Test
+    void giveawaysByHostAndStatusKeysetPage() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("giveaways", () -> giveawayRepository().findListKeysetByHostIdAndStatusAfter(
+            hostId, "COMPLETED", LocalDateTime.now(), Long.MAX_VALUE, Limit.of(6)));
+    }
+
+    @Test
+    void usersByLastLoginKeysetPage() {
+        Long hostId = anyHostId();
+        // Fewer logged-in users than the limit, so both the value range and the NULL range are queried
+        List<String> plans = plans(() -> userRepository().findUserListKeyset(
+            hostId, null, null, null, null, "lastLoginAt", false, LocalDateTime.now(), Long.MAX_VALUE, 51));
+        assertEquals(2, plans.size(), "Expected the value and the NULL range queries");
+        plans.forEach(plan -> assertNoSeqScan("users", plan));
+    }
+
+    @Test
+    void usersByNullableSortKeysetPagesVisitEveryUserOnce() {
+        UserAuthService userAuthService = context.getBean(UserAuthService.class);
+        Long hostId = anyHostId();
+
+        for (String sortBy : List.of("lastLoginAt", "firstName")) {
+            for (String sortOrder : List.of("asc", "desc")) {
+                List<Long> ids = new ArrayList<>();
+                String cursor = null;
+                do {
+                    PaginatedResponse<UserListResponse> page = userAuthService.getUsersByHostIdAfterCursor(
+                        hostId, 7, sortBy, sortOrder, null, null, null, null, cursor, false);
+                    page.getData().forEach(user -> ids.add(user.getId()));
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+
+                assertEquals(USERS_PER_HOST, ids.size(), sortBy + " " + sortOrder);
+                assertEquals(USERS_PER_HOST, new HashSet<>(ids).size(), sortBy + " " + sortOrder + " repeated a user");
+            }
+        }
+    }
+
+    @Test
+    void usersByNullableSortOffsetPageMatchesKeysetOrder() {
+        UserAuthService userAuthService = context.getBean(UserAuthService.class);
+        Long hostId = anyHostId();
+
+        for (String sortBy : List.of("lastLoginAt", "firstName")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                List<Long> keyset = userAuthService.getUsersByHostIdAfterCursor(hostId, USERS_PER_HOST, sortBy,
+                        direction.name(), null, null, null, null, null, false)
+                    .getData().stream().map(UserListResponse::getId).toList();
+                List<Long> offset = userRepository().findUserListByHostIdWithFilters(hostId, null, null, null, null,
+                        PageRequest.of(0, USERS_PER_HOST, Sort.by(direction, sortBy)))
+                    .getContent().stream().map(UserListResponse::getId).toList();
+
+                assertEquals(keyset, offset, sortBy + " " + direction);
+            }
+        }
+    }
+
+    @Test
+    void userSearchUsesTrigramIndex() {
+        Long hostId = anyHostId();
+        String plan = String.join("\n", plans(() -> userRepository().searchUserListKeyset(hostId, "user12", null, null, 51)));
+        assertTrue(plan.contains("idx_users_host_search_trgm") || plan.contains("idx_users_host_created_at_id"),
+            "User search should use an index:\n" + plan);
+        assertNoSeqScan("users", plan);
+    }
+
+    @Test
+    void campaignLogsByCampaign() {
+        Long campaignId = anyCampaignId();
+        assertNoSeqScan("campaign_logs", () -> bean(CampaignLogRepository.class).findByCampaignId(campaignId));
+    }
+
+    @Test
+    void campaignStatsByCampaign() {
+        Long campaignId = anyCampaignId();
+        assertNoSeqScan("campaign_logs", () -> bean(CampaignLogRepository.class).getCampaignStats(campaignId));
+    }
+
+    @Test
+    void scheduledCampaignsReadyToSend() {
+        assertNoSeqScan("campaigns",
+            () -> bean(CampaignRepository.class).findScheduledCampaignsReadyToSend(LocalDateTime.now()));
+    }
+
+    @Test
+    void campaignsByHostAndStatus() {
+        Long hostId = anyHostId();
+        assertNoSeqScan("campaigns", () -> bean(CampaignRepository.class).findByHostIdAndStatus(hostId, "SENT"));
+    }
+
+    @Test
+    void userEntriesOrderedByGiveawayEndDate() {
+        Long userId = anyUserId();
+        assertNoSeqScan("giveaway_entries",
+            () -> bean(GiveawayEntryRepository.class).findUserGiveawayEntryRowsKeyset(userId, Limit.of(20)));
+    }
+
+    @Test
+    void hostByEmail() {
+        assertNoSeqScan("hosts", () -> bean(HostRepository.class).findByEmail("qp1@example.com"));
+    }
+
+    private static void assertNoSeqScan(String table, Runnable repositoryCall) {
+        List<String> plans = plans(repositoryCall);
+        assertFalse(plans.isEmpty(), "The repository call ran no SQL");
+        plans.forEach(plan -> assertNoSeqScan(table, plan));
+    }
+
+    private static void assertNoSeqScan(String table, String plan) {
+        assertFalse(plan.contains("Seq Scan on " + table), "Sequential scan on " + table + ":\n" + plan);
+    }
+
+    /**
+     * Runs the repository call, capturing the SQL Hibernate generates for it, and returns the
+     * plan of each statement (preceded by the statement itself)
+     */
+    private static List<String> plans(Runnable repositoryCall) {
+        QueryCounter.startCapture();
+        List<String> statements;
+        try {
+            repositoryCall.run();
+        } finally {
+            statements = QueryCounter.stopCapture();
+        }
+        return statements.stream().map(QueryPlanIntegrationTest::explain).toList();
+    }
+
+    /**
+     * Generic plan of a statement with JDBC placeholders, i.e. the plan Postgres settles on for
+     * a prepared statement whatever values are bound (PREPARE + EXPLAIN EXECUTE, parameters NULL)
+     */
+    private static String explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        boolean quoted = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE query_plan AS " + numbered);
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE query_plan" + arguments)) {
+                    StringBuilder plan = new StringBuilder(sql);
+                    while (rows.next()) {
+                        plan.append('\n').append(rows.getString(1));
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE query_plan");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private static <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private static UserRepository userRepository() {
+        return bean(UserRepository.class);
+    }
+
+    private static GiveawayRepository giveawayRepository() {
+        return bean(GiveawayRepository.class);
+    }
+
+    private static Long anyHostId() {
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM hosts WHERE subdomain LIKE 'qp%'", Long.class);
+    }
+
+    private static Long anyUserId() {
+        return jdbcTemplate.queryForObject(
+            "SELECT min(u.id) FROM users u JOIN hosts h ON h.id = u.host_id WHERE h.subdomain LIKE 'qp%'", Long.class);
+    }
+
+    private static Long anyGiveawayId() {
+        return jdbcTemplate.queryForObject(
+            "SELECT min(g.id) FROM giveaways g JOIN hosts h ON h.id = g.host_id WHERE h.subdomain LIKE 'qp%'", Long.class);
+    }
+
+    private static Long anyCampaignId() {
+        return jdbcTemplate.queryForObject(
+            "SELECT min(c.id) FROM campaigns c JOIN hosts h ON h.id = c.host_id WHERE h.subdomain LIKE 'qp%'", Long.class);
+    }
+
+    private static void cleanup() {
+        String seededHosts = "SELECT id FROM hosts WHERE subdomain LIKE 'qp%'";
+        jdbcTemplate.update("DELETE FROM campaign_logs WHERE campaign_id IN (SELECT id FROM campaigns WHERE host_id IN (" + seededHosts + "))");
+        jdbcTemplate.update("DELETE FROM campaigns WHERE host_id IN (" + seededHosts + ")");
+        jdbcTemplate.update("DELETE FROM giveaway_entries WHERE giveaway_id IN (SELECT id FROM giveaways WHERE host_id IN (" + seededHosts + "))");
+        jdbcTemplate.update("DELETE FROM giveaways WHERE host_id IN (" + seededHosts + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE host_id IN (" + seededHosts + ")");
+        jdbcTemplate.update("DELETE FROM hosts WHERE subdomain LIKE 'qp%'");
+    }
+}
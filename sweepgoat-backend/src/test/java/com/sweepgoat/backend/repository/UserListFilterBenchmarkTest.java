@@ -0,0 +1,173 @@
+package com.sweepgoat.backend.repository;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.dto.UserListResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * CRM user list across filter combinations: the old single JPQL query
+ * (LEFT JOIN entries + SELECT DISTINCT + "(:param IS NULL OR ...)", with its matching
+ * COUNT(DISTINCT) query) against UserRepositoryImpl, which emits only the active
+ * predicates and uses EXISTS for the giveaway filter.
+ *
+ * Seeds one host with BENCHMARK_USERS users (default 1,000,000) and 10 entries per user
+ * spread over 50 giveaways (10,000,000 entries at the default size). Seeding takes a
+ * few minutes at full size.
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true and TEST_DB_URL
+ * pointing at a throwaway Postgres database. Results are printed to stdout.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class UserListFilterBenchmarkTest {
+
+    private static final String SUBDOMAIN = "filterbench";
+    private static final int GIVEAWAYS = 50;
+    private static final int ITERATIONS = 10;
+
+    private static final String LEGACY_FILTERS =
+        "FROM User u LEFT JOIN GiveawayEntry ge ON ge.user.id = u.id " +
+        "WHERE u.host.id = :hostId " +
+        "AND (:giveawayId IS NULL OR ge.giveaway.id = :giveawayId) " +
+        "AND (:emailVerified IS NULL OR u.emailVerified = :emailVerified) " +
+        "AND (:emailOptIn IS NULL OR u.emailOptIn = :emailOptIn) " +
+        "AND (:smsOptIn IS NULL OR u.smsOptIn = :smsOptIn)";
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static UserRepository userRepository;
+    private static EntityManagerFactory entityManagerFactory;
+    private static Long hostId;
+    private static Long giveawayId;
+
+    @BeforeAll
+    static void seed() {
+        context = IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userRepository = context.getBean(UserRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        int users = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_USERS", "1000000"));
+
+        cleanup();
+        jdbcTemplate.update(
+            "INSERT INTO hosts (subdomain, company_name, email, password_hash, email_verified, created_at, is_active) " +
+            "VALUES (?, 'Filter Bench', 'filterbench@example.com', 'x', true, now(), true)", SUBDOMAIN);
+        hostId = jdbcTemplate.queryForObject("SELECT id FROM hosts WHERE subdomain = ?", Long.class, SUBDOMAIN);
+
+        jdbcTemplate.update(
+            "INSERT INTO users (host_id, email, first_name, last_name, password_hash, email_opt_in, sms_opt_in, " +
+            "email_verified, created_at, is_active) " +
+            "SELECT ?, 'fb' || u || '@example.com', 'First' || u, 'Last' || u, 'x', " +
+            "u % 2 = 0, u % 10 = 0, u % 3 <> 0, now() - (u || ' seconds')::interval, true " +
+            "FROM generate_series(1, ?) u", hostId, users);
+        jdbcTemplate.update(
+            "INSERT INTO giveaways (host_id, title, start_date, end_date, status, created_at) " +
+            "SELECT ?, 'Giveaway ' || g, now(), now() + interval '7 days', 'ENDED', now() " +
+            "FROM generate_series(1, ?) g", hostId, GIVEAWAYS);
+        giveawayId = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM giveaways WHERE host_id = ?", Long.class, hostId);
+
+        // Each user enters every fifth giveaway: 10 entries per user
+        jdbcTemplate.update(
+            "INSERT INTO giveaway_entries (user_id, giveaway_id, points, free_entry_claimed, created_at) " +
+            "SELECT u.id, g.id, 1, true, now() FROM users u JOIN giveaways g " +
+            "ON g.host_id = u.host_id AND (u.id + g.id) % 5 = 0 WHERE u.host_id = ?", hostId);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (context != null) {
+            cleanup();
+            context.close();
+        }
+    }
+
+    @Test
+    void compareFilterCombinations() {
+        run("no filters", null, null, null, null);
+        run("giveaway", giveawayId, null, null, null);
+        run("emailVerified + emailOptIn", null, true, true, null);
+        run("giveaway + smsOptIn", giveawayId, null, null, true);
+        run("all filters", giveawayId, true, true, false);
+    }
+
+    private void run(String name, Long giveaway, Boolean emailVerified, Boolean emailOptIn, Boolean smsOptIn) {
+        for (int page : new int[] {0, 1000}) {
+            Pageable pageable = PageRequest.of(page, 50, Sort.Direction.DESC, "createdAt");
+
+            double legacy = time(() -> legacyPage(giveaway, emailVerified, emailOptIn, smsOptIn, pageable));
+            double current = time(() -> userRepository.findUserListByHostIdWithFilters(
+                hostId, giveaway, emailVerified, emailOptIn, smsOptIn, pageable).getTotalElements());
+
+            System.out.printf("%-30s page %-5d legacy %9.1f ms   exists %9.1f ms%n", name, page, legacy, current);
+        }
+    }
+
+    /**
+     * The query pair findByHostIdWithFilters used to run: page + COUNT(DISTINCT)
+     */
+    private long legacyPage(Long giveaway, Boolean emailVerified, Boolean emailOptIn, Boolean smsOptIn,
+                            Pageable pageable) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<UserListResponse> rows = entityManager.createQuery(
+                    "SELECT DISTINCT new com.sweepgoat.backend.dto.UserListResponse(" +
+                    "u.id, u.email, u.firstName, u.lastName, u.phoneNumber, u.emailVerified, u.isActive, " +
+                    "u.createdAt, u.lastLoginAt) " + LEGACY_FILTERS + " ORDER BY u.createdAt DESC",
+                    UserListResponse.class)
+                .setParameter("hostId", hostId)
+                .setParameter("giveawayId", giveaway)
+                .setParameter("emailVerified", emailVerified)
+                .setParameter("emailOptIn", emailOptIn)
+                .setParameter("smsOptIn", smsOptIn)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+            Long total = entityManager.createQuery("SELECT COUNT(DISTINCT u.id) " + LEGACY_FILTERS, Long.class)
+                .setParameter("hostId", hostId)
+                .setParameter("giveawayId", giveaway)
+                .setParameter("emailVerified", emailVerified)
+                .setParameter("emailOptIn", emailOptIn)
+                .setParameter("smsOptIn", smsOptIn)
+                .getSingleResult();
+            return rows.size() + total;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static double time(Supplier<?> call) {
+        call.get(); // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private static void cleanup() {
+        String host = "SELECT id FROM hosts WHERE subdomain = '" + SUBDOMAIN + "'";
+        jdbcTemplate.update("DELETE FROM giveaway_entries WHERE giveaway_id IN (SELECT id FROM giveaways WHERE host_id IN (" + host + "))");
+        jdbcTemplate.update("DELETE FROM giveaways WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM hosts WHERE subdomain = ?", SUBDOMAIN);
+    }
+}
@@ -0,0 +1,83 @@
+package com.sweepgoat.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sweepgoat.backend.service.LoginThrottleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleFilterTest {
+
+    private LoginThrottleFilter filter;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.throttle.user-login.window-seconds", "60")
+            .withProperty("app.throttle.user-login.per-ip", "1");
+        LoginThrottleService throttleService = new LoginThrottleService();
+        ReflectionTestUtils.setField(throttleService, "environment", environment);
+        ReflectionTestUtils.setField(throttleService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(throttleService, "enabled", true);
+        ReflectionTestUtils.setField(throttleService, "sketchDepth", 3);
+        ReflectionTestUtils.setField(throttleService, "sketchWidth", 1024);
+        throttleService.init();
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new LoginThrottleFilter();
+        ReflectionTestUtils.setField(filter, "loginThrottleService", throttleService);
+        ReflectionTestUtils.setField(filter, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void secondLoginFromSameIpGets429WithRetryAfter() throws Exception {
+        assertNotNull(send("POST", "/api/auth/user/login").chain().getRequest());
+
+        Sent rejected = send("POST", "/api/auth/user/login");
+
+        assertNull(rejected.chain().getRequest(), "request must not reach the controller");
+        assertEquals(429, rejected.response().getStatus());
+        // Remaining time, not a flat window: the weighted previous window can stretch it up to 2x
+        long retryAfter = Long.parseLong(rejected.response().getHeader("Retry-After"));
+        assertTrue(retryAfter > 60 && retryAfter <= 120, "Retry-After " + retryAfter);
+        Map<?, ?> body = objectMapper.readValue(rejected.response().getContentAsString(), Map.class);
+        assertEquals(429, body.get("status"));
+        assertEquals("/api/auth/user/login", body.get("path"));
+    }
+
+    @Test
+    void otherMethodsAndPathsAreNotCounted() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(send("GET", "/api/auth/user/login").chain().getRequest());
+            assertNotNull(send("POST", "/api/public/giveaways").chain().getRequest());
+        }
+        assertNotNull(send("POST", "/api/auth/user/login").chain().getRequest());
+    }
+
+    private record Sent(MockHttpServletResponse response, MockFilterChain chain) {
+    }
+
+    private Sent send(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, (FilterChain) chain);
+        return new Sent(response, chain);
+    }
+}
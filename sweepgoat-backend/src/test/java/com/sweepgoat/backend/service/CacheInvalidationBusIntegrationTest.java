@@ -0,0 +1,96 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.dto.UpdateBrandingRequest;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.repository.HostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs two application contexts against the same Postgres database to simulate
+ * two replicas, and checks that a branding change on one node evicts the cached
+ * host on the other.
+ *
+ * Requires TEST_DB_URL (and optionally TEST_DB_USERNAME / TEST_DB_PASSWORD)
+ * pointing at a throwaway Postgres database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+class CacheInvalidationBusIntegrationTest {
+
+    private static final String SUBDOMAIN = "cachebus";
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+
+        HostRepository hostRepository = nodeA.getBean(HostRepository.class);
+        hostRepository.findBySubdomain(SUBDOMAIN).ifPresent(hostRepository::delete);
+
+        Host host = new Host();
+        host.setSubdomain(SUBDOMAIN);
+        host.setCompanyName("Cache Bus Inc");
+        host.setEmail("cachebus@example.com");
+        host.setPasswordHash("not-a-real-hash");
+        host.setEmailVerified(true);
+        host.setPrimaryColor("#000000");
+        hostRepository.save(host);
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (nodeA != null) {
+            HostRepository hostRepository = nodeA.getBean(HostRepository.class);
+            hostRepository.findBySubdomain(SUBDOMAIN).ifPresent(hostRepository::delete);
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void brandingChangeOnOneNodeEvictsCachedHostOnTheOther() throws InterruptedException {
+        SubdomainValidationService cacheOnB = nodeB.getBean(SubdomainValidationService.class);
+
+        // Warm node B's cache
+        Host cached = cacheOnB.validateSubdomain(SUBDOMAIN);
+        assertEquals("#000000", cached.getPrimaryColor());
+
+        // Change branding through node A
+        UpdateBrandingRequest request = new UpdateBrandingRequest();
+        request.setPrimaryColor("#FF0000");
+        nodeA.getBean(HostAuthService.class).updateBranding(request, cached.getId());
+
+        // Node B must see the new color well before the TTL expires
+        String color = null;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            color = cacheOnB.validateSubdomain(SUBDOMAIN).getPrimaryColor();
+            if ("#FF0000".equals(color)) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        assertEquals("#FF0000", color);
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return IntegrationTestApplication.builder(
+                "app.cache.subdomain.ttl-minutes=60"
+            )
+            .web(WebApplicationType.NONE)
+            .run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.sweepgoat.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse;
+import com.sweepgoat.backend.exception.BadRequestException;
+import com.sweepgoat.backend.repository.GiveawayEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataExportServiceTest {
+
+    private static final int LARGE_EXPORT_ROWS = 200_000;
+
+    @Mock
+    private GiveawayEntryRepository giveawayEntryRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private DataExportService service;
+
+    @Test
+    void leavesPlainValuesUnquoted() {
+        assertEquals("jane@example.com", DataExportService.csvValue("jane@example.com"));
+        assertEquals("42", DataExportService.csvValue(42L));
+        assertEquals("", DataExportService.csvValue(null));
+    }
+
+    @Test
+    void quotesSeparatorsQuotesAndNewlines() {
+        assertEquals("\"Smith, Jr\"", DataExportService.csvValue("Smith, Jr"));
+        assertEquals("\"say \"\"hi\"\"\"", DataExportService.csvValue("say \"hi\""));
+        assertEquals("\"two\nlines\"", DataExportService.csvValue("two\nlines"));
+    }
+
+    @Test
+    void neutralizesSpreadsheetFormulas() {
+        assertEquals("'=1+1", DataExportService.csvValue("=1+1"));
+        assertEquals("'@SUM(A1)", DataExportService.csvValue("@SUM(A1)"));
+        assertEquals("-5", DataExportService.csvValue(-5));
+        assertEquals("'+1+cmd|' /C calc'!A0", DataExportService.csvValue("+1+cmd|' /C calc'!A0"));
+        assertEquals("'-2+3", DataExportService.csvValue("-2+3"));
+    }
+
+    @Test
+    void leavesPhoneNumbersAlone() {
+        assertEquals("+15551234567", DataExportService.csvValue("+15551234567"));
+        assertEquals("+1 (555) 123-4567", DataExportService.csvValue("+1 (555) 123-4567"));
+        assertEquals("-5", DataExportService.csvValue("-5"));
+    }
+
+    @Test
+    void parsesFormatParameter() {
+        assertEquals(DataExportService.Format.CSV, DataExportService.Format.fromParameter("CSV"));
+        assertEquals(DataExportService.Format.NDJSON, DataExportService.Format.fromParameter("ndjson"));
+        assertThrows(BadRequestException.class, () -> DataExportService.Format.fromParameter("xlsx"));
+    }
+
+    @Test
+    void streamsLargeGzipExportWhileRowsAreRead() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Integer> compressedBytesAtCheckpoints = new ArrayList<>();
+        AtomicBoolean streamClosed = new AtomicBoolean();
+
+        // Rows are generated lazily like a database cursor, recording how much gzip
+        // output reached the response by the time each 20,000th row is read
+        when(giveawayEntryRepository.streamLeaderboardByGiveawayId(7L)).thenReturn(
+            LongStream.rangeClosed(1, LARGE_EXPORT_ROWS)
+                .peek(id -> {
+                    if (id % 20_000 == 0) {
+                        compressedBytesAtCheckpoints.add(out.size());
+                    }
+                })
+                .mapToObj(DataExportServiceTest::entry)
+                .onClose(() -> streamClosed.set(true)));
+
+        service.exportEntries(7L, DataExportService.Format.CSV, true, out);
+
+        assertTrue(streamClosed.get(), "row stream must be closed");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            assertEquals("entryId,points,freeEntryClaimed,enteredAt,userId,email,firstName,lastName", reader.readLine());
+            long rows = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                rows++;
+                if (rows == 1 || rows == LARGE_EXPORT_ROWS) {
+                    assertEquals(rows + ",1,true,2026-01-01T12:00,1" + rows + ",user" + rows + "@example.com,Jane,"
+                        + (rows == 1 ? "\"Smith, Jr\"" : "Doe"), line);
+                }
+            }
+            assertEquals(LARGE_EXPORT_ROWS, rows);
+        }
+
+        // Compressed output keeps flowing while rows are read, rather than all
+        // arriving at the end: by the halfway row a good part of it was written
+        assertEquals(LARGE_EXPORT_ROWS / 20_000, compressedBytesAtCheckpoints.size());
+        int halfway = compressedBytesAtCheckpoints.get(compressedBytesAtCheckpoints.size() / 2 - 1);
+        assertTrue(halfway > out.size() / 4, "only " + halfway + " of " + out.size() + " bytes written by halfway");
+        for (int i = 1; i < compressedBytesAtCheckpoints.size(); i++) {
+            assertTrue(compressedBytesAtCheckpoints.get(i) >= compressedBytesAtCheckpoints.get(i - 1));
+        }
+    }
+
+    private static GiveawayEntryLeaderboardResponse entry(long id) {
+        return new GiveawayEntryLeaderboardResponse(id, 1, true, LocalDateTime.of(2026, 1, 1, 12, 0),
+            Long.parseLong("1" + id), "user" + id + "@example.com", "Jane", id == 1 ? "Smith, Jr" : "Doe");
+    }
+}
@@ -0,0 +1,162 @@
+package com.sweepgoat.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgoat.backend.dto.GiveawayEntryLeaderboardResponse;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import com.sweepgoat.backend.model.Giveaway;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.repository.GiveawayEntryRepository;
+import com.sweepgoat.backend.repository.GiveawayRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GiveawayLiveUpdateServiceTest {
+
+    private final List<String> published = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private GiveawayRepository giveawayRepository;
+
+    @Mock
+    private GiveawayEntryRepository giveawayEntryRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CacheInvalidationBus cacheInvalidationBus = new CacheInvalidationBus() {
+        @Override
+        public void publishEvict(String topic, String key) {
+            published.add(topic + ":" + key);
+        }
+    };
+
+    @InjectMocks
+    private GiveawayLiveUpdateService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "topN", 10);
+        ReflectionTestUtils.setField(service, "bufferSize", 4);
+        ReflectionTestUtils.setField(service, "maxConnections", 2);
+        ReflectionTestUtils.setField(service, "timeoutMinutes", 1L);
+        ReflectionTestUtils.setField(service, "heartbeatSeconds", 60L);
+        service.init();
+    }
+
+    /**
+     * Giveaway 10 of host 1
+     */
+    private void stubGiveaway() {
+        Host host = new Host();
+        host.setId(1L);
+        Giveaway giveaway = new Giveaway();
+        giveaway.setId(10L);
+        giveaway.setHost(host);
+        when(giveawayRepository.findById(10L)).thenReturn(Optional.of(giveaway));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rejectsGiveawaysOfOtherHosts() {
+        stubGiveaway();
+        assertThrows(ResourceNotFoundException.class, () -> service.subscribe(10L, 2L));
+        assertThrows(ResourceNotFoundException.class, () -> service.subscribe(99L, 1L));
+        assertEquals(0, service.getConnectionCount());
+    }
+
+    @Test
+    void rejectsConnectionsOverTheLimit() {
+        stubGiveaway();
+        service.subscribe(10L, 1L);
+        service.subscribe(10L, 1L);
+
+        assertThrows(ServiceOverloadedException.class, () -> service.subscribe(10L, 1L));
+        assertEquals(2, service.getConnectionCount());
+    }
+
+    @Test
+    void coalescesChangesIntoOneLoadPerTick() {
+        stubGiveaway();
+        when(giveawayEntryRepository.countEntriesByGiveawayId(10L)).thenReturn(2L);
+        when(giveawayEntryRepository.findTopLeaderboardByGiveawayId(eq(10L), any())).thenReturn(List.of(
+            new GiveawayEntryLeaderboardResponse(5L, 7, true, LocalDateTime.now(), 3L, "a@example.com", "Jane", "Doe")));
+        service.subscribe(10L, 1L);
+        service.subscribe(10L, 1L);
+
+        service.tick();
+        verify(giveawayEntryRepository, times(1)).countEntriesByGiveawayId(10L);
+
+        service.recordEntryChange(10L);
+        service.recordEntryChange(10L);
+        service.onMessage("10");
+        service.tick();
+        verify(giveawayEntryRepository, times(2)).countEntriesByGiveawayId(10L);
+
+        service.tick();
+        verify(giveawayEntryRepository, times(2)).countEntriesByGiveawayId(10L);
+    }
+
+    @Test
+    void changesWithoutListenersAreIgnored() {
+        service.recordEntryChange(42L);
+        service.tick();
+
+        verifyNoInteractions(giveawayEntryRepository);
+    }
+
+    @Test
+    void publishesEachChangedGiveawayOncePerTick() {
+        service.recordEntryChange(10L);
+        service.recordEntryChange(10L);
+        service.recordEntryChange(42L);
+        assertEquals(List.of(), published);
+
+        service.tick();
+        assertEquals(2, published.size());
+        assertTrue(published.containsAll(List.of("giveaway-live:10", "giveaway-live:42")));
+
+        // Messages from other nodes are not published again
+        service.onMessage("10");
+        service.tick();
+        assertEquals(2, published.size());
+    }
+
+    @Test
+    void displayNameHidesLastName() {
+        assertEquals("Jane D.", GiveawayLiveUpdateService.displayName("Jane", "Doe"));
+        assertEquals("Jane", GiveawayLiveUpdateService.displayName("Jane", null));
+    }
+}
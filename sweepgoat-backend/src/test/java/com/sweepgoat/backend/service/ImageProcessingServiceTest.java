@@ -0,0 +1,245 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.FileUploadException;
+import com.sweepgoat.backend.service.ImageProcessingService.ImageType;
+import com.sweepgoat.backend.service.ImageProcessingService.ProcessedImage;
+import com.sweepgoat.backend.util.ExifOrientationTest;
+import com.sweepgoat.backend.util.ImageMetadataStripperTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageProcessingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = createService(meterRegistry, 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    static ImageProcessingService createService(SimpleMeterRegistry meterRegistry, int memoryBudgetMb) {
+        ImageProcessingService service = new ImageProcessingService();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "threads", 2);
+        ReflectionTestUtils.setField(service, "queueCapacity", 4);
+        ReflectionTestUtils.setField(service, "memoryBudgetMb", memoryBudgetMb);
+        ReflectionTestUtils.setField(service, "timeoutMs", 10_000L);
+        ReflectionTestUtils.setField(service, "maxPixels", 50_000_000L);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.82f);
+        ReflectionTestUtils.setField(service, "giveawayMaxWidth", 1600);
+        ReflectionTestUtils.setField(service, "giveawayMaxHeight", 900);
+        ReflectionTestUtils.setField(service, "giveawayCropAspectRatio", "16:9");
+        ReflectionTestUtils.setField(service, "logoMaxWidth", 512);
+        ReflectionTestUtils.setField(service, "logoMaxHeight", 512);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void giveawayPhotoIsCroppedAndDownscaled() throws IOException {
+        MockMultipartFile photo = jpeg("photo.jpeg", photo(3200, 2400), null);
+
+        ProcessedImage processed = service.process(photo, ImageType.GIVEAWAY);
+        BufferedImage output = read(processed);
+
+        assertTrue(processed.transformed());
+        assertEquals("photo.jpg", processed.resource().getFilename());
+        assertEquals(1600, output.getWidth());
+        assertEquals(900, output.getHeight());
+        assertTrue(processed.outputBytes() < processed.originalBytes());
+        assertTrue(meterRegistry.get("image.processing.bytes.saved").counter().count() > 0);
+    }
+
+    @Test
+    void exifRotationIsAppliedAndMetadataStripped() throws IOException {
+        BufferedImage stored = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = stored.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 400, 300);
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 40, 40);
+        graphics.dispose();
+
+        ProcessedImage processed = service.process(
+            jpeg("portrait.jpg", stored, ExifOrientationTest.app1(6, ByteOrder.BIG_ENDIAN)), ImageType.LOGO);
+        BufferedImage output = read(processed);
+
+        // Rotated 90 degrees clockwise: the stored top-left corner ends up top-right
+        assertEquals(300, output.getWidth());
+        assertEquals(400, output.getHeight());
+        assertTrue(isRed(output.getRGB(290, 10)));
+        assertFalse(isRed(output.getRGB(10, 10)));
+        assertFalse(new String(processed.resource().getContentAsByteArray(), StandardCharsets.ISO_8859_1)
+            .contains("Exif"));
+    }
+
+    @Test
+    void transparentPngStaysPng() throws IOException {
+        BufferedImage logo = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = logo.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(100, 100, 800, 800);
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(logo, "png", png);
+
+        ProcessedImage processed = service.process(
+            new MockMultipartFile("image", "logo.png", "image/png", png.toByteArray()), ImageType.LOGO);
+        BufferedImage output = read(processed);
+
+        assertEquals("logo.png", processed.resource().getFilename());
+        assertEquals(512, output.getWidth());
+        assertEquals(512, output.getHeight());
+        assertTrue(output.getColorModel().hasAlpha());
+        assertEquals(0, output.getRGB(0, 0) >>> 24);
+    }
+
+    @Test
+    void smallImagesAreCroppedButNotUpscaled() throws IOException {
+        ProcessedImage processed = service.process(jpeg("small.jpg", photo(200, 100), null), ImageType.GIVEAWAY);
+        BufferedImage output = read(processed);
+
+        assertEquals(178, output.getWidth());
+        assertEquals(100, output.getHeight());
+    }
+
+    @Test
+    void undecodableImagesArePassedThrough() {
+        MockMultipartFile webp = new MockMultipartFile("image", "photo.webp", "image/webp", new byte[] {1, 2, 3, 4});
+
+        ProcessedImage processed = service.process(webp, ImageType.GIVEAWAY);
+
+        assertFalse(processed.transformed());
+        assertEquals(4, processed.outputBytes());
+        assertEquals("photo.webp", processed.resource().getFilename());
+    }
+
+    @Test
+    void undecodableImagesAreUploadedWithoutMetadata() throws IOException {
+        byte[] original = ImageMetadataStripperTest.webp(true);
+        MockMultipartFile webp = new MockMultipartFile("image", "photo.webp", "image/webp", original);
+
+        ProcessedImage processed = service.process(webp, ImageType.GIVEAWAY);
+
+        assertFalse(processed.transformed());
+        assertEquals("photo.webp", processed.resource().getFilename());
+        assertEquals(original.length, processed.originalBytes());
+        byte[] uploaded = processed.resource().getContentAsByteArray();
+        assertEquals(uploaded.length, processed.outputBytes());
+        assertFalse(new String(uploaded, StandardCharsets.ISO_8859_1).contains(ImageMetadataStripperTest.GPS_MARKER));
+    }
+
+    @Test
+    void malformedUndecodableImagesAreRejected() {
+        byte[] original = ImageMetadataStripperTest.webp(true);
+        MockMultipartFile webp = new MockMultipartFile("image", "photo.webp", "image/webp",
+            Arrays.copyOf(original, original.length - 10));
+
+        assertThrows(FileUploadException.class, () -> service.process(webp, ImageType.GIVEAWAY));
+    }
+
+    @Test
+    void disabledProcessingUploadsOriginal() throws IOException {
+        ReflectionTestUtils.setField(service, "enabled", false);
+        MockMultipartFile photo = jpeg("photo.jpg", photo(3200, 2400), null);
+
+        ProcessedImage processed = service.process(photo, ImageType.GIVEAWAY);
+
+        assertFalse(processed.transformed());
+        assertEquals(photo.getSize(), processed.outputBytes());
+    }
+
+    @Test
+    void imagesOverTheMemoryBudgetAreRejected() throws IOException {
+        ImageProcessingService small = createService(meterRegistry, 1);
+        try {
+            MockMultipartFile photo = jpeg("photo.jpg", photo(1600, 900), null);
+
+            assertThrows(FileUploadException.class, () -> small.process(photo, ImageType.GIVEAWAY));
+            assertEquals(1.0, meterRegistry.get("image.processing.rejected").tag("reason", "memory").counter().count());
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    private static BufferedImage photo(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int x = 0; x < width; x += 50) {
+            graphics.setColor(new Color((x * 7) % 256, (x * 3) % 256, (x * 11) % 256));
+            graphics.fillRect(x, 0, 50, height);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * JPEG with an optional EXIF APP1 segment added to the writer's native metadata
+     */
+    static MockMultipartFile jpeg(String filename, BufferedImage image, byte[] app1) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        if (app1 != null) {
+            String format = "javax_imageio_jpeg_image_1.0";
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+            IIOMetadataNode exif = new IIOMetadataNode("unknown");
+            exif.setAttribute("MarkerTag", "225");
+            exif.setUserObject(app1);
+            ((IIOMetadataNode) root.getElementsByTagName("markerSequence").item(0)).insertBefore(exif,
+                root.getElementsByTagName("markerSequence").item(0).getFirstChild());
+            metadata.setFromTree(format, root);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, metadata), null);
+        } finally {
+            writer.dispose();
+        }
+        return new MockMultipartFile("image", filename, "image/jpeg", bytes.toByteArray());
+    }
+
+    private static BufferedImage read(ProcessedImage processed) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(processed.resource().getContentAsByteArray()));
+    }
+
+    private static boolean isRed(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getGreen() < 80 && color.getBlue() < 80;
+    }
+}
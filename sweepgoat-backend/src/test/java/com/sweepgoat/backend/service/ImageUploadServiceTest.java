@@ -0,0 +1,262 @@
+package com.sweepgoat.backend.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.sweepgoat.backend.config.CloudflareClientConfig;
+import com.sweepgoat.backend.exception.FileUploadException;
+import com.sweepgoat.backend.model.ImageUpload;
+import com.sweepgoat.backend.repository.ImageUploadRepository;
+import com.sweepgoat.backend.service.ImageProcessingService.ImageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aMultipart;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.binaryEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ImageUploadService against a local WireMock stand-in for the Cloudflare Images API
+ */
+class ImageUploadServiceTest {
+
+    static final String UPLOAD_URL = "/client/v4/accounts/test-account/images/v1";
+    static final String SUCCESS_BODY = """
+        {"success": true, "errors": [], "messages": [],
+         "result": {"id": "img-1", "filename": "logo.png", "uploaded": "2024-01-01T00:00:00Z",
+                    "variants": ["https://imagedelivery.net/hash/img-1/thumb",
+                                 "https://imagedelivery.net/hash/img-1/public"]}}
+        """;
+
+    private static final Long HOST_ID = 7L;
+
+    private static WireMockServer cloudflare;
+    private List<ImageUpload> uploads;
+    private ImageUploadService service;
+
+    @BeforeAll
+    static void startStub() {
+        cloudflare = new WireMockServer(options().dynamicPort().http2PlainDisabled(true));
+        cloudflare.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        cloudflare.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cloudflare.resetAll();
+        uploads = new CopyOnWriteArrayList<>();
+        service = createService(cloudflare.baseUrl(), 3, uploads);
+    }
+
+    static ImageUploadService createService(String wireMockBaseUrl, int maxAttempts) {
+        return createService(wireMockBaseUrl, maxAttempts, new CopyOnWriteArrayList<>());
+    }
+
+    static ImageUploadService createService(String wireMockBaseUrl, int maxAttempts, List<ImageUpload> uploads) {
+        CloudflareClientConfig config = new CloudflareClientConfig();
+        ReflectionTestUtils.setField(config, "baseUrl", wireMockBaseUrl + "/client/v4");
+        ReflectionTestUtils.setField(config, "apiToken", "test-token");
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 2000L);
+        RestClient restClient = config.cloudflareRestClient(RestClient.builder());
+
+        ImageUploadService service = new ImageUploadService();
+        ReflectionTestUtils.setField(service, "cloudflareRestClient", restClient);
+        ReflectionTestUtils.setField(service, "cloudflareAccountId", "test-account");
+        ReflectionTestUtils.setField(service, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(service, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(service, "imageProcessingService",
+            ImageProcessingServiceTest.createService(new SimpleMeterRegistry(), 64));
+        ReflectionTestUtils.setField(service, "imageUploadRepository", repository(uploads));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "dedupEnabled", true);
+        ReflectionTestUtils.setField(service, "dedupCacheSize", 100L);
+        service.init();
+        return service;
+    }
+
+    /**
+     * Mocked ImageUploadRepository backed by the given list, so several services can share it
+     */
+    private static ImageUploadRepository repository(List<ImageUpload> uploads) {
+        ImageUploadRepository repository = mock(ImageUploadRepository.class);
+        when(repository.findByHostIdAndImageTypeAndContentHash(any(), any(), any())).thenAnswer(invocation ->
+            uploads.stream()
+                .filter(upload -> upload.getHostId().equals(invocation.getArgument(0))
+                    && upload.getImageType().equals(invocation.getArgument(1))
+                    && upload.getContentHash().equals(invocation.getArgument(2)))
+                .findFirst());
+        when(repository.save(any())).thenAnswer(invocation -> {
+            uploads.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        return repository;
+    }
+
+    static MockMultipartFile image() {
+        return new MockMultipartFile("image", "logo.png", "image/png", new byte[] {1, 2, 3, 4});
+    }
+
+    @Test
+    void uploadsFileAndReturnsPublicVariant() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody(SUCCESS_BODY)));
+
+        assertEquals("https://imagedelivery.net/hash/img-1/public", service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+
+        cloudflare.verify(postRequestedFor(urlEqualTo(UPLOAD_URL))
+            .withHeader("Authorization", equalTo("Bearer test-token"))
+            .withRequestBodyPart(aMultipart("file").withBody(binaryEqualTo(new byte[] {1, 2, 3, 4})).build()));
+    }
+
+    @Test
+    void retriesServerErrorsThenSucceeds() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).inScenario("flaky")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(503))
+            .willSetStateTo("recovered"));
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).inScenario("flaky")
+            .whenScenarioStateIs("recovered")
+            .willReturn(aResponse().withHeader("Content-Type", "application/json").withBody(SUCCESS_BODY)));
+
+        assertEquals("https://imagedelivery.net/hash/img-1/public", service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+        cloudflare.verify(2, postRequestedFor(urlEqualTo(UPLOAD_URL))
+            .withRequestBodyPart(aMultipart("file").withBody(binaryEqualTo(new byte[] {1, 2, 3, 4})).build()));
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse().withStatus(429)));
+
+        FileUploadException e = assertThrows(FileUploadException.class, () -> service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+
+        assertTrue(e.getMessage().contains("429"));
+        cloudflare.verify(3, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    void reportsApiErrorsWithoutRetrying() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse()
+            .withStatus(400)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"success\": false, \"result\": null, \"errors\": [{\"code\": 5400, \"message\": \"Bad image\"}]}")));
+
+        FileUploadException e = assertThrows(FileUploadException.class, () -> service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+
+        assertEquals("Failed to upload image: Bad image", e.getMessage());
+        cloudflare.verify(1, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    void doesNotRetryErrorsAfterTheRequestWasSent() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse().withStatus(500)));
+
+        FileUploadException e = assertThrows(FileUploadException.class, () -> service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+
+        assertTrue(e.getMessage().contains("500"), e.getMessage());
+        cloudflare.verify(1, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+        assertTrue(uploads.isEmpty());
+    }
+
+    @Test
+    void doesNotRetryReadTimeouts() {
+        // Cloudflare may still store the image after the client gave up waiting
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse()
+            .withFixedDelay(3000)
+            .withHeader("Content-Type", "application/json")
+            .withBody(SUCCESS_BODY)));
+
+        assertThrows(FileUploadException.class, () -> service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+
+        cloudflare.verify(1, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    void retriesConnectionFailures() {
+        ImageUploadService unreachable = createService("http://127.0.0.1:1", 2);
+
+        assertThrows(FileUploadException.class, () -> unreachable.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+    }
+
+    @Test
+    void rejectsInvalidFilesBeforeCallingCloudflare() {
+        MockMultipartFile text = new MockMultipartFile("image", "notes.txt", "text/plain", new byte[] {1});
+
+        assertThrows(FileUploadException.class, () -> service.uploadImage(text, ImageType.GIVEAWAY, HOST_ID));
+        cloudflare.verify(0, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    void duplicateContentReusesUrlWithoutCallingCloudflare() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody(SUCCESS_BODY)));
+
+        String first = service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID);
+        String second = service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID);
+
+        assertEquals(first, second);
+        cloudflare.verify(1, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+        assertEquals(1, uploads.size());
+        assertEquals("9f64a747e1b97f131fabb6b447296c9b6f0201e79fb3c5356e6c77e89b6a806a", uploads.get(0).getContentHash());
+    }
+
+    @Test
+    void storedHashesAreUsedWhenTheCacheIsCold() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody(SUCCESS_BODY)));
+        service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID);
+
+        ImageUploadService otherNode = createService(cloudflare.baseUrl(), 3, uploads);
+
+        assertEquals("https://imagedelivery.net/hash/img-1/public", otherNode.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+        cloudflare.verify(1, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    void otherHostsAndImageTypesUploadAgain() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody(SUCCESS_BODY)));
+
+        service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID);
+        service.uploadImage(image(), ImageType.LOGO, HOST_ID);
+        service.uploadImage(image(), ImageType.GIVEAWAY, 8L);
+
+        cloudflare.verify(3, postRequestedFor(urlEqualTo(UPLOAD_URL)));
+    }
+
+    @Test
+    void failedUploadsAreNotRecorded() {
+        cloudflare.stubFor(post(urlEqualTo(UPLOAD_URL)).willReturn(aResponse().withStatus(429)));
+
+        assertThrows(FileUploadException.class, () -> service.uploadImage(image(), ImageType.GIVEAWAY, HOST_ID));
+
+        assertTrue(uploads.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package com.sweepgoat.backend.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Upload throughput: previous client (new RestTemplate per upload) vs the shared pooled client
+ *
+ * Both post the same 64 KB image to a local WireMock stand-in for Cloudflare Images
+ * from CONCURRENCY threads. Plain HTTP on loopback, so this measures connection and
+ * buffering overhead only; against the real API the per-upload TLS handshake saved by
+ * connection reuse adds to the difference.
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true. Results are printed to stdout.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class ImageUploadThroughputBenchmarkTest {
+
+    private static final int CONCURRENCY = 16;
+    private static final int WARMUP_UPLOADS = 200;
+    private static final int UPLOADS = 2000;
+
+    private static WireMockServer cloudflare;
+    private static MockMultipartFile image;
+
+    @BeforeAll
+    static void startStub() {
+        cloudflare = new WireMockServer(options().dynamicPort().http2PlainDisabled(true)
+            .containerThreads(CONCURRENCY * 4).disableRequestJournal());
+        cloudflare.start();
+        cloudflare.stubFor(post(urlEqualTo(ImageUploadServiceTest.UPLOAD_URL)).willReturn(aResponse()
+            .withHeader("Content-Type", "application/json")
+            .withBody(ImageUploadServiceTest.SUCCESS_BODY)));
+
+        image = new MockMultipartFile("image", "photo.jpg", "image/jpeg", new byte[64 * 1024]);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        cloudflare.stop();
+    }
+
+    @Test
+    void compareClients() throws Exception {
+        String legacyUrl = cloudflare.baseUrl() + ImageUploadServiceTest.UPLOAD_URL;
+        ImageUploadService service = ImageUploadServiceTest.createService(cloudflare.baseUrl(), 3);
+
+        run("new RestTemplate per upload", () -> legacyUpload(legacyUrl));
+        // No host id: the same bytes are uploaded every time, so content deduplication is bypassed
+        run("shared pooled RestClient", () -> service.uploadImage(image, ImageProcessingService.ImageType.GIVEAWAY, null));
+    }
+
+    private static void run(String name, Runnable upload) throws Exception {
+        drive(upload, WARMUP_UPLOADS);
+
+        long start = System.nanoTime();
+        drive(upload, UPLOADS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%-30s %8.0f uploads/s  (%d uploads, %d threads, %.1f s)%n",
+            name, UPLOADS / seconds, UPLOADS, CONCURRENCY, seconds);
+    }
+
+    private static void drive(Runnable upload, int count) throws Exception {
+        try (ExecutorService threads = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(threads.submit(upload));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+    }
+
+    /**
+     * The request ImageUploadService used to send
+     */
+    @SuppressWarnings("rawtypes")
+    private static void legacyUpload(String url) {
+        RestTemplate restTemplate = new RestTemplate();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.setBearerAuth("test-token");
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", image.getResource());
+
+        restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers), Map.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.sweepgoat.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LastLoginTrackerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final List<String> statements = new ArrayList<>();
+    private final List<Object[]> arguments = new ArrayList<>();
+    private boolean failing;
+    private LastLoginTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+            @Override
+            public int update(String sql, Object... args) {
+                if (failing) {
+                    throw new DataAccessResourceFailureException("connection refused");
+                }
+                statements.add(sql);
+                arguments.add(args);
+                return args.length / 2;
+            }
+        };
+
+        tracker = new LastLoginTracker();
+        ReflectionTestUtils.setField(tracker, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(tracker, "batchSize", 2);
+    }
+
+    @Test
+    void flushWritesOneValuesUpdatePerBatch() {
+        tracker.recordLogin(1L, NOW);
+        tracker.recordLogin(2L, NOW.plusSeconds(1));
+        tracker.recordLogin(3L, NOW.plusSeconds(2));
+
+        tracker.flush();
+
+        assertEquals(2, statements.size());
+        String sql = statements.get(0);
+        assertTrue(sql.startsWith("UPDATE users SET last_login_at = v.ts FROM (VALUES (?::bigint, ?::timestamp), (?::bigint, ?::timestamp))"), sql);
+        assertTrue(sql.contains("users.last_login_at < v.ts"), "must never move last_login_at backwards");
+        assertEquals(Map.of(1L, NOW, 2L, NOW.plusSeconds(1), 3L, NOW.plusSeconds(2)), written());
+
+        // Nothing left to write
+        tracker.flush();
+        assertEquals(2, statements.size());
+    }
+
+    @Test
+    void repeatedLoginsCollapseToTheLatest() {
+        tracker.recordLogin(1L, NOW.plusMinutes(5));
+        tracker.recordLogin(1L, NOW);
+        tracker.recordLogin(1L, NOW.plusMinutes(2));
+
+        tracker.flush();
+
+        assertEquals(1, statements.size());
+        assertEquals(Map.of(1L, NOW.plusMinutes(5)), written());
+    }
+
+    @Test
+    void failedBatchIsRequeuedForTheNextFlush() {
+        tracker.recordLogin(1L, NOW);
+        tracker.recordLogin(2L, NOW);
+
+        failing = true;
+        tracker.flush();
+        assertTrue(statements.isEmpty());
+
+        // A newer login in between wins over the re-queued timestamp
+        tracker.recordLogin(2L, NOW.plusMinutes(1));
+        failing = false;
+        tracker.flush();
+
+        assertEquals(Map.of(1L, NOW, 2L, NOW.plusMinutes(1)), written());
+    }
+
+    private Map<Long, LocalDateTime> written() {
+        Map<Long, LocalDateTime> written = new HashMap<>();
+        for (Object[] args : arguments) {
+            for (int i = 0; i < args.length; i += 2) {
+                written.put((Long) args[i], ((Timestamp) args[i + 1]).toLocalDateTime());
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,168 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.model.GiveawayEntry;
+import com.sweepgoat.backend.repository.CampaignRepository;
+import com.sweepgoat.backend.repository.GiveawayEntryRepository;
+import com.sweepgoat.backend.repository.GiveawayRepository;
+import com.sweepgoat.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.function.Supplier;
+
+/**
+ * Per-endpoint latency and heap allocation of the projection-based list queries,
+ * next to the entity-loading queries they replaced (entities loaded in a read-only
+ * transaction, as the old service methods did, then mapped field by field).
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true and TEST_DB_URL
+ * pointing at a throwaway Postgres database. Results are printed to stdout.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class ListEndpointProjectionBenchmarkTest {
+
+    private static final String SUBDOMAIN = "projbench";
+    private static final int USERS = 2000;
+    private static final int GIVEAWAYS = 50;
+    private static final int CAMPAIGNS = 200;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate readOnly;
+    private static Long hostId;
+    private static Long giveawayId;
+    private static Long userId;
+
+    @BeforeAll
+    static void seed() {
+        context = IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        cleanup();
+        jdbcTemplate.update(
+            "INSERT INTO hosts (subdomain, company_name, email, password_hash, email_verified, created_at, is_active) " +
+            "VALUES (?, 'Projection Bench', 'projbench@example.com', 'x', true, now(), true)", SUBDOMAIN);
+        hostId = jdbcTemplate.queryForObject("SELECT id FROM hosts WHERE subdomain = ?", Long.class, SUBDOMAIN);
+
+        jdbcTemplate.update(
+            "INSERT INTO users (host_id, email, first_name, last_name, password_hash, email_opt_in, sms_opt_in, " +
+            "email_verified, verification_code, created_at, is_active) " +
+            "SELECT ?, 'bench' || u || '@example.com', 'First' || u, 'Last' || u, " +
+            "'$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234', true, false, true, '123456', now(), true " +
+            "FROM generate_series(1, ?) u", hostId, USERS);
+        jdbcTemplate.update(
+            "INSERT INTO giveaways (host_id, title, description, start_date, end_date, status, created_at) " +
+            "SELECT ?, 'Giveaway ' || g, repeat('Long description text. ', 100), now(), now() + interval '7 days', " +
+            "CASE WHEN g = 1 THEN 'ACTIVE' ELSE 'ENDED' END, now() FROM generate_series(1, ?) g", hostId, GIVEAWAYS);
+        giveawayId = jdbcTemplate.queryForObject(
+            "SELECT id FROM giveaways WHERE host_id = ? AND status = 'ACTIVE'", Long.class, hostId);
+        jdbcTemplate.update(
+            "INSERT INTO giveaway_entries (user_id, giveaway_id, points, free_entry_claimed, created_at) " +
+            "SELECT u.id, g.id, (u.id + g.id) % 100, true, now() FROM users u CROSS JOIN giveaways g " +
+            "WHERE u.host_id = ? AND g.host_id = ?", hostId, hostId);
+        userId = jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE host_id = ?", Long.class, hostId);
+        jdbcTemplate.update(
+            "INSERT INTO campaigns (host_id, name, type, subject, message, status, target_type, sent_at, created_at) " +
+            "SELECT ?, 'Campaign ' || c, 'EMAIL', 'Subject', repeat('Message body. ', 200), 'SENT', 'ALL_USERS', now(), now() " +
+            "FROM generate_series(1, ?) c", hostId, CAMPAIGNS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (context != null) {
+            cleanup();
+            context.close();
+        }
+    }
+
+    @Test
+    void compareListEndpoints() {
+        UserAuthService userAuthService = context.getBean(UserAuthService.class);
+        GiveawayService giveawayService = context.getBean(GiveawayService.class);
+        GiveawayEntryService giveawayEntryService = context.getBean(GiveawayEntryService.class);
+        MarketingCampaignService marketingCampaignService = context.getBean(MarketingCampaignService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        GiveawayRepository giveawayRepository = context.getBean(GiveawayRepository.class);
+        GiveawayEntryRepository giveawayEntryRepository = context.getBean(GiveawayEntryRepository.class);
+        CampaignRepository campaignRepository = context.getBean(CampaignRepository.class);
+
+        measure("users (projection)", () ->
+            userAuthService.getUsersByHostId(hostId, 0, 500, "createdAt", "desc", null, null, null, null));
+        measure("users (entities)", () -> inReadOnly(() ->
+            userRepository.findByHostId(hostId).stream().limit(500).map(u -> u.getEmail() + u.getFirstName()).toList()));
+
+        measure("giveaways (projection)", () ->
+            giveawayService.getGiveawaysBySubdomain(SUBDOMAIN, null, PageRequest.of(0, 50)));
+        measure("giveaways (entities + count per row)", () -> inReadOnly(() ->
+            giveawayRepository.findByHostId(hostId, PageRequest.of(0, 50))
+                .map(g -> g.getTitle() + giveawayEntryRepository.countEntriesByGiveawayId(g.getId())).getContent()));
+
+        measure("user entries (projection)", () -> giveawayEntryService.getUserEntries(userId));
+        measure("user entries (entities)", () -> inReadOnly(() ->
+            giveawayEntryRepository.findByUserId(userId).stream().map(e -> e.getGiveaway().getTitle()).toList()));
+
+        measure("leaderboard (projection)", () -> giveawayEntryService.getEntriesForGiveaway(giveawayId, hostId));
+        measure("leaderboard (entities)", () -> inReadOnly(() ->
+            giveawayEntryRepository.findByGiveawayId(giveawayId).stream()
+                .sorted(Comparator.comparing(GiveawayEntry::getPoints).reversed())
+                .map(e -> e.getUser().getEmail()).toList()));
+
+        measure("campaigns (projection)", () -> marketingCampaignService.getAllCampaigns(hostId));
+        measure("campaigns (entities)", () -> inReadOnly(() ->
+            campaignRepository.findByHostId(hostId).stream().map(c -> c.getName()).toList()));
+    }
+
+    private static <T> T inReadOnly(Supplier<T> work) {
+        return readOnly.execute(status -> work.get());
+    }
+
+    private static void measure(String name, Supplier<?> call) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-40s %8.2f ms/call %10d KB allocated/call%n",
+            name, elapsedNanos / 1_000_000.0 / ITERATIONS, allocated / 1024 / ITERATIONS);
+    }
+
+    private static void cleanup() {
+        String host = "SELECT id FROM hosts WHERE subdomain = '" + SUBDOMAIN + "'";
+        jdbcTemplate.update("DELETE FROM campaigns WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM giveaway_entries WHERE giveaway_id IN (SELECT id FROM giveaways WHERE host_id IN (" + host + "))");
+        jdbcTemplate.update("DELETE FROM giveaways WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM hosts WHERE subdomain = ?", SUBDOMAIN);
+    }
+}
@@ -0,0 +1,279 @@
+package com.sweepgoat.backend.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.sweepgoat.backend.dto.PaginatedResponse;
+import com.sweepgoat.backend.dto.SendCampaignRequest;
+import com.sweepgoat.backend.dto.UserListResponse;
+import com.sweepgoat.backend.model.Campaign;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.model.User;
+import com.sweepgoat.backend.repository.CampaignLogRepository;
+import com.sweepgoat.backend.repository.CampaignRepository;
+import com.sweepgoat.backend.repository.HostRepository;
+import com.sweepgoat.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Request throughput of a campaign send under the development and the prod logging setup
+ *
+ * Each "request" runs the real MarketingCampaignService.sendCampaign for RECIPIENTS users
+ * (repositories mocked, one recipient failing), wrapped in the DispatcherServlet and
+ * Hibernate SQL debug lines those components log for it. Logging is initialized the way
+ * the application does it: logback-spring.xml through Spring Boot's LoggingSystem, with
+ * the logging.level.* settings of application.properties (dev) or of
+ * application-prod.properties on top (prod profile: async JSON appender).
+ *
+ * Console output goes to a temp file so the numbers are not dominated by the terminal.
+ * The prod async appender drops INFO and below when its queue is nearly full, so next to
+ * requests/s it prints the events that passed the level checks (counted by an extra
+ * appender), the lines actually written and the difference, i.e. what was dropped.
+ * All counts include the warm-up requests.
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true. Results are
+ * printed to stdout.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class LoggingThroughputBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 2000;
+    private static final int RECIPIENTS = 20;
+
+    private static final org.slf4j.Logger dispatcherLog =
+        LoggerFactory.getLogger("org.springframework.web.servlet.DispatcherServlet");
+    private static final org.slf4j.Logger sqlLog = LoggerFactory.getLogger("org.hibernate.SQL");
+
+    @Test
+    void compareLoggingSetups() throws Exception {
+        MarketingCampaignService service = createService();
+
+        run("dev config (application.properties)", service);
+        run("prod profile (async JSON appender)", service, "prod");
+
+        // Leave the default setup behind for whatever runs next in this JVM
+        initializeLogging();
+    }
+
+    private void request(MarketingCampaignService service) {
+        dispatcherLog.debug("POST \"/api/host/campaigns/send\", parameters={}", "{}");
+        dispatcherLog.debug("Mapped to com.sweepgoat.backend.controller.HostCampaignController#sendCampaign");
+
+        SendCampaignRequest request = new SendCampaignRequest();
+        request.setName("Spring promo");
+        request.setType("EMAIL");
+        request.setSubject("Hello {{firstName}} from {{hostCompanyName}}");
+        request.setMessage("Thanks for entering, good luck in the draw!");
+        service.sendCampaign(request, 1L);
+
+        dispatcherLog.debug("Completed 200 OK");
+    }
+
+    private void run(String name, MarketingCampaignService service, String... profiles) throws Exception {
+        File file = Files.createTempFile("logging-benchmark", ".log").toFile();
+        file.deleteOnExit();
+
+        PrintStream stdout = System.out;
+        AtomicLong accepted = new AtomicLong();
+        long elapsedNanos;
+        try (PrintStream console = new PrintStream(new BufferedOutputStream(new FileOutputStream(file)), false)) {
+            System.setOut(console);
+            LoggerContext context = initializeLogging(profiles);
+            countAcceptedEvents(context, accepted);
+
+            // Warm up
+            for (int i = 0; i < 500; i++) {
+                request(service);
+            }
+
+            elapsedNanos = timeRequests(service);
+
+            // Stopping the context drains the async appender into the file
+            context.stop();
+            console.flush();
+            System.setOut(stdout);
+
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            long written = countLines(file);
+            System.out.printf("%-40s %10.0f requests/s %10d events %10d written %8d dropped %8d KB%n",
+                name, THREADS * REQUESTS_PER_THREAD / seconds, accepted.get(), written,
+                accepted.get() - written, file.length() / 1024);
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    private long timeRequests(MarketingCampaignService service) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    request(service);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * logback-spring.xml plus the logging.level.* properties for the profiles, as Spring Boot applies them
+     */
+    private static LoggerContext initializeLogging(String... profiles) throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(profiles);
+        List<String> files = new ArrayList<>(List.of("application.properties"));
+        for (String profile : profiles) {
+            files.add("application-" + profile + ".properties");
+        }
+        Properties properties = new Properties();
+        for (String name : files) {
+            properties.putAll(PropertiesLoaderUtils.loadProperties(new ClassPathResource(name)));
+        }
+        properties.stringPropertyNames().stream()
+            .filter(key -> key.startsWith("logging."))
+            .forEach(key -> environment.setProperty(key, properties.getProperty(key)));
+
+        LoggingSystem loggingSystem = LoggingSystem.get(LoggingThroughputBenchmarkTest.class.getClassLoader());
+        loggingSystem.cleanUp();
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), null, null);
+        properties.stringPropertyNames().stream()
+            .filter(key -> key.startsWith("logging.level."))
+            .forEach(key -> loggingSystem.setLogLevel(
+                key.substring("logging.level.".length()),
+                LogLevel.valueOf(properties.getProperty(key).trim().toUpperCase(Locale.ROOT))));
+
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+
+    /**
+     * Count every event that passes the level checks, before any appender can drop it
+     */
+    private static void countAcceptedEvents(LoggerContext context, AtomicLong accepted) {
+        AppenderBase<ILoggingEvent> counter = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                accepted.incrementAndGet();
+            }
+        };
+        counter.setContext(context);
+        counter.setName("COUNTER");
+        counter.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(counter);
+    }
+
+    private static long countLines(File file) throws Exception {
+        try (Stream<String> lines = Files.lines(file.toPath())) {
+            return lines.count();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MarketingCampaignService createService() {
+        Host host = new Host();
+        host.setId(1L);
+        host.setSubdomain("bench");
+        host.setCompanyName("Bench Co");
+
+        List<UserListResponse> recipients = new ArrayList<>();
+        for (long id = 1; id <= RECIPIENTS; id++) {
+            recipients.add(new UserListResponse(id, "user" + id + "@example.com", "User" + id, "Doe", null,
+                true, true, LocalDateTime.now(), null));
+        }
+
+        UserAuthService userAuthService = new UserAuthService() {
+            @Override
+            public PaginatedResponse<UserListResponse> getUsersByHostId(Long hostId, int page, int size, String sortBy,
+                    String sortOrder, Long giveawayId, Boolean emailVerified, Boolean emailOptIn, Boolean smsOptIn) {
+                sqlLog.debug("select u1_0.id,u1_0.email,u1_0.first_name,u1_0.last_name from users u1_0 " +
+                    "where u1_0.host_id=? order by u1_0.created_at desc offset ? rows fetch first ? rows only");
+                return new PaginatedResponse<>(recipients, 0, 1, recipients.size(), size, false, false);
+            }
+        };
+
+        // The last recipient fails to load, exercising the rate-limited failure log
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            sqlLog.debug("select u1_0.id,u1_0.email,u1_0.first_name,u1_0.last_name from users u1_0 where u1_0.id in (?)");
+            List<User> users = new ArrayList<>();
+            for (Long id : (Iterable<Long>) invocation.getArgument(0)) {
+                if (id == RECIPIENTS) {
+                    continue;
+                }
+                User user = new User();
+                user.setId(id);
+                user.setEmail("user" + id + "@example.com");
+                user.setFirstName("User" + id);
+                users.add(user);
+            }
+            return users;
+        });
+        CampaignRepository campaignRepository = mock(CampaignRepository.class);
+        when(campaignRepository.save(any())).thenAnswer(invocation -> {
+            sqlLog.debug("insert into campaigns (host_id,name,type,status) values (?,?,?,?)");
+            Campaign campaign = invocation.getArgument(0);
+            campaign.setId(1L);
+            return campaign;
+        });
+        CampaignLogRepository campaignLogRepository = mock(CampaignLogRepository.class);
+        when(campaignLogRepository.saveAll(any())).thenAnswer(invocation -> {
+            sqlLog.debug("insert into campaign_logs (campaign_id,user_id,type,status) values (?,?,?,?)");
+            return invocation.getArgument(0);
+        });
+        HostRepository hostRepository = mock(HostRepository.class);
+        when(hostRepository.findById(1L)).thenReturn(Optional.of(host));
+
+        MarketingCampaignService service = new MarketingCampaignService();
+        ReflectionTestUtils.setField(service, "userAuthService", userAuthService);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "campaignRepository", campaignRepository);
+        ReflectionTestUtils.setField(service, "campaignLogRepository", campaignLogRepository);
+        ReflectionTestUtils.setField(service, "hostRepository", hostRepository);
+        return service;
+    }
+}
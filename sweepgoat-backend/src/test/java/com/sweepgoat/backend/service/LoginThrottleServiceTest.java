@@ -0,0 +1,88 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.TooManyRequestsException;
+import com.sweepgoat.backend.service.LoginThrottleService.Endpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottleService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = createService(meterRegistry, 3, 2);
+    }
+
+    static LoginThrottleService createService(SimpleMeterRegistry meterRegistry, int perIp, int perAccount) {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.throttle.user-login.window-seconds", "300")
+            .withProperty("app.throttle.user-login.per-ip", String.valueOf(perIp))
+            .withProperty("app.throttle.user-login.per-account", String.valueOf(perAccount));
+
+        LoginThrottleService service = new LoginThrottleService();
+        ReflectionTestUtils.setField(service, "environment", environment);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "sketchDepth", 3);
+        ReflectionTestUtils.setField(service, "sketchWidth", 1024);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void ipIsRejectedOverItsLimit() {
+        for (int i = 0; i < 3; i++) {
+            service.checkIp(Endpoint.USER_LOGIN, "203.0.113.7");
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+            () -> service.checkIp(Endpoint.USER_LOGIN, "203.0.113.7"));
+
+        assertTrue(e.getRetryAfterSeconds() >= 1 && e.getRetryAfterSeconds() <= 600);
+        assertDoesNotThrow(() -> service.checkIp(Endpoint.USER_LOGIN, "203.0.113.8"));
+        assertDoesNotThrow(() -> service.checkIp(Endpoint.HOST_LOGIN, "203.0.113.7"));
+        assertEquals(1.0, meterRegistry.get("auth.throttle.requests")
+            .tags("endpoint", "user-login", "dimension", "ip", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void accountKeyIgnoresCaseAndIsScopedBySubdomain() {
+        service.checkAccount(Endpoint.USER_LOGIN, "acme", "Jane@Example.com");
+        service.checkAccount(Endpoint.USER_LOGIN, "ACME", " jane@example.com ");
+
+        assertThrows(TooManyRequestsException.class,
+            () -> service.checkAccount(Endpoint.USER_LOGIN, "acme", "jane@example.com"));
+        assertDoesNotThrow(() -> service.checkAccount(Endpoint.USER_LOGIN, "other", "jane@example.com"));
+    }
+
+    @Test
+    void disabledThrottleAllowsEverything() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            service.checkIp(Endpoint.USER_LOGIN, "203.0.113.7");
+            service.checkAccount(Endpoint.USER_LOGIN, "acme", "jane@example.com");
+        }
+    }
+
+    @Test
+    void fingerprintDoesNotContainTheEmail() {
+        String fingerprint = LoginThrottleService.fingerprint("acme|jane@example.com");
+
+        assertEquals(8, fingerprint.length());
+        assertFalse(fingerprint.contains("jane"));
+        assertEquals(fingerprint, LoginThrottleService.fingerprint("acme|jane@example.com"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.GiveawayEntryException;
+import com.sweepgoat.backend.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private OperationMetrics operationMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        operationMetrics = new OperationMetrics();
+        ReflectionTestUtils.setField(operationMetrics, "meterRegistry", registry);
+    }
+
+    @Test
+    void recordsSuccessWithExtraTags() {
+        String result = operationMetrics.record("giveaway.entry.claims", () -> "ok", "type", "free");
+
+        assertEquals("ok", result);
+        assertEquals(1, registry.get("giveaway.entry.claims")
+            .tag("type", "free")
+            .tag("outcome", "success")
+            .timer().count());
+    }
+
+    @Test
+    void recordsOutcomeAndRethrowsOnFailure() {
+        assertThrows(GiveawayEntryException.class, () -> operationMetrics.record("giveaway.winner.draws",
+            () -> { throw new GiveawayEntryException("No entries"); }));
+        assertThrows(ResourceNotFoundException.class, () -> operationMetrics.record("giveaway.winner.draws",
+            () -> { throw new ResourceNotFoundException("Giveaway not found"); }));
+        assertThrows(IllegalStateException.class, () -> operationMetrics.record("giveaway.winner.draws",
+            () -> { throw new IllegalStateException("boom"); }));
+
+        assertEquals(1, registry.get("giveaway.winner.draws").tag("outcome", "rejected").timer().count());
+        assertEquals(1, registry.get("giveaway.winner.draws").tag("outcome", "not_found").timer().count());
+        assertEquals(1, registry.get("giveaway.winner.draws").tag("outcome", "error").timer().count());
+    }
+}
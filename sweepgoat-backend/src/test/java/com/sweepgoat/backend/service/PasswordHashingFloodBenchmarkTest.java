@@ -0,0 +1,97 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Login flood: BCrypt on request threads (previous behaviour) vs PasswordHashingService
+ *
+ * A fixed pool of REQUEST_THREADS stands in for Tomcat. LOGINS password checks are
+ * submitted to it at once, and while they drain a cheap "other endpoint" request is
+ * submitted every PROBE_INTERVAL_MS. Prints login outcomes and the latency of the
+ * probe requests: with hashing on request threads every thread is busy burning CPU,
+ * with the bounded pool excess logins are shed (503) and the probes keep being served.
+ *
+ * Not an assertion-based test; run manually with RUN_BENCHMARKS=true. Results are printed to stdout.
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class PasswordHashingFloodBenchmarkTest {
+
+    private static final int REQUEST_THREADS = 200;
+    private static final int LOGINS = 2000;
+    private static final int PROBE_INTERVAL_MS = 20;
+
+    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
+    private static final String HASH = ENCODER.encode("correct horse");
+
+    @Test
+    void compareLoginFlood() throws Exception {
+        run("BCrypt on request threads", () -> ENCODER.matches("correct horse", HASH));
+
+        PasswordHashingService service = PasswordHashingServiceTest.createService(
+            ENCODER, new SimpleMeterRegistry(), 0, 64, 2000);
+        try {
+            run("PasswordHashingService", () -> service.matches("correct horse", HASH));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static void run(String name, BooleanSupplier login) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Long> loginMillis = Collections.synchronizedList(new ArrayList<>());
+        List<Long> probeMillis = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        try (ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS)) {
+            List<Future<?>> logins = new ArrayList<>(LOGINS);
+            for (int i = 0; i < LOGINS; i++) {
+                logins.add(requestThreads.submit(() -> {
+                    long submitted = System.nanoTime();
+                    try {
+                        login.getAsBoolean();
+                        succeeded.incrementAndGet();
+                    } catch (ServiceOverloadedException e) {
+                        rejected.incrementAndGet();
+                    }
+                    loginMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+                }));
+            }
+
+            while (!logins.stream().allMatch(Future::isDone)) {
+                long submitted = System.nanoTime();
+                requestThreads.submit(() -> probeMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted)));
+                Thread.sleep(PROBE_INTERVAL_MS);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%-28s %5d ok %5d rejected in %5.1f s | login p50 %5d ms p99 %5d ms | other requests p50 %5d ms p99 %5d ms%n",
+            name, succeeded.get(), rejected.get(), seconds,
+            percentile(loginMillis, 50), percentile(loginMillis, 99),
+            percentile(probeMillis, 50), percentile(probeMillis, 99));
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(sorted);
+        return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+    }
+}
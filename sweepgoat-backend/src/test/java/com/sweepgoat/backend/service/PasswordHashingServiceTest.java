@@ -0,0 +1,158 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    static PasswordHashingService createService(PasswordEncoder encoder, SimpleMeterRegistry meterRegistry,
+                                                int threads, int queueCapacity, long timeoutMs) {
+        PasswordHashingService service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "threads", threads);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "timeoutMs", timeoutMs);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void hashesFromThePoolStillVerify() {
+        service = createService(new BCryptPasswordEncoder(4), meterRegistry, 2, 8, 5000);
+
+        String hash = service.encode("correct horse");
+
+        assertNotEquals("correct horse", hash);
+        assertTrue(service.matches("correct horse", hash));
+        assertFalse(service.matches("wrong horse", hash));
+        assertTrue(new BCryptPasswordEncoder().matches("correct horse", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        service = createService(encoder, meterRegistry, 1, 1, 5000);
+
+        // One hash running on the only thread, one waiting in the only queue slot
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        waitForQueueDepth(1);
+
+        long start = System.nanoTime();
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class, () -> service.encode("c"));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue_full").counter().count());
+
+        encoder.release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void callersGiveUpAfterTimeoutAndQueuedWorkIsCancelled() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        service = createService(encoder, meterRegistry, 1, 4, 100);
+
+        CompletableFuture<Void> blocker = CompletableFuture.runAsync(() ->
+            assertThrows(ServiceOverloadedException.class, () -> service.encode("a")));
+        assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+
+        // Queued behind the blocked hash; times out before a thread picks it up
+        assertThrows(ServiceOverloadedException.class, () -> service.encode("b"));
+        blocker.get(5, TimeUnit.SECONDS);
+
+        encoder.release.countDown();
+        Thread.sleep(200);
+        assertEquals(1, encoder.calls.get(), "cancelled task must not be hashed");
+        assertEquals(2.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    void encoderErrorsReachTheCaller() {
+        PasswordEncoder failing = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("Invalid salt version");
+            }
+        };
+        service = createService(failing, meterRegistry, 1, 4, 5000);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.matches("a", "b"));
+
+        assertEquals("Invalid salt version", e.getMessage());
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() >= depth) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("queue never reached depth " + depth);
+    }
+
+    /**
+     * Encoder that holds every hash until released
+     */
+    private static class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.incrementAndGet();
+            started.countDown();
+            // Like BCrypt, ignores interrupts: a cancelled caller does not free the thread early
+            boolean interrupted = false;
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.sweepgoat.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicContentVersionServiceTest {
+
+    private static final long SEEDED_VERSION = 1_700_000_000_000L;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger upserts = new AtomicInteger();
+    private PublicContentVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                loads.incrementAndGet();
+                return (List<T>) List.of(SEEDED_VERSION);
+            }
+
+            @Override
+            public int update(String sql, Object... args) {
+                upserts.incrementAndGet();
+                return 1;
+            }
+        };
+
+        service = new PublicContentVersionService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "cacheInvalidationBus", new CacheInvalidationBus());
+        ReflectionTestUtils.setField(service, "maxSize", 100L);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 300L);
+        service.init();
+    }
+
+    @Test
+    void seedsFromDatabaseOnce() {
+        assertEquals(SEEDED_VERSION, service.getVersion(1L));
+        assertEquals(SEEDED_VERSION, service.getVersion(1L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void versionOnlyMovesForward() {
+        service.getVersion(1L);
+
+        service.onMessage("1:" + (SEEDED_VERSION - 5));
+        assertEquals(SEEDED_VERSION, service.getVersion(1L));
+
+        service.onMessage("1:" + (SEEDED_VERSION + 5));
+        assertEquals(SEEDED_VERSION + 5, service.getVersion(1L));
+    }
+
+    @Test
+    void clearMessageReseedsFromDatabase() {
+        service.onMessage("1:" + (SEEDED_VERSION + 5));
+        service.onMessage(null);
+
+        assertEquals(SEEDED_VERSION, service.getVersion(1L));
+    }
+
+    @Test
+    void changeInsideTransactionIsVisibleOnlyAfterCommit() {
+        service.getVersion(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.recordChange(1L);
+            assertEquals(SEEDED_VERSION, service.getVersion(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.getVersion(1L) > SEEDED_VERSION);
+    }
+
+    @Test
+    void entriesAreCoalescedIntoOneChangePerFlush() {
+        service.getVersion(1L);
+
+        for (int i = 0; i < 50; i++) {
+            service.recordEntryAdded(1L);
+        }
+        assertEquals(SEEDED_VERSION, service.getVersion(1L));
+        assertEquals(0, upserts.get());
+
+        service.flushEntryChanges();
+        assertEquals(1, upserts.get());
+        assertTrue(service.getVersion(1L) > SEEDED_VERSION);
+
+        // Nothing new since the last flush
+        service.flushEntryChanges();
+        assertEquals(1, upserts.get());
+    }
+}
@@ -0,0 +1,160 @@
+package com.sweepgoat.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweepgoat.backend.dto.GiveawayListResponse;
+import com.sweepgoat.backend.dto.PaginatedResponse;
+import com.sweepgoat.backend.exception.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicGiveawayPageCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private volatile CountDownLatch loadGate = new CountDownLatch(0);
+    private PublicGiveawayPageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        GiveawayService giveawayService = new GiveawayService() {
+            @Override
+            public PaginatedResponse<GiveawayListResponse> getGiveawaysBySubdomain(String subdomain, String status, Pageable pageable) {
+                loads.incrementAndGet();
+                try {
+                    loadGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new PaginatedResponse<>(List.of(), pageable.getPageNumber(), 0, 0L, pageable.getPageSize(), false, false);
+            }
+        };
+
+        cache = new PublicGiveawayPageCache();
+        ReflectionTestUtils.setField(cache, "giveawayService", giveawayService);
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "cacheInvalidationBus", new CacheInvalidationBus());
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSizeMb", 1L);
+        ReflectionTestUtils.setField(cache, "maxCachedPages", 3);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "refreshThreads", 1);
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void servesRepeatedPagesWithoutReloading() {
+        byte[] first = cache.get(1L, "acme", "ACTIVE", 0, 5, 10L).json();
+        byte[] second = cache.get(1L, "acme", "ACTIVE", 0, 5, 10L).json();
+
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"pageSize\":5"));
+    }
+
+    @Test
+    void emptyStatusSharesTheUnfilteredPage() {
+        cache.get(1L, "acme", null, 0, 5, 10L);
+        cache.get(1L, "acme", "", 0, 5, 10L);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictionDropsOnlyThatHostsPages() {
+        cache.get(1L, "acme", null, 0, 5, 10L);
+        cache.get(1L, "acme", "ENDED", 1, 5, 10L);
+        cache.get(2L, "other", null, 0, 5, 10L);
+
+        cache.onMessage("1");
+        cache.get(1L, "acme", null, 0, 5, 10L);
+        cache.get(2L, "other", null, 0, 5, 10L);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void clearMessageDropsEverything() {
+        cache.get(1L, "acme", null, 0, 5, 10L);
+        cache.get(2L, "other", null, 0, 5, 10L);
+
+        cache.onMessage(null);
+        cache.get(1L, "acme", null, 0, 5, 10L);
+        cache.get(2L, "other", null, 0, 5, 10L);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void newerVersionServesTheStoredPageWhileReloadingInTheBackground() throws InterruptedException {
+        assertEquals(10L, cache.get(1L, "acme", null, 0, 5, 10L).version());
+
+        // A request that read an older version still gets the stored page
+        assertEquals(10L, cache.get(1L, "acme", null, 0, 5, 9L).version());
+        assertEquals(1, loads.get());
+
+        // The reload blocks, requests do not: they get the old bytes under their own version
+        loadGate = new CountDownLatch(1);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(10L, cache.get(1L, "acme", null, 0, 5, 11L).version());
+        }
+        loadGate.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.get(1L, "acme", null, 0, 5, 11L).version() != 11L) {
+            assertTrue(System.nanoTime() < deadline, "background reload did not finish");
+            Thread.sleep(5);
+        }
+        // One reload for all the requests that saw the newer version
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictionUsesTheHostIndex() {
+        cache.get(1L, "acme", null, 0, 5, 10L);
+        cache.get(1L, "acme", "ENDED", 1, 5, 10L);
+        cache.get(2L, "other", null, 0, 5, 10L);
+        assertEquals(2, cache.indexedKeyCount(1L));
+
+        cache.evictHost(1L);
+
+        assertEquals(0, cache.indexedKeyCount(1L));
+        assertEquals(1, cache.indexedKeyCount(2L));
+    }
+
+    @Test
+    void deepPagesAndUnknownStatusesAreNotCached() {
+        cache.get(1L, "acme", null, 3, 5, 10L);
+        cache.get(1L, "acme", null, 3, 5, 10L);
+        cache.get(1L, "acme", "whatever", 0, 5, 10L);
+        cache.get(1L, "acme", "whatever", 0, 5, 10L);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void rejectsOutOfRangePageAndSize() {
+        assertThrows(BadRequestException.class, () -> cache.get(1L, "acme", null, 0, 0, 10L));
+        assertThrows(BadRequestException.class, () -> cache.get(1L, "acme", null, 0, 101, 10L));
+        assertThrows(BadRequestException.class, () -> cache.get(1L, "acme", null, -1, 5, 10L));
+        assertEquals(0, loads.get());
+    }
+}
@@ -0,0 +1,138 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.dto.SendCampaignRequest;
+import com.sweepgoat.backend.util.QueryBudget;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * SQL statement budgets for the list/detail endpoints' service calls
+ *
+ * Each endpoint is exercised against enough rows that an N+1 (one query per row)
+ * would blow its budget. Requires TEST_DB_URL pointing at a throwaway Postgres database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+class QueryBudgetIntegrationTest {
+
+    private static final String SUBDOMAIN = "querybudget";
+    private static final int USERS = 30;
+    private static final int GIVEAWAYS = 10;
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static Long hostId;
+    private static Long giveawayId;
+    private static Long userId;
+    private static Long campaignId;
+
+    @BeforeAll
+    static void seed() {
+        context = IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        cleanup();
+        jdbcTemplate.update(
+            "INSERT INTO hosts (subdomain, company_name, email, password_hash, email_verified, created_at, is_active) " +
+            "VALUES (?, 'Query Budget', 'querybudget@example.com', 'x', true, now(), true)", SUBDOMAIN);
+        hostId = jdbcTemplate.queryForObject("SELECT id FROM hosts WHERE subdomain = ?", Long.class, SUBDOMAIN);
+
+        jdbcTemplate.update(
+            "INSERT INTO users (host_id, email, first_name, last_name, password_hash, email_opt_in, sms_opt_in, " +
+            "email_verified, verification_code, created_at, is_active) " +
+            "SELECT ?, 'budget' || u || '@example.com', 'First' || u, 'Last' || u, 'x', true, false, true, " +
+            "'123456', now() - u * interval '1 minute', true FROM generate_series(1, ?) u", hostId, USERS);
+        jdbcTemplate.update(
+            "INSERT INTO giveaways (host_id, title, description, start_date, end_date, status, created_at) " +
+            "SELECT ?, 'Giveaway ' || g, 'Description', now() - g * interval '1 day', now() + interval '7 days', " +
+            "CASE WHEN g = 1 THEN 'ACTIVE' ELSE 'ENDED' END, now() FROM generate_series(1, ?) g", hostId, GIVEAWAYS);
+        giveawayId = jdbcTemplate.queryForObject(
+            "SELECT id FROM giveaways WHERE host_id = ? AND status = 'ACTIVE'", Long.class, hostId);
+        jdbcTemplate.update(
+            "INSERT INTO giveaway_entries (user_id, giveaway_id, points, free_entry_claimed, created_at) " +
+            "SELECT u.id, g.id, (u.id + g.id) % 100, true, now() FROM users u CROSS JOIN giveaways g " +
+            "WHERE u.host_id = ? AND g.host_id = ?", hostId, hostId);
+        userId = jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE host_id = ?", Long.class, hostId);
+
+        jdbcTemplate.update(
+            "INSERT INTO campaigns (host_id, name, type, subject, message, status, target_type, sent_at, created_at) " +
+            "VALUES (?, 'Budget Campaign', 'EMAIL', 'Subject', 'Message', 'SENT', 'ALL_USERS', now(), now())", hostId);
+        campaignId = jdbcTemplate.queryForObject("SELECT id FROM campaigns WHERE host_id = ?", Long.class, hostId);
+        jdbcTemplate.update(
+            "INSERT INTO campaign_logs (campaign_id, user_id, type, status, sent_at, created_at) " +
+            "SELECT ?, id, 'EMAIL', 'SENT', now(), now() FROM users WHERE host_id = ?", campaignId, hostId);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (context != null) {
+            cleanup();
+            context.close();
+        }
+    }
+
+    @Test
+    @QueryBudget(3)
+    void hostUserList() {
+        context.getBean(UserAuthService.class)
+            .getUsersByHostId(hostId, 0, USERS, "createdAt", "desc", null, null, null, null);
+    }
+
+    @Test
+    @QueryBudget(3)
+    void publicGiveawayList() {
+        context.getBean(GiveawayService.class)
+            .getGiveawaysBySubdomain(SUBDOMAIN, null, PageRequest.of(0, GIVEAWAYS));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void leaderboard() {
+        context.getBean(GiveawayEntryService.class).getEntriesForGiveaway(giveawayId, hostId);
+    }
+
+    @Test
+    @QueryBudget(2)
+    void userEntries() {
+        context.getBean(GiveawayEntryService.class).getUserEntries(userId);
+    }
+
+    @Test
+    @QueryBudget(2)
+    void campaignDetails() {
+        context.getBean(MarketingCampaignService.class).getCampaignDetails(campaignId, hostId);
+    }
+
+    /**
+     * Host, recipient page, one bulk load of the recipients, sequence calls, the campaign
+     * insert and update and the batched logs: a fixed number whatever the recipient count
+     */
+    @Test
+    @QueryBudget(12)
+    void sendCampaign() {
+        SendCampaignRequest request = new SendCampaignRequest();
+        request.setName("Budget Send");
+        request.setType("EMAIL");
+        request.setSubject("Hello {{firstName}}");
+        request.setMessage("Message");
+        context.getBean(MarketingCampaignService.class).sendCampaign(request, hostId);
+    }
+
+    private static void cleanup() {
+        String host = "SELECT id FROM hosts WHERE subdomain = '" + SUBDOMAIN + "'";
+        jdbcTemplate.update("DELETE FROM campaign_logs WHERE campaign_id IN (SELECT id FROM campaigns WHERE host_id IN (" + host + "))");
+        jdbcTemplate.update("DELETE FROM campaigns WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM giveaway_entries WHERE giveaway_id IN (SELECT id FROM giveaways WHERE host_id IN (" + host + "))");
+        jdbcTemplate.update("DELETE FROM giveaways WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE host_id IN (" + host + ")");
+        jdbcTemplate.update("DELETE FROM hosts WHERE subdomain = ?", SUBDOMAIN);
+    }
+}
@@ -0,0 +1,119 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.config.SecondLevelCacheConfig;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.repository.HostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Second-level cache hits on repeated reads, and eviction on another node after a write
+ *
+ * Two application contexts share one Postgres database to simulate two replicas.
+ * Requires TEST_DB_URL (and optionally TEST_DB_USERNAME / TEST_DB_PASSWORD)
+ * pointing at a throwaway Postgres database.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+class SecondLevelCacheIntegrationTest {
+
+    private static final String SUBDOMAIN = "l2cache";
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private Long hostId;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+
+        HostRepository hostRepository = nodeA.getBean(HostRepository.class);
+        hostRepository.findBySubdomain(SUBDOMAIN).ifPresent(hostRepository::delete);
+
+        Host host = new Host();
+        host.setSubdomain(SUBDOMAIN);
+        host.setCompanyName("Second Level Inc");
+        host.setEmail("l2cache@example.com");
+        host.setPasswordHash("not-a-real-hash");
+        host.setEmailVerified(true);
+        host.setPrimaryColor("#000000");
+        hostId = hostRepository.save(host).getId();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (nodeA != null) {
+            HostRepository hostRepository = nodeA.getBean(HostRepository.class);
+            hostRepository.findBySubdomain(SUBDOMAIN).ifPresent(hostRepository::delete);
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        HostRepository hostRepository = nodeB.getBean(HostRepository.class);
+
+        hostRepository.findById(hostId);
+        long entityHits = stats(nodeB, SecondLevelCacheConfig.HOST_REGION).getHitCount();
+        hostRepository.findById(hostId);
+        assertEquals(entityHits + 1, stats(nodeB, SecondLevelCacheConfig.HOST_REGION).getHitCount());
+
+        hostRepository.findBySubdomain(SUBDOMAIN);
+        long queryHits = stats(nodeB, SecondLevelCacheConfig.HOST_BY_SUBDOMAIN_QUERY_REGION).getHitCount();
+        hostRepository.findBySubdomain(SUBDOMAIN);
+        assertEquals(queryHits + 1, stats(nodeB, SecondLevelCacheConfig.HOST_BY_SUBDOMAIN_QUERY_REGION).getHitCount());
+    }
+
+    @Test
+    void writeOnOneNodeEvictsTheOther() throws InterruptedException {
+        HostRepository readerRepository = nodeB.getBean(HostRepository.class);
+        assertEquals("#000000", readerRepository.findById(hostId).orElseThrow().getPrimaryColor());
+        assertEquals("#000000", readerRepository.findBySubdomain(SUBDOMAIN).orElseThrow().getPrimaryColor());
+
+        HostRepository writerRepository = nodeA.getBean(HostRepository.class);
+        Host host = writerRepository.findById(hostId).orElseThrow();
+        host.setPrimaryColor("#FF0000");
+        writerRepository.save(host);
+
+        // Eviction arrives over the invalidation bus; the entity TTL is an hour
+        long misses = stats(nodeB, SecondLevelCacheConfig.HOST_REGION).getMissCount();
+        String color = null;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            color = readerRepository.findById(hostId).orElseThrow().getPrimaryColor();
+            if ("#FF0000".equals(color)) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        assertEquals("#FF0000", color);
+        assertTrue(stats(nodeB, SecondLevelCacheConfig.HOST_REGION).getMissCount() > misses);
+        assertEquals("#FF0000", readerRepository.findBySubdomain(SUBDOMAIN).orElseThrow().getPrimaryColor());
+    }
+
+    private static CacheRegionStatistics stats(ConfigurableApplicationContext node, String region) {
+        return node.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+            .getStatistics().getCacheRegionStatistics(region);
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+    }
+}
@@ -0,0 +1,134 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.model.TokenRevocation;
+import com.sweepgoat.backend.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.sweepgoat.backend.service.TokenRevocationService.HOST;
+import static com.sweepgoat.backend.service.TokenRevocationService.TENANT;
+import static com.sweepgoat.backend.service.TokenRevocationService.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private final List<TokenRevocation> rows = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @InjectMocks
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        when(tokenRevocationRepository.findByCreatedAtAfterOrderByIdAsc(any()))
+            .thenAnswer(invocation -> List.copyOf(rows));
+        configure(service);
+        service.loadOnStartup();
+    }
+
+    private static void configure(TokenRevocationService service) {
+        ReflectionTestUtils.setField(service, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(service, "bloomExpectedInsertions", 1000);
+        ReflectionTestUtils.setField(service, "bloomFalsePositiveProbability", 0.01);
+    }
+
+    /**
+     * save() assigns an id and creation time and keeps the row, like the database would
+     */
+    private void stubSave() {
+        when(tokenRevocationRepository.save(any())).thenAnswer(invocation -> {
+            TokenRevocation revocation = invocation.getArgument(0);
+            revocation.setId(ids.incrementAndGet());
+            revocation.setCreatedAt(LocalDateTime.now());
+            rows.add(revocation);
+            return revocation;
+        });
+    }
+
+    private void stubChangesSince() {
+        when(tokenRevocationRepository.findChangesSince(any(), any())).thenAnswer(invocation -> rows.stream()
+            .filter(row -> row.getId() > (Long) invocation.getArgument(0)
+                || row.getCreatedAt().isAfter(invocation.getArgument(1)))
+            .toList());
+    }
+
+    @Test
+    void revokeRejectsEarlierTokensOnly() {
+        stubSave();
+        service.revoke(USER, 7L);
+
+        assertTrue(service.isRevoked(USER, 7L, 1L, secondsFromNow(-3600)));
+        assertFalse(service.isRevoked(USER, 7L, 1L, secondsFromNow(5)));
+        assertFalse(service.isRevoked(USER, 8L, 1L, secondsFromNow(-3600)));
+        assertFalse(service.isRevoked(USER, 7L, 1L, null));
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondIsRevoked() {
+        // Revoked 700 ms into a second; the token's iat is truncated to the start of that second
+        LocalDateTime revokedAfter = LocalDateTime.of(2025, 1, 1, 12, 0, 30, 700_000_000);
+        insertRow(USER + ":7", revokedAfter);
+        stubChangesSince();
+        service.pollChanges();
+
+        long second = revokedAfter.atZone(ZoneId.systemDefault()).toEpochSecond();
+        assertTrue(service.isRevoked(USER, 7L, 1L, new Date(second * 1000)));
+        assertTrue(service.isRevoked(USER, 7L, 1L, new Date(second * 1000 - 1000)));
+        assertFalse(service.isRevoked(USER, 7L, 1L, new Date(second * 1000 + 1000)));
+    }
+
+    @Test
+    void pollPicksUpRevocationsFromOtherNodes() {
+        assertFalse(service.isRevoked(USER, 7L, 3L, secondsFromNow(-60)));
+
+        // Written by another replica: the local service never saw the save
+        insertRow(TENANT + ":3", LocalDateTime.now());
+        stubChangesSince();
+        service.pollChanges();
+
+        assertTrue(service.isRevoked(USER, 7L, 3L, secondsFromNow(-60)));
+        assertFalse(service.isRevoked(HOST, null, 3L, secondsFromNow(-60)), "TENANT only revokes user tokens");
+    }
+
+    @Test
+    void startupLoadsExistingRevocations() {
+        stubSave();
+        service.revoke(HOST, 3L);
+
+        TokenRevocationService restarted = new TokenRevocationService();
+        ReflectionTestUtils.setField(restarted, "tokenRevocationRepository", tokenRevocationRepository);
+        configure(restarted);
+        restarted.loadOnStartup();
+
+        assertTrue(restarted.isRevoked(HOST, null, 3L, secondsFromNow(-60)));
+        assertEquals(1, rows.size());
+    }
+
+    private void insertRow(String subjectKey, LocalDateTime revokedAfter) {
+        rows.add(new TokenRevocation(ids.incrementAndGet(), subjectKey, revokedAfter, LocalDateTime.now()));
+    }
+
+    private static Date secondsFromNow(long seconds) {
+        return new Date(System.currentTimeMillis() + seconds * 1000);
+    }
+}
@@ -0,0 +1,280 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.dto.UserImportJobResponse;
+import com.sweepgoat.backend.model.Host;
+import com.sweepgoat.backend.model.User;
+import com.sweepgoat.backend.repository.HostRepository;
+import com.sweepgoat.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final Long HOST_ID = 1L;
+
+    /**
+     * Lower-cased emails the stub database holds
+     */
+    private final Set<String> storedEmails = new CopyOnWriteArraySet<>();
+    private final List<Collection<String>> existingEmailQueries = new CopyOnWriteArrayList<>();
+    private final List<List<String>> savedChunks = new CopyOnWriteArrayList<>();
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger rollbacks = new AtomicInteger();
+
+    /**
+     * Emails registered by "someone else" just before the next saveAll, making it conflict once
+     */
+    private final List<String> registerBeforeNextSave = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HostRepository hostRepository;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    };
+
+    @Spy
+    private PlatformTransactionManager transactionManager = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    };
+
+    @InjectMocks
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        Host host = new Host();
+        host.setId(HOST_ID);
+        host.setEmail("owner@example.com");
+        when(hostRepository.findById(HOST_ID)).thenReturn(Optional.of(host));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private void start(int chunkSize) {
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "concurrentJobs", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "hashingThreads", 2);
+        ReflectionTestUtils.setField(service, "retentionHours", 1L);
+        service.init();
+    }
+
+    /**
+     * The stub database: lower-cased unique emails per host, as uk_users_host_lower_email enforces
+     */
+    @SuppressWarnings("unchecked")
+    private void stubUserInserts() {
+        when(hostRepository.getReferenceById(HOST_ID)).thenAnswer(invocation -> new Host());
+        when(userRepository.findExistingEmails(eq(HOST_ID), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(1);
+            existingEmailQueries.add(List.copyOf(emails));
+            return emails.stream().filter(storedEmails::contains).toList();
+        });
+        when(userRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            ((Iterable<User>) invocation.getArgument(0)).forEach(users::add);
+            if (!registerBeforeNextSave.isEmpty()) {
+                storedEmails.addAll(registerBeforeNextSave);
+                registerBeforeNextSave.clear();
+            }
+            if (users.stream().anyMatch(user -> storedEmails.contains(user.getEmail().toLowerCase(Locale.ROOT)))) {
+                throw new DataIntegrityViolationException("duplicate key value violates uk_users_host_lower_email");
+            }
+            users.forEach(user -> storedEmails.add(user.getEmail().toLowerCase(Locale.ROOT)));
+            savedChunks.add(users.stream().map(User::getEmail).toList());
+            return users;
+        });
+    }
+
+    private UserImportJobResponse importCsv(String csv) throws InterruptedException {
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8));
+        String jobId = service.startImport(HOST_ID, file).getJobId();
+
+        for (int i = 0; i < 500; i++) {
+            UserImportJobResponse job = service.getJob(jobId, HOST_ID);
+            if (job.getStatus().equals("COMPLETED") || job.getStatus().equals("FAILED")) {
+                // A terminal status is only published together with its outcome
+                assertNotNull(job.getFinishedAt(), "finishedAt missing for " + job.getStatus());
+                if (job.getStatus().equals("FAILED")) {
+                    assertFalse(job.getErrors().isEmpty(), "FAILED without an error");
+                }
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("import did not finish");
+    }
+
+    @Test
+    void skipsExistingAndRepeatedEmailsIgnoringCase() throws Exception {
+        storedEmails.add("jane@example.com");
+        stubUserInserts();
+        start(10);
+
+        UserImportJobResponse job = importCsv("""
+            email,firstName
+            Jane@Example.com,Jane
+            john@example.com,John
+            JOHN@example.com,Johnny
+            amy@example.com,Amy
+            """);
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(4, job.getRowsRead());
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getSkippedExisting());
+        assertEquals(1, job.getSkippedDuplicate());
+        assertEquals(List.of(List.of("john@example.com", "amy@example.com")), savedChunks);
+        // The existing-user check is asked with lower-cased emails
+        assertEquals(List.of(List.of("jane@example.com", "john@example.com", "amy@example.com")), existingEmailQueries);
+    }
+
+    @Test
+    void insertsEachChunkInItsOwnTransaction() throws Exception {
+        stubUserInserts();
+        start(2);
+
+        UserImportJobResponse job = importCsv("""
+            email
+            a@example.com
+            b@example.com
+            c@example.com
+            d@example.com
+            e@example.com
+            """);
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(5, job.getImported());
+        assertEquals(List.of(
+            List.of("a@example.com", "b@example.com"),
+            List.of("c@example.com", "d@example.com"),
+            List.of("e@example.com")), savedChunks);
+        assertEquals(3, commits.get());
+        assertEquals(0, rollbacks.get());
+    }
+
+    @Test
+    void usersRegisteredDuringTheImportCountAsExisting() throws Exception {
+        stubUserInserts();
+        start(10);
+        registerBeforeNextSave.add("b@example.com");
+
+        UserImportJobResponse job = importCsv("""
+            email
+            a@example.com
+            B@example.com
+            c@example.com
+            """);
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getSkippedExisting());
+        assertEquals(List.of(List.of("a@example.com", "c@example.com")), savedChunks);
+        assertEquals(1, rollbacks.get());
+        assertEquals(1, commits.get());
+    }
+
+    @Test
+    void reportsInvalidRowsWithTheirLineNumbers() throws Exception {
+        stubUserInserts();
+        start(10);
+
+        UserImportJobResponse job = importCsv("""
+            email,firstName
+            ok@example.com,Ok
+            ,Nobody
+            not-an-email,Bad
+            Owner@example.com,Host
+            long@example.com,%s
+            """.formatted("x".repeat(256)));
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(5, job.getRowsRead());
+        assertEquals(1, job.getImported());
+        assertEquals(4, job.getInvalid());
+        assertEquals(List.of(
+            "Line 3: email is required",
+            "Line 4: invalid email 'not-an-email'",
+            "Line 5: the host's own email cannot be imported as a user",
+            "Line 6: firstname is longer than 255 characters"), job.getErrors());
+    }
+
+    @Test
+    void missingEmailColumnFailsTheJob() throws Exception {
+        start(10);
+
+        UserImportJobResponse job = importCsv("""
+            firstName,lastName
+            Jane,Doe
+            """);
+
+        assertEquals("FAILED", job.getStatus());
+        assertTrue(job.getErrors().get(0).contains("Missing required column: email"), job.getErrors().toString());
+        assertTrue(savedChunks.isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package com.sweepgoat.backend.service;
+
+import com.sweepgoat.backend.IntegrationTestApplication;
+import com.sweepgoat.backend.dto.PaginatedResponse;
+import com.sweepgoat.backend.dto.UserListResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency of GET /api/host/users/search (UserAuthService.searchUsers) on a large tenant
+ *
+ * Seeds one host with BENCHMARK_USERS users (default 1,000,000) with generated names and
+ * emails, then runs a mix of email, first-name, last-name and no-match searches (first
+ * page plus, when there is one, the next page via the cursor). Prints p50/p95/p99 and
+ * fails when p95 exceeds BENCHMARK_SEARCH_P95_MS (default 100ms).
+ *
+ * Run manually with RUN_BENCHMARKS=true and TEST_DB_URL pointing at a throwaway Postgres
+ * database. Seeding takes a few minutes at full size.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class UserSearchBenchmarkTest {
+
+    private static final String SUBDOMAIN = "searchbench";
+    private static final int QUERIES = 500;
+    private static final String[] TERMS = {
+        "oliv", "james", "smith", "garc", "nguyen", "@gmail", "example.net", "mart", "sophia", "lee",
+        "wilson", "ava", "ander", "hern", "noah", "user12345", "jones", "brown", "zzzq", "taylor"
+    };
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static Long hostId;
+
+    @BeforeAll
+    static void seed() {
+        context = IntegrationTestApplication.builder()
+            .web(WebApplicationType.NONE)
+            .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        int users = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_USERS", "1000000"));
+
+        cleanup();
+        jdbcTemplate.update(
+            "INSERT INTO hosts (subdomain, company_name, email, password_hash, email_verified, created_at, is_active) " +
+            "VALUES (?, 'Search Bench', 'searchbench@example.com', 'x', true, now(), true)", SUBDOMAIN);
+        hostId = jdbcTemplate.queryForObject("SELECT id FROM hosts WHERE subdomain = ?", Long.class, SUBDOMAIN);
+
+        jdbcTemplate.update(
+            "INSERT INTO users (host_id, email, first_name, last_name, password_hash, email_opt_in, sms_opt_in, " +
+            "email_verified, created_at, is_active) " +
+            "SELECT ?, lower(f.name || '.' || l.name) || u || '@' || (ARRAY['gmail.com','example.net','mail.org'])[1 + u % 3], " +
+            "f.name, l.name, 'x', true, false, true, now() - (u || ' seconds')::interval, true " +
+            "FROM generate_series(1, ?) u " +
+            "CROSS JOIN LATERAL (SELECT (ARRAY['Olivia','James','Sophia','Noah','Ava','Liam','Mia','Lucas','Emma','Mateo'])[1 + u % 10] AS name) f " +
+            "CROSS JOIN LATERAL (SELECT (ARRAY['Smith','Garcia','Nguyen','Martinez','Lee','Wilson','Anderson','Hernandez','Jones','Brown','Taylor'])[1 + (u / 10) % 11] AS name) l",
+            hostId, users);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (context != null) {
+            cleanup();
+            context.close();
+        }
+    }
+
+    @Test
+    void searchLatencyStaysWithinTarget() {
+        UserAuthService userAuthService = context.getBean(UserAuthService.class);
+        long targetMillis = Long.parseLong(System.getenv().getOrDefault("BENCHMARK_SEARCH_P95_MS", "100"));
+        Random random = new Random(42);
+
+        // Warm-up
+        for (String term : TERMS) {
+            userAuthService.searchUsers(hostId, term, 50, null);
+        }
+
+        List<Double> latencies = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            String term = TERMS[random.nextInt(TERMS.length)];
+
+            long start = System.nanoTime();
+            PaginatedResponse<UserListResponse> page = userAuthService.searchUsers(hostId, term, 50, null);
+            latencies.add((System.nanoTime() - start) / 1_000_000.0);
+
+            if (page.getNextCursor() != null) {
+                start = System.nanoTime();
+                userAuthService.searchUsers(hostId, term, 50, page.getNextCursor());
+                latencies.add((System.nanoTime() - start) / 1_000_000.0);
+            }
+        }
+
+        Collections.sort(latencies);
+        double p50 = percentile(latencies, 0.50);
+        double p95 = percentile(latencies, 0.95);
+        double p99 = percentile(latencies, 0.99);
+        System.out.printf("User search over %d queries: p50 %.1f ms, p95 %.1f ms, p99 %.1f ms (target p95 %d ms)%n",
+            latencies.size(), p50, p95, p99, targetMillis);
+
+        assertTrue(p95 <= targetMillis, "p95 " + p95 + "ms exceeds target " + targetMillis + "ms");
+    }
+
+    private static double percentile(List<Double> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static void cleanup() {
+        jdbcTemplate.update("DELETE FROM users WHERE host_id IN (SELECT id FROM hosts WHERE subdomain = ?)", SUBDOMAIN);
+        jdbcTemplate.update("DELETE FROM hosts WHERE subdomain = ?", SUBDOMAIN);
+    }
+}
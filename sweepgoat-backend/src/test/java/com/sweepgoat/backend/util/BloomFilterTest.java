@@ -0,0 +1,38 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnAddedKeyAsAbsent() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("USER:" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("USER:" + i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredProbability() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("USER:" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("HOST:" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // 1% target; allow generous slack
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+}
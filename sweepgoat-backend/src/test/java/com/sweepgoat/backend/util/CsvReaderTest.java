@@ -0,0 +1,41 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainAndQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+            "\uFEFFemail,firstName\r\n" +
+            "a@example.com,Ann\r\n" +
+            "\"b@example.com\",\"Smith, \"\"Bo\"\"\"\n" +
+            "c@example.com,\"two\nlines\"\n" +
+            "\n" +
+            "d@example.com,"));
+
+        assertEquals(List.of("email", "firstName"), reader.readRecord());
+        assertEquals(List.of("a@example.com", "Ann"), reader.readRecord());
+        assertEquals(List.of("b@example.com", "Smith, \"Bo\""), reader.readRecord());
+        assertEquals(List.of("c@example.com", "two\nlines"), reader.readRecord());
+        assertEquals(6, reader.getLineNumber());
+        assertEquals(List.of("d@example.com", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("email\n\"a@example.com,Ann\n"));
+
+        reader.readRecord();
+        assertThrows(IOException.class, reader::readRecord);
+    }
+}
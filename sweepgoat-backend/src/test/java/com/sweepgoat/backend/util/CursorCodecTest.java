@@ -0,0 +1,69 @@
+package com.sweepgoat.backend.util;
+
+import com.sweepgoat.backend.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsDateKeyAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000);
+
+        String cursor = CursorCodec.encode("createdAt:desc", createdAt, 42L);
+        CursorCodec.Cursor decoded = CursorCodec.decode(cursor, "createdAt:desc");
+
+        assertEquals(createdAt, decoded.keyAsDateTime());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    void roundTripsStringKeysContainingSeparators() {
+        String cursor = CursorCodec.encode("lastName:asc", "O'Brien\nJr", 7L);
+        CursorCodec.Cursor decoded = CursorCodec.decode(cursor, "lastName:asc");
+
+        assertEquals("O'Brien\nJr", decoded.key());
+        assertEquals(7L, decoded.id());
+    }
+
+    @Test
+    void roundTripsNullKeySeparatelyFromEmptyString() {
+        CursorCodec.Cursor nullKey = CursorCodec.decode(CursorCodec.encode("lastLoginAt:desc", null, 9L), "lastLoginAt:desc");
+        CursorCodec.Cursor emptyKey = CursorCodec.decode(CursorCodec.encode("firstName:asc", "", 9L), "firstName:asc");
+
+        assertNull(nullKey.key());
+        assertNull(nullKey.keyAsDateTime());
+        assertEquals(9L, nullKey.id());
+        assertEquals("", emptyKey.key());
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = CursorCodec.encode("email:asc", "a+b/c?d=e@example.com", 1L);
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() {
+        String cursor = CursorCodec.encode("createdAt:desc", LocalDateTime.now(), 1L);
+
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode(cursor, "createdAt:asc"));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode("not a cursor!", "createdAt:desc"));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode("Zm9v", "createdAt:desc"));
+
+        String badDate = CursorCodec.encode("createdAt:desc", "yesterday", 1L);
+        assertThrows(InvalidCursorException.class,
+            () -> CursorCodec.decode(badDate, "createdAt:desc").keyAsDateTime());
+    }
+}
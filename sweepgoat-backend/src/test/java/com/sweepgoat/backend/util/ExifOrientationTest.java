@@ -0,0 +1,75 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExifOrientationTest {
+
+    /**
+     * APP1 payload with a single-entry IFD0 holding the Orientation tag
+     */
+    public static byte[] app1(int orientation, ByteOrder order) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4).order(order);
+        buffer.put("Exif\0\0".getBytes(StandardCharsets.ISO_8859_1));
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        buffer.putShort((short) 42);
+        buffer.putInt(8);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        buffer.putInt(0);
+        return buffer.array();
+    }
+
+    @Test
+    void parsesOrientationInBothByteOrders() {
+        assertEquals(6, ExifOrientation.parse(app1(6, ByteOrder.BIG_ENDIAN)));
+        assertEquals(8, ExifOrientation.parse(app1(8, ByteOrder.LITTLE_ENDIAN)));
+    }
+
+    @Test
+    void malformedOrMissingDataIsNormal() {
+        assertEquals(ExifOrientation.NORMAL, ExifOrientation.parse(null));
+        assertEquals(ExifOrientation.NORMAL, ExifOrientation.parse("http://ns.adobe.com/xap/1.0/\0".getBytes(StandardCharsets.ISO_8859_1)));
+        assertEquals(ExifOrientation.NORMAL, ExifOrientation.parse(app1(42, ByteOrder.BIG_ENDIAN)));
+
+        byte[] truncated = new byte[18];
+        System.arraycopy(app1(6, ByteOrder.BIG_ENDIAN), 0, truncated, 0, truncated.length);
+        assertEquals(ExifOrientation.NORMAL, ExifOrientation.parse(truncated));
+    }
+
+    @Test
+    void rotatesClockwiseForOrientationSix() {
+        BufferedImage stored = new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB);
+        stored.setRGB(0, 0, Color.RED.getRGB());
+
+        BufferedImage displayed = ExifOrientation.apply(stored, 6);
+
+        assertTrue(ExifOrientation.swapsDimensions(6));
+        assertEquals(2, displayed.getWidth());
+        assertEquals(4, displayed.getHeight());
+        assertEquals(Color.RED.getRGB(), displayed.getRGB(1, 0));
+    }
+
+    @Test
+    void flipsWithoutSwappingForOrientationThree() {
+        BufferedImage stored = new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB);
+        stored.setRGB(0, 0, Color.RED.getRGB());
+
+        BufferedImage displayed = ExifOrientation.apply(stored, 3);
+
+        assertFalse(ExifOrientation.swapsDimensions(3));
+        assertEquals(4, displayed.getWidth());
+        assertEquals(2, displayed.getHeight());
+        assertEquals(Color.RED.getRGB(), displayed.getRGB(3, 1));
+    }
+}
@@ -0,0 +1,129 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ImageMetadataStripperTest {
+
+    public static final String GPS_MARKER = "GPS 48.8584N 2.2945E";
+
+    /**
+     * Extended WebP (VP8X) with an odd-sized image chunk and, optionally, EXIF and XMP chunks
+     * The image chunk is filler; the stripper never looks inside it
+     */
+    public static byte[] webp(boolean withMetadata) {
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        byte[] vp8x = new byte[10];
+        vp8x[0] = withMetadata ? (byte) 0x0C : 0;
+        chunk(chunks, "VP8X", vp8x);
+        chunk(chunks, "VP8L", new byte[] {0x2F, 1, 2, 3, 4});
+        if (withMetadata) {
+            chunk(chunks, "EXIF", ("Exif\0\0" + GPS_MARKER).getBytes(StandardCharsets.ISO_8859_1));
+            chunk(chunks, "XMP ", "<x:xmpmeta/>".getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        ByteBuffer file = ByteBuffer.allocate(12 + chunks.size()).order(ByteOrder.LITTLE_ENDIAN);
+        file.put("RIFF".getBytes(StandardCharsets.ISO_8859_1)).putInt(4 + chunks.size());
+        file.put("WEBP".getBytes(StandardCharsets.ISO_8859_1)).put(chunks.toByteArray());
+        return file.array();
+    }
+
+    private static void chunk(ByteArrayOutputStream out, String fourcc, byte[] payload) {
+        ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(fourcc.getBytes(StandardCharsets.ISO_8859_1)).putInt(payload.length);
+        out.writeBytes(header.array());
+        out.writeBytes(payload);
+        if (payload.length % 2 == 1) {
+            out.write(0);
+        }
+    }
+
+    @Test
+    void webpLosesExifAndXmpChunksAndFlags() {
+        byte[] stripped = ImageMetadataStripper.strip(webp(true));
+
+        assertArrayEquals(webp(false), stripped);
+        assertFalse(contains(stripped, GPS_MARKER));
+    }
+
+    @Test
+    void jpegLosesApp1App13AndCommentsButKeepsTheImage() throws IOException {
+        byte[] plain = jpeg();
+        byte[] tagged = insertAfterSoi(plain,
+            segment(0xE1, ExifOrientationTest.app1(6, ByteOrder.BIG_ENDIAN)),
+            segment(0xE1, ("Exif\0\0" + GPS_MARKER).getBytes(StandardCharsets.ISO_8859_1)),
+            segment(0xED, "Photoshop 3.0\0".getBytes(StandardCharsets.ISO_8859_1)),
+            segment(0xFE, "taken at home".getBytes(StandardCharsets.ISO_8859_1)));
+
+        byte[] stripped = ImageMetadataStripper.strip(tagged);
+
+        assertArrayEquals(plain, stripped);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(stripped));
+        assertNotNull(decoded);
+        assertEquals(40, decoded.getWidth());
+    }
+
+    @Test
+    void filesWithoutMetadataAreReturnedAsIs() throws IOException {
+        byte[] plain = jpeg();
+        assertSame(plain, ImageMetadataStripper.strip(plain));
+
+        byte[] unknown = {1, 2, 3, 4};
+        assertSame(unknown, ImageMetadataStripper.strip(unknown));
+    }
+
+    @Test
+    void truncatedFilesAreRejected() throws IOException {
+        byte[] webp = webp(true);
+        assertThrows(IllegalArgumentException.class,
+            () -> ImageMetadataStripper.strip(Arrays.copyOf(webp, webp.length - 10)));
+
+        byte[] jpeg = jpeg();
+        assertThrows(IllegalArgumentException.class,
+            () -> ImageMetadataStripper.strip(Arrays.copyOf(jpeg, 30)));
+    }
+
+    private static byte[] jpeg() throws IOException {
+        BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", bytes);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] segment(int marker, byte[] payload) {
+        ByteBuffer segment = ByteBuffer.allocate(4 + payload.length);
+        segment.put((byte) 0xFF).put((byte) marker).putShort((short) (payload.length + 2)).put(payload);
+        return segment.array();
+    }
+
+    private static byte[] insertAfterSoi(byte[] jpeg, byte[]... segments) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        for (byte[] segment : segments) {
+            out.writeBytes(segment);
+        }
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static boolean contains(byte[] data, String text) {
+        return new String(data, StandardCharsets.ISO_8859_1).contains(text);
+    }
+}
@@ -0,0 +1,42 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogRateLimiterTest {
+
+    @Test
+    void allowsPermitsThenSuppresses() {
+        LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofHours(1));
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+    }
+
+    @Test
+    void reportsSuppressedCountOnNextWindow() throws InterruptedException {
+        LogRateLimiter limiter = new LogRateLimiter(1, Duration.ofMillis(50));
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        Thread.sleep(60);
+
+        assertEquals(3, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LogRateLimiter(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new LogRateLimiter(1, Duration.ZERO));
+    }
+}
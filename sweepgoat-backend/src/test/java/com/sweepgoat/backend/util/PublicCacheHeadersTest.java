@@ -0,0 +1,82 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicCacheHeadersTest {
+
+    private static final long VERSION = 1_700_000_000_000L;
+
+    private PublicCacheHeaders headers;
+
+    @BeforeEach
+    void setUp() {
+        headers = new PublicCacheHeaders();
+        ReflectionTestUtils.setField(headers, "enabled", true);
+        ReflectionTestUtils.setField(headers, "giveawaysMaxAge", 30L);
+        ReflectionTestUtils.setField(headers, "giveawaysStaleWhileRevalidate", 60L);
+    }
+
+    @Test
+    void firstRequestGetsValidatorsOnlyOnceTheBodyIsBuilt() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean notModified = headers.checkNotModified(new MockHttpServletRequest("GET", "/api/public/giveaways"),
+            response, PublicCacheHeaders.etag(7L, VERSION), VERSION, headers.giveaways());
+
+        assertFalse(notModified);
+        assertEquals(200, response.getStatus());
+        // An error thrown while building the body must not go out as cacheable
+        assertNull(response.getHeader("ETag"));
+        assertNull(response.getHeader("Cache-Control"));
+
+        headers.addValidators(response, PublicCacheHeaders.etag(7L, VERSION), VERSION, headers.giveaways());
+        assertEquals("\"7-" + VERSION + "\"", response.getHeader("ETag"));
+        assertEquals("max-age=30, public, stale-while-revalidate=60", response.getHeader("Cache-Control"));
+        assertEquals("X-Subdomain", response.getHeader("Vary"));
+        assertTrue(response.containsHeader("Last-Modified"));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturns304() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/giveaways");
+        request.addHeader("If-None-Match", PublicCacheHeaders.etag(7L, VERSION));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(headers.checkNotModified(request, response, PublicCacheHeaders.etag(7L, VERSION), VERSION, headers.giveaways()));
+        assertEquals(304, response.getStatus());
+        assertEquals("\"7-" + VERSION + "\"", response.getHeader("ETag"));
+        assertEquals("max-age=30, public, stale-while-revalidate=60", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void staleIfNoneMatchIsServedNormally() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/giveaways");
+        request.addHeader("If-None-Match", PublicCacheHeaders.etag(7L, VERSION - 1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(headers.checkNotModified(request, response, PublicCacheHeaders.etag(7L, VERSION), VERSION, headers.giveaways()));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void disabledWritesNothing() {
+        ReflectionTestUtils.setField(headers, "enabled", false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/giveaways");
+        request.addHeader("If-None-Match", PublicCacheHeaders.etag(7L, VERSION));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(headers.checkNotModified(request, response, PublicCacheHeaders.etag(7L, VERSION), VERSION, headers.giveaways()));
+        headers.addValidators(response, PublicCacheHeaders.etag(7L, VERSION), VERSION, headers.giveaways());
+        assertNull(response.getHeader("ETag"));
+        assertNull(response.getHeader("Cache-Control"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a test method may prepare through Hibernate
+ *
+ * Only the test method body is counted (not @BeforeEach/@BeforeAll seeding), and only
+ * statements prepared on the test thread. JdbcTemplate calls are not counted.
+ * Placed on a class, it applies to every test method without its own annotation.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,35 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+/**
+ * Fails a test whose body prepares more SQL statements than its @QueryBudget allows
+ *
+ * Registered by the @QueryBudget annotation; the count comes from the StatementInspector
+ * in QueryBudgetConfig, so the test must run against a real application context.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        int statements = QueryCounter.stop();
+
+        Optional<QueryBudget> budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+            .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class));
+
+        if (budget.isPresent() && statements > budget.get().value()) {
+            throw new AssertionError(String.format("%s ran %d SQL statements, budget is %d",
+                context.getDisplayName(), statements, budget.get().value()));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryCounterTest {
+
+    @Test
+    void ignoresStatementsOutsideCountingScope() {
+        QueryCounter.stop();
+        QueryCounter.increment();
+
+        assertFalse(QueryCounter.isActive());
+        assertEquals(0, QueryCounter.current());
+    }
+
+    @Test
+    void countsUntilStopped() {
+        QueryCounter.start();
+        QueryCounter.increment();
+        QueryCounter.increment();
+
+        assertEquals(2, QueryCounter.current());
+        assertEquals(2, QueryCounter.stop());
+        assertFalse(QueryCounter.isActive());
+    }
+
+    @Test
+    void countsPerThread() throws InterruptedException {
+        QueryCounter.start();
+        Thread other = new Thread(QueryCounter::increment);
+        other.start();
+        other.join();
+
+        assertEquals(0, QueryCounter.stop());
+    }
+
+    @Test
+    void capturesSqlWhileCounting() {
+        QueryCounter.record("select 1");
+        QueryCounter.start();
+        QueryCounter.startCapture();
+        QueryCounter.record("select 2");
+        QueryCounter.record("select 3");
+
+        assertEquals(List.of("select 2", "select 3"), QueryCounter.stopCapture());
+        assertEquals(2, QueryCounter.stop());
+        assertEquals(List.of(), QueryCounter.stopCapture());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void extensionCountsTestBody() {
+        assertTrue(QueryCounter.isActive());
+        QueryCounter.increment();
+        QueryCounter.increment();
+    }
+}
@@ -0,0 +1,72 @@
+package com.sweepgoat.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowSketchTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void countsHitsWithinOneWindow() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(3, 1024, WINDOW);
+
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, sketch.incrementAndEstimate("a@example.com", 0), 0.0001);
+        }
+    }
+
+    @Test
+    void previousWindowDecaysLinearly() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(3, 1024, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            sketch.incrementAndEstimate("key", 0);
+        }
+
+        // Halfway through the next window half of the previous count still applies
+        assertEquals(1 + 5, sketch.incrementAndEstimate("key", WINDOW + WINDOW / 2), 0.0001);
+
+        // Two windows later everything from the first window is gone
+        assertEquals(1, sketch.incrementAndEstimate("key", 3 * WINDOW), 0.0001);
+    }
+
+    @Test
+    void collisionsNeverUnderCount() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(2, 8, WINDOW);
+        for (int i = 0; i < 1000; i++) {
+            sketch.incrementAndEstimate("noise-" + i, 0);
+        }
+
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(sketch.incrementAndEstimate("target", 0) >= i);
+        }
+    }
+
+    @Test
+    void waitEndsWhenThePreviousWindowHasDecayedEnough() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(3, 1024, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            sketch.incrementAndEstimate("key", WINDOW - 1);
+        }
+
+        // Quarter into the next window: 10 * 0.75 = 7.5; at most 4 once the weight is 0.4
+        long wait = sketch.millisUntilAtMost("key", 4, WINDOW + WINDOW / 4);
+
+        assertEquals(WINDOW * 6 / 10 - WINDOW / 4, wait);
+        assertEquals(0, sketch.millisUntilAtMost("key", 4, WINDOW + WINDOW / 4 + wait));
+    }
+
+    @Test
+    void waitCrossesIntoTheNextWindowWhenTheCurrentOneIsFull() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(3, 1024, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            sketch.incrementAndEstimate("key", WINDOW / 2);
+        }
+
+        // Rest of this window, then until 10 * weight <= 5 in the next one
+        assertEquals(WINDOW / 2 + WINDOW / 2, sketch.millisUntilAtMost("key", 5, WINDOW / 2));
+        assertEquals(0, sketch.millisUntilAtMost("unknown", 5, WINDOW / 2));
+    }
+}